@@ -1,8 +0,0 @@
-package utils;
-
-/**
- * This class is a dummy class which's instances represent ShoesPairs borrowed and
- * returned by Clients.
- */
-public class ShoePair {
-}
@@ -1,10 +0,0 @@
-/**
- * This class provides only the seperated main()-method in which the bowling
- * simulation is started.
- */
-public class App {
-    public static void main(String[] args) {
-        BowlingSimulation bowlingSimulation = new BowlingSimulation();
-        bowlingSimulation.start();
-    }
-}
@@ -0,0 +1,93 @@
+package benchmarks;
+
+import simulation.DiscreteEventSimulation;
+import simulation.Stage;
+import utils.ArrivalGenerator;
+import utils.ArrivalProfile;
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+import java.util.Arrays;
+
+/**
+ * Raises the peak of a Friday night of open-loop parties (see {@link ArrivalProfile#fridayNight(double, long)})
+ * against the default venue of Part 3 in the discrete-event mode, once for every way the venue
+ * may protect itself: not at all, Groups giving up after a while, turning parties away at the
+ * RegistrationDesk, and both.
+ *
+ * For each peak it prints the median and the 99th percentile of the time in venue of the Clients
+ * that bowled, and the shares of the Clients turned away and gone home without bowling. The load
+ * at which the tail collapses is the first peak whose 99th percentile is more than
+ * {@link #COLLAPSE_FACTOR} times the one of the lightest night.
+ *
+ * Run with {@code java -cp bench/target/benchmarks.jar benchmarks.AdmissionBenchmark [patienceSeconds] [maxWaitSeconds]}.
+ */
+public class AdmissionBenchmark {
+    private static final long SEED = 42;
+    private static final long STEP_TIME = 30000;
+    private static final double[] PEAK_RATES = {0.25, 0.5, 0.75, 1, 1.5, 2, 3, 4, 6};
+    private static final double COLLAPSE_FACTOR = 4;
+
+    public static void main(String[] args) {
+        int patience = (int) ((args.length > 0 ? Double.parseDouble(args[0]) : 20) * 1000);
+        int maxWait = (int) ((args.length > 1 ? Double.parseDouble(args[1]) : 15) * 1000);
+        String[] names = {"unprotected", "patience " + patience / 1000 + "s", "max wait " + maxWait / 1000 + "s", "both"};
+        VenueConfig[] configs = {
+                venue(),
+                venue().setPatience(patience),
+                venue().setMaxEstimatedWait(maxWait),
+                venue().setPatience(patience).setMaxEstimatedWait(maxWait)};
+        System.out.println("Friday night in " + STEP_TIME * 12 / 1000 + "s of virtual time, " + venue());
+
+        for (int c = 0; c < configs.length; c++) {
+            System.out.printf("%n%s%n%-18s %10s %12s %12s %16s %18s%n", names[c], "peak arrivals/s", "Clients",
+                    "p50 (s)", "p99 (s)", "turned away (%)", "gave up (%)");
+            double lightestP99 = 0;
+            double collapse = 0;
+            for (double peakRate : PEAK_RATES) {
+                ArrivalProfile profile = ArrivalProfile.fridayNight(peakRate, STEP_TIME);
+                DiscreteEventSimulation simulation = new DiscreteEventSimulation(
+                        new ArrivalGenerator(profile, SEED, true, configs[c].getGroupSize()), VenuePolicy.PART3, configs[c]);
+                simulation.run();
+
+                long[] times = timesInVenue(simulation);
+                double p50 = percentile(times, 50) / 1000.0;
+                double p99 = percentile(times, 99) / 1000.0;
+                int numClients = simulation.getNumClients();
+                System.out.printf("%-18.2f %10d %12.1f %12.1f %16.1f %18.1f%n", peakRate, numClients, p50, p99,
+                        100.0 * simulation.countClients(Stage.TURNED_AWAY) / numClients,
+                        100.0 * simulation.countClients(Stage.RENEGED) / numClients);
+
+                if (lightestP99 == 0) {
+                    lightestP99 = p99;
+                } else if (collapse == 0 && p99 > COLLAPSE_FACTOR * lightestP99) {
+                    collapse = peakRate;
+                }
+            }
+            System.out.println(collapse > 0 ? "Tail collapses at a peak of " + collapse + " arrivals/s"
+                    : "Tail holds up to a peak of " + PEAK_RATES[PEAK_RATES.length - 1] + " arrivals/s");
+        }
+    }
+
+    private static VenueConfig venue() {
+        return new VenueConfig().setVariableGroupSizes(true);
+    }
+
+    /** @return sorted times in venue in milliseconds of the Clients that bowled */
+    private static long[] timesInVenue(DiscreteEventSimulation simulation) {
+        long[] times = new long[simulation.countClientsLeft()];
+        int next = 0;
+        for (int i = 0; i < simulation.getNumClients(); i++) {
+            long time = simulation.getTimeInVenue(i);
+            if (time >= 0) {
+                times[next++] = time;
+            }
+        }
+        Arrays.sort(times);
+        return times;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.ceil(percentile / 100 * sorted.length) - 1];
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import simulation.ReplicationRunner;
+import simulation.ReplicationSummary;
+import utils.AlleyAssignment;
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+/**
+ * Compares how BowlingAlleys are given to parties of 1 to 8 Clients: one BowlingAlley per party
+ * ({@link AlleyAssignment#FIFO}) against sharing them ({@link AlleyAssignment#BIN_PACKING}).
+ * Every configuration runs the same replications of the discrete-event simulation (same seed,
+ * same arrivals), so the differences come from the assignment alone.
+ *
+ * The venue has unlimited shoes ({@link VenuePolicy#PART2}) and a Cashier per party of 8, so
+ * the BowlingAlleys are the bottleneck and not the RegistrationDesk or the ShoesRoom.
+ *
+ * Run with {@code java -cp bench/target/benchmarks.jar benchmarks.AlleyAssignmentBenchmark [clients] [replications] [alleys...]}.
+ */
+public class AlleyAssignmentBenchmark {
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int replications = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int[] alleyCounts = {2, 4, 8};
+        if (args.length > 2) {
+            alleyCounts = new int[args.length - 2];
+            for (int i = 2; i < args.length; i++) {
+                alleyCounts[i - 2] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.println(clients + " Clients in parties of 1 to 8, 8 seats per BowlingAlley, " + replications + " replications");
+        System.out.println(String.format("%7s | %-11s | %14s | %13s | %13s | %13s | %13s",
+                "Alleys", "Assignment", "Clients/hour", "Mean wait (s)", "p95 venue (s)", "Alley util %", "Seat util %"));
+        for (int alleys : alleyCounts) {
+            for (AlleyAssignment assignment : AlleyAssignment.values()) {
+                VenueConfig config = new VenueConfig()
+                        .setNumAlleys(alleys)
+                        .setNumCashiers(clients / 8 + 1)
+                        .setGroupSize(8)
+                        .setVariableGroupSizes(true)
+                        .setSeatsPerAlley(8)
+                        .setAlleyAssignment(assignment);
+                ReplicationSummary summary = new ReplicationRunner(clients, VenuePolicy.PART2)
+                        .setConfig(config)
+                        .setReplications(replications)
+                        .setSeed(SEED)
+                        .run();
+                System.out.println(String.format("%7d | %-11s | %14.1f | %13.1f | %13.1f | %13.1f | %13.1f",
+                        alleys, assignment, summary.getThroughput().getMean(), summary.getMeanWait().getMean(),
+                        summary.getP95TimeInVenue().getMean(), summary.getAlleyUtilization().getMean(),
+                        summary.getSeatUtilization().getMean()));
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package benchmarks;
+
+import actors.Client;
+import logging.EventLog;
+import logging.EventSink;
+import simulation.BowlingSimulation;
+import simulation.DiscreteEventSimulation;
+import utils.ArrivalGenerator;
+import utils.ArrivalProfile;
+import utils.ExecutionMode;
+import utils.Group;
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Loads the default venue of Part 3 with open-loop arrivals over a Friday night (see
+ * {@link ArrivalProfile#fridayNight(double, long)}), from a light evening to one with several
+ * times as many arrivals at the peak as the venue serves. The discrete-event mode shows how the time in
+ * venue grows with the load and how long the venue needs after the last arrival until the queues
+ * are empty.
+ *
+ * Then the threaded mode runs the Clients of the lightest night twice: created up front like
+ * before, arriving within {@link Client#MAX_DELAY_TIME}, and created by the open-loop arrivals.
+ * The peak number of live threads shows that only the Clients in the venue take a thread.
+ *
+ * Run with {@code java -cp bench/target/benchmarks.jar benchmarks.ArrivalBenchmark [stepSeconds] [timeScale]}.
+ */
+public class ArrivalBenchmark {
+    private static final long SEED = 42;
+    private static final double[] PEAK_RATES = {1, 2, 3, 4, 6};
+
+    public static void main(String[] args) throws IOException {
+        long stepTime = (long) ((args.length > 0 ? Double.parseDouble(args[0]) : 30) * 1000);
+        Client.TIME_SCALE = args.length > 1 ? Double.parseDouble(args[1]) : 100;
+        VenueConfig config = new VenueConfig();
+        System.out.println("Friday night in " + stepTime * 12 / 1000 + "s of virtual time, " + config);
+
+        System.out.printf("%-18s %10s %20s %22s %18s%n", "peak arrivals/s", "Clients", "mean time (s)", "emptied after end (s)", "alleys busy (%)");
+        for (double peakRate : PEAK_RATES) {
+            ArrivalProfile profile = ArrivalProfile.fridayNight(peakRate, stepTime);
+            DiscreteEventSimulation simulation = new DiscreteEventSimulation(
+                    new ArrivalGenerator(profile, SEED, false, config.getGroupSize()), VenuePolicy.PART3, config);
+            long endTime = simulation.run();
+            System.out.printf("%-18.1f %10d %20.1f %22.1f %18.1f%n", peakRate, simulation.getNumClients(),
+                    meanTimeInVenue(simulation) / 1000.0, (endTime - profile.getDuration()) / 1000.0,
+                    100 * simulation.getAlleyUtilization(endTime));
+        }
+
+        /** The threaded runs print nothing but their summary. */
+        EventLog.setSinks(EventSink.DISCARD);
+        ArrivalProfile profile = ArrivalProfile.fridayNight(PEAK_RATES[0], stepTime);
+        ArrivalGenerator arrivals = new ArrivalGenerator(profile, SEED, false, Group.MAX_SIZE);
+        int numClients = (int) Math.round(profile.getExpectedArrivals() / Group.MAX_SIZE) * Group.MAX_SIZE;
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        System.out.println("\nThreaded mode, time scale " + Client.TIME_SCALE + "x:");
+        BowlingSimulation.NUM_CLIENTS = numClients;
+        threads.resetPeakThreadCount();
+        BowlingSimulation closed = new BowlingSimulation(ExecutionMode.PLATFORM, VenuePolicy.PART3).setSeed(SEED);
+        closed.start();
+        int closedPeak = threads.getPeakThreadCount();
+
+        threads.resetPeakThreadCount();
+        BowlingSimulation open = new BowlingSimulation(ExecutionMode.PLATFORM, VenuePolicy.PART3, arrivals);
+        open.start();
+        int openPeak = threads.getPeakThreadCount();
+
+        System.out.println("Peak live threads with " + numClients + " Clients created up front: " + closedPeak);
+        System.out.println("Peak live threads with " + arrivals.getClients() + " open-loop arrivals: " + openPeak
+                + " (at most " + open.getPeakClientsInVenue() + " Clients in the venue)");
+    }
+
+    /** @return mean virtual time in milliseconds the Clients spent in the venue */
+    private static double meanTimeInVenue(DiscreteEventSimulation simulation) {
+        long total = 0;
+        for (int i = 0; i < simulation.getNumClients(); i++) {
+            total += simulation.getTimeInVenue(i);
+        }
+        return (double) total / simulation.getNumClients();
+    }
+}
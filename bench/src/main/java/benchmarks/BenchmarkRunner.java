@@ -0,0 +1,109 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.NoBenchmarksException;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every station benchmark with 1, 2, 4, ... up to N threads and the simulation benchmark
+ * once, then prints throughput (ops/s) and 99th percentile latency (us) per benchmark and thread
+ * count in one table.
+ *
+ * Run with {@code java -jar bench/target/benchmarks.jar [maxThreads] [benchmarkRegex]}. N defaults
+ * to the number of available processors. Instead of N, a list of thread counts like {@code 8,32,128}
+ * can be given. Plain JMH options are still available with
+ * {@code java -cp bench/target/benchmarks.jar org.openjdk.jmh.Main}.
+ */
+public class BenchmarkRunner {
+    /** The benchmarks whose thread count is varied. */
+    private static final String STATIONS = "(GroupSynchronizer|RegistrationDesk|ClientRegistry|ShoesRoom|BowlingArea)Benchmark";
+
+    public static void main(String[] args) throws RunnerException {
+        List<Integer> threadCounts = new ArrayList<>();
+        if (args.length > 0 && args[0].contains(",")) {
+            for (String threads : args[0].split(",")) {
+                threadCounts.add(Integer.parseInt(threads.trim()));
+            }
+        } else {
+            int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                threadCounts.add(threads);
+            }
+        }
+        String include = args.length > 1 ? args[1] : ".*";
+
+        List<String> rows = new ArrayList<>();
+        for (int threads : threadCounts) {
+            rows.addAll(run(STATIONS + ".*", include, threads));
+        }
+        rows.addAll(run(SimulationBenchmark.class.getSimpleName() + ".*", include, 1));
+
+        System.out.println();
+        System.out.printf("%-60s %7s %15s %12s%n", "Benchmark", "Threads", "ops/s", "p99 (us)");
+        for (String row : rows) {
+            System.out.println(row);
+        }
+    }
+
+    /** Runs the benchmarks matching both patterns in throughput and sample mode, one row each. */
+    private static List<String> run(String benchmarks, String include, int threads) throws RunnerException {
+        /** Several includes of JMH match any of them, so both patterns are combined into one. */
+        Options options = new OptionsBuilder()
+                .include("^(?=.*(" + include + ")).*" + benchmarks)
+                .mode(Mode.Throughput)
+                .mode(Mode.SampleTime)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .threads(threads)
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        Collection<RunResult> results;
+        try {
+            results = new Runner(options).run();
+        } catch (NoBenchmarksException e) {
+            return new ArrayList<>();
+        }
+
+        List<String> rows = new ArrayList<>();
+        for (RunResult throughput : results) {
+            if (throughput.getParams().getMode() != Mode.Throughput) {
+                continue;
+            }
+            String label = throughput.getParams().getBenchmark().replace("benchmarks.", "") + paramsOf(throughput);
+            double p99 = Double.NaN;
+            for (RunResult sample : results) {
+                if (sample.getParams().getMode() == Mode.SampleTime
+                        && sample.getParams().getBenchmark().equals(throughput.getParams().getBenchmark())
+                        && paramsOf(sample).equals(paramsOf(throughput))) {
+                    p99 = sample.getPrimaryResult().getStatistics().getPercentile(99);
+                }
+            }
+            Result<?> opsPerMicro = throughput.getPrimaryResult();
+            rows.add(String.format("%-60s %7d %15.0f %12.2f", label, threads, opsPerMicro.getScore() * 1000000, p99));
+        }
+        return rows;
+    }
+
+    /** @return the @Param values of a run, e.g. "(groupSize=5)" */
+    private static String paramsOf(RunResult result) {
+        StringBuilder params = new StringBuilder();
+        for (String key : result.getParams().getParamsKeys()) {
+            params.append(params.length() == 0 ? "(" : ", ").append(key).append('=').append(result.getParams().getParam(key));
+        }
+        return params.length() == 0 ? "" : params.append(')').toString();
+    }
+}
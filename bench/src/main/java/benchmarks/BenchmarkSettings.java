@@ -0,0 +1,31 @@
+package benchmarks;
+
+import actors.Client;
+import logging.EventLog;
+import logging.EventSink;
+import utils.VenuePolicy;
+
+import java.io.IOException;
+
+/**
+ * Settings every benchmark applies in its setup. Each benchmark runs in its own forked JVM,
+ * so changing the static configuration of the simulation doesn't affect other benchmarks.
+ */
+final class BenchmarkSettings {
+    private BenchmarkSettings() {
+    }
+
+    /**
+     * Sets every time a Client sleeps to zero, so only the synchronization of the stations
+     * is measured, and throws the events of the stations away instead of printing them.
+     */
+    static void apply() throws IOException {
+        Client.MAX_DELAY_TIME = 0;
+        Client.BOWLING_TIME = 0;
+        Client.REGISTER_PAY_TIME = 0;
+        for (VenuePolicy policy : VenuePolicy.values()) {
+            policy.setBorrowReturnShoesTime(0);
+        }
+        EventLog.setSinks(EventSink.DISCARD);
+    }
+}
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import stations.BowlingAlley;
+import stations.BowlingArea;
+import stations.DancingRoom;
+
+import java.io.IOException;
+
+/**
+ * Measures {@link BowlingArea#tryAcquireAlley()} followed by
+ * {@link BowlingArea#gameEnded(BowlingAlley, int)}: a Group leader takes a free BowlingAlley and releases
+ * it right away, which also notifies the DancingRoom. If all BowlingAlleys are taken, the leader
+ * yields and tries again.
+ *
+ * To see the contention of many Group leaders, run it with e.g.
+ * {@code java -jar benchmarks.jar 8,32,128 BowlingArea}.
+ */
+@State(Scope.Benchmark)
+public class BowlingAreaBenchmark {
+    @Param({"3", "60"})
+    public int numAlleys;
+
+    private BowlingArea bowlingArea;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkSettings.apply();
+        BowlingArea.NUM_ALLEYS = numAlleys;
+        bowlingArea = new BowlingArea(new DancingRoom());
+    }
+
+    @Benchmark
+    public BowlingAlley acquireAndReleaseAlley() {
+        BowlingAlley alley = bowlingArea.tryAcquireAlley();
+        while (alley == null) {
+            Thread.yield();
+            alley = bowlingArea.tryAcquireAlley();
+        }
+        bowlingArea.gameEnded(alley, BowlingArea.SEATS_PER_ALLEY);
+        return alley;
+    }
+}
@@ -0,0 +1,84 @@
+package benchmarks;
+
+import actors.Client;
+import logging.EventLog;
+import logging.EventSink;
+import stations.RegistrationDesk;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures how many Clients waiting for a Cashier are woken up per served Client. Clients arrive
+ * at random (exponentially distributed gaps) with a given rate per hour for {@link #MINUTES} minutes
+ * and pay at one of {@link #NUM_CASHIERS} Cashiers. Time runs {@link #TIME_SCALE} times faster than
+ * in reality.
+ * Since a freed Cashier is handed over to exactly one waiting Client, the number stays at most 1,
+ * no matter how many Clients are waiting.
+ *
+ * Run with {@code java -cp bench/target/benchmarks.jar benchmarks.CashierWakeUpBenchmark [arrivalsPerHour...]}.
+ */
+public class CashierWakeUpBenchmark {
+    private static final int NUM_CASHIERS = 20;
+    private static final int TIME_SCALE = 100;
+    private static final int MINUTES = 6;
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        EventLog.setSinks(EventSink.DISCARD);
+        RegistrationDesk.NUM_CASHIERS = NUM_CASHIERS;
+        Client.REGISTER_PAY_TIME = 1000 / TIME_SCALE;
+
+        int[] arrivalRates = {10000, 50000, 70000};
+        if (args.length > 0) {
+            arrivalRates = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                arrivalRates[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        List<String> results = new ArrayList<>();
+        for (int arrivalRate : arrivalRates) {
+            results.add(run(arrivalRate));
+        }
+
+        System.out.println("\nCashiers: " + NUM_CASHIERS + ", " + MINUTES + " minutes compressed " + TIME_SCALE + " times");
+        System.out.println("Arrivals/h | Services | Wake-ups | Wake-ups per service | Time");
+        for (String result : results) {
+            System.out.println(result);
+        }
+    }
+
+    /** Lets {@link #MINUTES} (compressed) minutes of Clients arrive at {@code arrivalsPerHour} and pay. */
+    private static String run(int arrivalsPerHour) throws InterruptedException {
+        final RegistrationDesk registrationDesk = new RegistrationDesk();
+        Random random = new Random(42);
+        double meanGapNanos = 3600e9 / TIME_SCALE / arrivalsPerHour;
+
+        List<Thread> threads = new ArrayList<>();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < arrivalsPerHour * MINUTES / 60; i++) {
+            LockSupport.parkNanos((long) (-Math.log(1 - random.nextDouble()) * meanGapNanos));
+
+            final Client client = new Client(i);
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    registrationDesk.chargeFee(client);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long millis = (System.nanoTime() - startNanos) / 1000000;
+
+        double perService = (double) registrationDesk.getCashierWakeUps() / registrationDesk.getServices();
+        return String.format("%10d | %8d | %8d | %20.2f | %dms", arrivalsPerHour, registrationDesk.getServices(),
+                registrationDesk.getCashierWakeUps(), perService, millis);
+    }
+}
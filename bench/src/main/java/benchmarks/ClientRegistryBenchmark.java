@@ -0,0 +1,86 @@
+package benchmarks;
+
+import actors.Client;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.ThreadParams;
+import stations.RegistrationDesk;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Measures {@link RegistrationDesk#removeClient(Client)} followed by
+ * {@link RegistrationDesk#addClient(Client)} while {@code clientsInVenue} Clients are registered:
+ * a random Client pays and registers again, so the number of Clients in the venue stays the same.
+ * Every benchmark thread works on its own Clients, like the Cashiers never serve the same Client.
+ *
+ * {@code registry=list} runs the same operations on the list the RegistrationDesk used before,
+ * guarded by one lock, for comparison.
+ */
+@State(Scope.Benchmark)
+public class ClientRegistryBenchmark {
+    @Param({"100000"})
+    public int clientsInVenue;
+
+    @Param({"bitset", "list"})
+    public String registry;
+
+    private Client[] clients;
+    private RegistrationDesk registrationDesk;
+    private List<Client> clientList;
+    private ReentrantLock listLock;
+
+    /** The Clients of one benchmark thread are those whose Id modulo the number of threads is its index. */
+    @State(Scope.Thread)
+    public static class ClientState {
+        private int threadIndex;
+        private int threadCount;
+        private SplittableRandom random;
+
+        @Setup
+        public void setUp(ThreadParams params) {
+            threadIndex = params.getThreadIndex();
+            threadCount = params.getThreadCount();
+            random = new SplittableRandom(threadIndex);
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkSettings.apply();
+        registrationDesk = new RegistrationDesk();
+        clientList = new ArrayList<>();
+        listLock = new ReentrantLock();
+        clients = new Client[clientsInVenue];
+        for (int i = 0; i < clientsInVenue; i++) {
+            clients[i] = new Client(i);
+            registrationDesk.addClient(clients[i]);
+            clientList.add(clients[i]);
+        }
+    }
+
+    @Benchmark
+    public void payAndRegister(ClientState state) {
+        int perThread = clientsInVenue / state.threadCount;
+        Client client = clients[state.random.nextInt(perThread) * state.threadCount + state.threadIndex];
+        if (registry.equals("list")) {
+            listLock.lock();
+            try {
+                clientList.remove(client);
+                clientList.add(client);
+            } finally {
+                listLock.unlock();
+            }
+        } else {
+            registrationDesk.removeClient(client);
+            registrationDesk.addClient(client);
+        }
+    }
+}
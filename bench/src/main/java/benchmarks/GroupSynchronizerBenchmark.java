@@ -0,0 +1,91 @@
+package benchmarks;
+
+import actors.Client;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Control;
+import utils.Group;
+import utils.GroupSynchronizer;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures {@link GroupSynchronizer#waitForWholeGroup(Client)}. One operation is one Client
+ * arriving and waiting until his Group is complete. The benchmark threads take tickets in
+ * order of arrival and every {@code groupSize} consecutive tickets form one Group, just like
+ * the RegistrationDesk fills Groups in order of registration.
+ */
+@State(Scope.Benchmark)
+public class GroupSynchronizerBenchmark {
+    /** Size of the Groups, capped at the number of benchmark threads so every Group can get complete. */
+    @Param({"5"})
+    public int groupSize;
+
+    private int effectiveGroupSize;
+
+    private Synchronizer synchronizer;
+
+    /** Next ticket. Ticket t belongs to Group t / effectiveGroupSize. */
+    private AtomicLong nextTicket;
+
+    /** Groups that still have members on their way, by Group number. */
+    private ConcurrentMap<Long, Group> groups;
+
+    @Setup
+    public void setUp(BenchmarkParams params) throws IOException {
+        BenchmarkSettings.apply();
+        effectiveGroupSize = Math.min(groupSize, params.getThreads());
+        synchronizer = new Synchronizer();
+        nextTicket = new AtomicLong();
+        groups = new ConcurrentHashMap<>();
+    }
+
+    @Benchmark
+    public void waitForWholeGroup(Control control) {
+        arrive(nextTicket.getAndIncrement());
+
+        /**
+         * When the measurement stops, other threads might wait for a Group that is not complete
+         * yet and whose missing members would never arrive. So every thread keeps arriving until
+         * the last Group is complete. There are always enough threads left for it because the
+         * Group size is capped at the number of threads.
+         */
+        if (control.stopMeasurement) {
+            long ticket = nextTicket.get();
+            while (ticket % effectiveGroupSize != 0) {
+                if (nextTicket.compareAndSet(ticket, ticket + 1)) {
+                    arrive(ticket);
+                }
+                ticket = nextTicket.get();
+            }
+        }
+    }
+
+    private void arrive(long ticket) {
+        long groupNumber = ticket / effectiveGroupSize;
+        Group group = groups.get(groupNumber);
+        if (group == null) {
+            Group newGroup = new Group((int) groupNumber, effectiveGroupSize);
+            group = groups.putIfAbsent(groupNumber, newGroup);
+            if (group == null) {
+                group = newGroup;
+            }
+        }
+
+        Client client = new Client((int) ticket);
+        client.setGroup(group);
+        synchronizer.arrive(client);
+
+        /** Every member fetched the Group before it got complete, so it can be forgotten now. */
+        if (ticket % effectiveGroupSize == effectiveGroupSize - 1) {
+            groups.remove(groupNumber);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package benchmarks;
+
+import actors.Client;
+import logging.EventLog;
+import logging.EventSink;
+import utils.Group;
+import utils.GroupSynchronizer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures how many waiting Clients are woken up per completed Group in {@link GroupSynchronizer}
+ * while more and more Groups wait at the same time. With one wake-up per waiting Group member the
+ * number stays at {@code Group.MAX_SIZE - 1}, no matter how many Groups are waiting.
+ *
+ * Run with {@code java -cp bench/target/benchmarks.jar benchmarks.GroupWakeUpBenchmark [groupCount...]}.
+ */
+public class GroupWakeUpBenchmark {
+    public static void main(String[] args) throws InterruptedException, IOException {
+        EventLog.setSinks(EventSink.DISCARD);
+
+        int[] groupCounts = {10, 100, 1000};
+        if (args.length > 0) {
+            groupCounts = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                groupCounts[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        List<String> results = new ArrayList<>();
+        for (int groupCount : groupCounts) {
+            results.add(run(groupCount));
+        }
+
+        System.out.println("\nGroups | Clients | Wake-ups | Wake-ups per completed Group | Time");
+        for (String result : results) {
+            System.out.println(result);
+        }
+    }
+
+    /**
+     * Lets the Clients of {@code groupCount} Groups arrive in random order, so most of the
+     * Groups have waiting Clients at the same time.
+     */
+    private static String run(int groupCount) throws InterruptedException {
+        final Synchronizer synchronizer = new Synchronizer();
+        final CountDownLatch start = new CountDownLatch(1);
+
+        List<Client> clients = new ArrayList<>();
+        for (int g = 0; g < groupCount; g++) {
+            Group group = new Group(g);
+            for (int c = 0; c < Group.MAX_SIZE; c++) {
+                Client client = new Client(clients.size());
+                client.setGroup(group);
+                clients.add(client);
+            }
+        }
+        Collections.shuffle(clients);
+
+        List<Thread> threads = new ArrayList<>();
+        for (final Client client : clients) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                    }
+                    synchronizer.arrive(client);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long millis = (System.nanoTime() - startNanos) / 1000000;
+
+        double perCompletion = (double) synchronizer.getWakeUps() / synchronizer.getGroupCompletions();
+        return String.format("%6d | %7d | %8d | %28.2f | %dms", groupCount, clients.size(),
+                synchronizer.getWakeUps(), perCompletion, millis);
+    }
+}
@@ -0,0 +1,92 @@
+package benchmarks;
+
+import simulation.DiscreteEventSimulation;
+import simulation.EventJournal;
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/**
+ * Measures what an {@link EventJournal} costs the discrete-event simulation and how long a
+ * restore takes. The venue grows with the Clients like in {@link LargeVenueBenchmark}; a Client
+ * of Part 3 causes 6 Events, so the default of 1.7 million Clients makes 10 million Events.
+ *
+ * The same run is done without a journal, with a journal that is only written, with a journal
+ * forced to disk after every batch, and with a journal plus a snapshot every million Events.
+ * The last journal is then restored: the last snapshot is read and the Events after it are
+ * handled again and checked against the journal. Every configuration is run {@link #REPEATS}
+ * times and the fastest run counts.
+ *
+ * Run with {@code java -cp bench/target/benchmarks.jar benchmarks.JournalBenchmark [clients] [directory]}.
+ */
+public class JournalBenchmark {
+    private static final long SEED = 42;
+    private static final long SNAPSHOT_INTERVAL = 1000000;
+    private static final int REPEATS = 3;
+
+    public static void main(String[] args) throws IOException {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1700000;
+        Path directory = args.length > 1 ? Paths.get(args[1]) : Files.createTempDirectory("journal");
+        VenueConfig config = new VenueConfig()
+                .setNumAlleys(clients / 50 + 1)
+                .setNumCashiers(clients / 50 + 1)
+                .setNumShoes(clients / 5 + 1);
+        System.out.println(clients + " Clients, " + config + ", journal in " + directory);
+
+        /** The first run only warms up the JIT. */
+        run(clients, config, null);
+
+        long baseline = Long.MAX_VALUE;
+        for (int r = 0; r < REPEATS; r++) {
+            baseline = Math.min(baseline, run(clients, config, null));
+        }
+        System.out.printf("%-22s %10s %16s %14s %10s%n", "journal", "time (ms)", "overhead (ns/Cl)", "overhead (%)", "snapshots");
+        print("none", baseline, baseline, clients, 0);
+        String[] names = {"written", "fsync per batch", "snapshots"};
+        for (int i = 0; i < names.length; i++) {
+            long nanos = Long.MAX_VALUE;
+            long snapshots = 0;
+            for (int r = 0; r < REPEATS; r++) {
+                EventJournal journal = new EventJournal(directory)
+                        .setFsync(i == 1)
+                        .setSnapshotInterval(i == 2 ? SNAPSHOT_INTERVAL : Long.MAX_VALUE);
+                nanos = Math.min(nanos, run(clients, config, journal));
+                snapshots = journal.getSnapshots();
+            }
+            print(names[i], nanos, baseline, clients, snapshots);
+        }
+
+        long startNanos = System.nanoTime();
+        EventJournal journal = EventJournal.restore(directory);
+        long restoreNanos = System.nanoTime() - startNanos;
+        journal.close();
+        System.out.printf("Restored %d Events (%.1f MB journal, %.1f MB snapshot) in %dms, the full run took %dms%n",
+                journal.getRecords(),
+                Files.size(directory.resolve("journal.bin")) / 1e6, Files.size(directory.resolve("snapshot.bin")) / 1e6,
+                restoreNanos / 1000000, baseline / 1000000);
+    }
+
+    /** @return wall-clock nanoseconds of the run, including closing the journal */
+    private static long run(int clients, VenueConfig config, EventJournal journal) throws IOException {
+        DiscreteEventSimulation simulation = new DiscreteEventSimulation(clients, new SplittableRandom(SEED), VenuePolicy.PART3, config);
+        long startNanos = System.nanoTime();
+        if (journal != null) {
+            simulation.setJournal(journal);
+        }
+        simulation.run();
+        if (journal != null) {
+            journal.close();
+        }
+        return System.nanoTime() - startNanos;
+    }
+
+    private static void print(String name, long nanos, long baseline, int clients, long snapshots) {
+        System.out.printf("%-22s %10d %16.0f %14.1f %10d%n", name, nanos / 1000000,
+                (double) (nanos - baseline) / clients, 100.0 * (nanos - baseline) / baseline, snapshots);
+    }
+}
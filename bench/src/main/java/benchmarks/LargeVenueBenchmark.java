@@ -0,0 +1,50 @@
+package benchmarks;
+
+import simulation.DiscreteEventSimulation;
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+import java.util.SplittableRandom;
+
+/**
+ * Runs the discrete-event simulation with millions of Clients and reports how much heap it
+ * needs. The venue grows with the Clients (a BowlingAlley and a Cashier per 50 Clients, a
+ * ShoePair per 5), so the Clients move on instead of all queuing at one station.
+ *
+ * The heap is measured after a garbage collection while the simulation is still referenced,
+ * once before and once after running it. Run with a fixed heap to see whether it fits, e.g.
+ * {@code java -Xmx600m -cp bench/target/benchmarks.jar benchmarks.LargeVenueBenchmark [clients] [part]}.
+ */
+public class LargeVenueBenchmark {
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+        VenuePolicy policy = args.length > 1 ? VenuePolicy.ofPart(Integer.parseInt(args[1])) : VenuePolicy.PART3;
+        VenueConfig config = new VenueConfig()
+                .setNumAlleys(clients / 50 + 1)
+                .setNumCashiers(clients / 50 + 1)
+                .setNumShoes(clients / 5 + 1);
+
+        long before = usedHeap();
+        long startNanos = System.nanoTime();
+        DiscreteEventSimulation simulation = new DiscreteEventSimulation(clients, new SplittableRandom(SEED), policy, config);
+        long created = usedHeap();
+        long endTime = simulation.run();
+        long millis = (System.nanoTime() - startNanos) / 1000000;
+        long after = usedHeap();
+
+        System.out.println(policy + ": " + clients + " Clients, " + config);
+        System.out.println("Clients that went home: " + simulation.countClientsLeft());
+        System.out.println("Simulated time: " + endTime / 1000 + "s, wall-clock time: " + millis + "ms");
+        System.out.println(String.format("Heap for the Clients: %.1f MB (%.1f bytes per Client), after the run: %.1f MB",
+                (created - before) / 1e6, (double) (created - before) / clients, (after - before) / 1e6));
+        System.out.println("Max heap: " + Runtime.getRuntime().maxMemory() / 1000000 + " MB");
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,111 @@
+package benchmarks;
+
+import logging.EventKind;
+import logging.EventLog;
+import logging.EventSink;
+import logging.Station;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Measures how long a station lock is held when the trace line of an event is written while
+ * holding it. The stations used to print every event with {@code System.out.println}, which
+ * formats the line and writes it to the console inside the lock. Now they publish the event to
+ * the {@link EventLog}, which only copies a few fields into its ring buffer.
+ *
+ * Every thread repeatedly takes one shared lock and writes one event while holding it, first
+ * with {@code println} to a file (so the console doesn't distort the numbers), then with
+ * {@link EventLog#publish(Station, EventKind, int, int, int, int)}.
+ *
+ * Run with {@code java -cp bench/target/benchmarks.jar benchmarks.LockHoldTimeBenchmark [threads] [eventsPerThread]}.
+ */
+public class LockHoldTimeBenchmark {
+    /** Writes an event while the lock is held. */
+    private interface EventWriter {
+        void write(int clientId, int groupId);
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int eventsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+
+        File traceFile = File.createTempFile("lock-hold", ".log");
+        traceFile.deleteOnExit();
+        final PrintStream out = new PrintStream(new FileOutputStream(traceFile), true);
+        EventLog.setSinks(EventSink.DISCARD);
+
+        EventWriter println = new EventWriter() {
+            @Override
+            public void write(int clientId, int groupId) {
+                out.println("Client(" + clientId + ") in Group(" + groupId + ") can play on BowlingAlley(" + 3 + ").");
+            }
+        };
+        EventWriter publish = new EventWriter() {
+            @Override
+            public void write(int clientId, int groupId) {
+                EventLog.publish(Station.DANCING_ROOM, EventKind.ALLEY_GRANTED, clientId, groupId, 3, 0);
+            }
+        };
+
+        /** The first rounds only warm up the JIT. */
+        measure(println, threads, eventsPerThread);
+        measure(publish, threads, eventsPerThread);
+
+        double printlnNanos = measure(println, threads, eventsPerThread);
+        double publishNanos = measure(publish, threads, eventsPerThread);
+        EventLog.flush();
+        out.close();
+
+        System.out.println("Threads: " + threads + ", events per thread: " + eventsPerThread);
+        System.out.printf("%-10s %20s%n", "writer", "mean lock hold (ns)");
+        System.out.printf("%-10s %20.1f%n", "println", printlnNanos);
+        System.out.printf("%-10s %20.1f%n", "publish", publishNanos);
+    }
+
+    /** @return the mean time in nanoseconds the lock was held per event */
+    private static double measure(final EventWriter writer, int threads, final int eventsPerThread) throws InterruptedException {
+        final ReentrantLock lock = new ReentrantLock();
+        final AtomicLong heldNanos = new AtomicLong();
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            final int groupId = t;
+            workers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    long held = 0;
+                    for (int i = 0; i < eventsPerThread; i++) {
+                        lock.lock();
+                        try {
+                            long acquired = System.nanoTime();
+                            writer.write(i, groupId);
+                            held += System.nanoTime() - acquired;
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                    heldNanos.addAndGet(held);
+                }
+            });
+            workers[t].start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return (double) heldNanos.get() / ((long) threads * eventsPerThread);
+    }
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import simulation.MultiVenueSimulation;
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+/**
+ * Runs a chain of venues with the {@link MultiVenueSimulation}, without and with redirecting
+ * Groups, on 1 thread and on as many threads as there are cores. Every venue has as many
+ * BowlingAlleys as Cashiers, so the BowlingAlleys are what the Clients wait for (Part 2, no
+ * limited ShoePairs). The Clients are spread unevenly, so the first venues are congested while
+ * the last ones have BowlingAlleys to spare.
+ *
+ * The simulated results don't depend on the number of threads, only the wall-clock time does.
+ * Run with {@code java -cp bench/target/benchmarks.jar benchmarks.MultiVenueBenchmark [venues] [clients] [alleysPerVenue]}.
+ */
+public class MultiVenueBenchmark {
+    private static final long SEED = 42;
+
+    /** Enough Cashiers that the Clients don't queue at the RegistrationDesk instead. */
+    private static final int CASHIERS_PER_ALLEY = 5;
+
+    public static void main(String[] args) {
+        int venues = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+        int alleys = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        VenueConfig config = new VenueConfig().setNumAlleys(alleys).setNumCashiers(CASHIERS_PER_ALLEY * alleys);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        /** The first run only warms up the JIT. */
+        new MultiVenueSimulation(venues, clients, SEED, VenuePolicy.PART2, config).run();
+
+        System.out.println(venues + " venues, " + clients + " Clients, " + config);
+        System.out.printf("%-10s %8s %20s %18s %10s %14s%n",
+                "migration", "threads", "throughput (Cl/h)", "mean time (s)", "redirected", "wall-clock (ms)");
+        for (boolean migration : new boolean[] {false, true}) {
+            for (int threads : cores > 1 ? new int[] {1, cores} : new int[] {1}) {
+                MultiVenueSimulation simulation = new MultiVenueSimulation(venues, clients, SEED, VenuePolicy.PART2, config)
+                        .setMigration(migration)
+                        .setParallelism(threads);
+                long startNanos = System.nanoTime();
+                long endTime = simulation.run();
+                long millis = (System.nanoTime() - startNanos) / 1000000;
+
+                int redirected = 0;
+                for (int i = 0; i < venues; i++) {
+                    redirected += simulation.getGroupsSentAway(i);
+                }
+                System.out.printf("%-10s %8d %20.0f %18.1f %10d %14d%n", migration ? "on" : "off", threads,
+                        simulation.countClientsLeft() * 3600000.0 / endTime, simulation.getMeanTimeInVenue() / 1000.0,
+                        redirected, millis);
+            }
+        }
+    }
+}
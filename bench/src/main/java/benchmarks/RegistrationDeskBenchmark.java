@@ -0,0 +1,46 @@
+package benchmarks;
+
+import actors.Client;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import stations.Cashier;
+import stations.RegistrationDesk;
+
+import java.io.IOException;
+
+/**
+ * Measures {@link RegistrationDesk#getCashier(Client)} followed by
+ * {@link RegistrationDesk#cashierGotAvailable(Cashier)}: a Client waits for a free Cashier
+ * and hands him back right away, so the threads only compete for the Cashiers. With more threads
+ * than Cashiers, every released Cashier is handed over to a waiting thread.
+ */
+@State(Scope.Benchmark)
+public class RegistrationDeskBenchmark {
+    @Param({"3", "20"})
+    public int numCashiers;
+
+    private RegistrationDesk registrationDesk;
+
+    /** Every benchmark thread is one Client. */
+    @State(Scope.Thread)
+    public static class ClientState {
+        private Client client = new Client(0);
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkSettings.apply();
+        RegistrationDesk.NUM_CASHIERS = numCashiers;
+        registrationDesk = new RegistrationDesk();
+    }
+
+    @Benchmark
+    public Cashier getAndReleaseCashier(ClientState state) {
+        Cashier cashier = registrationDesk.getCashier(state.client);
+        registrationDesk.cashierGotAvailable(cashier);
+        return cashier;
+    }
+}
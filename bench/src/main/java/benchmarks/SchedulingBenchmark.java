@@ -0,0 +1,86 @@
+package benchmarks;
+
+import simulation.DiscreteEventSimulation;
+import utils.Group;
+import utils.SchedulingPolicy;
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Compares the {@link SchedulingPolicy}s under heavy load: many parties of 1 to 8 Clients arrive
+ * within {@link actors.Client#MAX_DELAY_TIME} at a venue with few BowlingAlleys, so most of them
+ * dance for a long time. Reported is how long the Clients danced until their Group got a
+ * BowlingAlley, for all Clients, for VIP Groups and for large Groups (6 or more), which the
+ * shortest-game-first policy pushes back.
+ *
+ * Every policy sees the same arrivals (same seeds). The venue has unlimited shoes and enough
+ * Cashiers, so the BowlingAlleys are the bottleneck.
+ *
+ * Run with {@code java -cp bench/target/benchmarks.jar benchmarks.SchedulingBenchmark [clients] [replications] [alleys]}.
+ */
+public class SchedulingBenchmark {
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        int replications = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int alleys = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        System.out.println(clients + " Clients in parties of 1 to 8, " + alleys + " BowlingAlleys, every "
+                + Group.VIP_INTERVAL + "th Group is VIP, " + replications + " replications");
+        System.out.println("Time danced until the Group got a BowlingAlley, in seconds:");
+        System.out.println(String.format("%-19s | %8s | %8s | %8s | %8s | %9s | %11s | %7s",
+                "Policy", "Mean", "p95", "p99", "Max", "VIP mean", "Large mean", "Time"));
+
+        for (SchedulingPolicy schedulingPolicy : SchedulingPolicy.values()) {
+            VenueConfig config = new VenueConfig()
+                    .setNumAlleys(alleys)
+                    .setNumCashiers(clients / 8 + 1)
+                    .setGroupSize(8)
+                    .setVariableGroupSizes(true)
+                    .setSchedulingPolicy(schedulingPolicy);
+
+            long[] waits = new long[clients * replications];
+            long vipTotal = 0;
+            long vipCount = 0;
+            long largeTotal = 0;
+            long largeCount = 0;
+            int next = 0;
+            long startNanos = System.nanoTime();
+
+            SplittableRandom seeds = new SplittableRandom(SEED);
+            for (int r = 0; r < replications; r++) {
+                DiscreteEventSimulation simulation = new DiscreteEventSimulation(clients, seeds.split(), VenuePolicy.PART2, config);
+                simulation.run();
+                for (int i = 0; i < clients; i++) {
+                    long wait = simulation.getAlleyWait(i);
+                    Group group = simulation.getBowlingGroup(i);
+                    waits[next++] = wait;
+                    if (group.isVip()) {
+                        vipTotal += wait;
+                        vipCount++;
+                    }
+                    if (group.getMaxSize() >= 6) {
+                        largeTotal += wait;
+                        largeCount++;
+                    }
+                }
+            }
+            long millis = (System.nanoTime() - startNanos) / 1000000;
+
+            Arrays.sort(waits);
+            System.out.println(String.format("%-19s | %8.1f | %8.1f | %8.1f | %8.1f | %9.1f | %11.1f | %5dms",
+                    schedulingPolicy, Arrays.stream(waits).average().orElse(0) / 1000, percentile(waits, 0.95) / 1000,
+                    percentile(waits, 0.99) / 1000, waits[waits.length - 1] / 1000.0,
+                    vipCount == 0 ? 0 : (double) vipTotal / vipCount / 1000,
+                    largeCount == 0 ? 0 : (double) largeTotal / largeCount / 1000, millis));
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.ceil(p * sorted.length) - 1];
+    }
+}
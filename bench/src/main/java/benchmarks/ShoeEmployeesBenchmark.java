@@ -0,0 +1,91 @@
+package benchmarks;
+
+import actors.Client;
+import logging.EventLog;
+import logging.EventSink;
+import stations.ShoesRoom;
+import utils.Group;
+import utils.VenuePolicy;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how many Clients the {@link ShoesRoom} serves per second with 1, 2, 4 and 8 employees.
+ * Every thread is a Client forming a Group on his own, who borrows and returns a ShoePair over and
+ * over again. Borrowing and returning take {@link VenuePolicy#getBorrowReturnShoesTime()} of Part 3 (scaled by
+ * {@code timeScale}), so with N employees up to N services take place at the same time. There
+ * is a ShoePair for every thread, so nobody waits for shoes, only for an employee.
+ *
+ * Run with {@code java -cp bench/target/benchmarks.jar benchmarks.ShoeEmployeesBenchmark [threads] [seconds] [timeScale]}.
+ */
+public class ShoeEmployeesBenchmark {
+    private static final int[] EMPLOYEES = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 2;
+        Client.TIME_SCALE = args.length > 2 ? Double.parseDouble(args[2]) : 100;
+        EventLog.setSinks(EventSink.DISCARD);
+
+        /** The ShoesRoom counts served Clients per Group up to Group.MAX_SIZE. */
+        Group.MAX_SIZE = 1;
+        ShoesRoom.MAX_SHOES = threads;
+
+        System.out.println("Threads: " + threads + ", service time: " + VenuePolicy.PART3.getBorrowReturnShoesTime() / Client.TIME_SCALE + "ms");
+        System.out.printf("%-10s %20s %10s%n", "employees", "services per second", "speed-up");
+        double baseline = 0;
+        for (int employees : EMPLOYEES) {
+            ShoesRoom.NUM_EMPLOYEES = employees;
+            double perSecond = measure(threads, seconds);
+            if (baseline == 0) {
+                baseline = perSecond;
+            }
+            System.out.printf("%-10d %20.1f %10.2f%n", employees, perSecond, perSecond / baseline);
+        }
+        EventLog.flush();
+    }
+
+    /** @return borrowed and returned ShoePairs per second, each counts as one service */
+    private static double measure(int threads, double seconds) throws InterruptedException {
+        final ShoesRoom shoesRoom = new ShoesRoom();
+        final AtomicLong services = new AtomicLong();
+        final CountDownLatch start = new CountDownLatch(1);
+        final long durationNanos = (long) (seconds * 1e9);
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            final Client client = new Client(t);
+            workers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    long deadline = System.nanoTime() + durationNanos;
+                    int groupsFormed = 0;
+                    while (System.nanoTime() < deadline) {
+                        Group group = new Group(groupsFormed++);
+                        group.addClient(client.getShoeSize());
+                        client.setGroup(group);
+                        shoesRoom.requestBorrowingShoes(client);
+                        client.forgetAboutGroup();
+                        shoesRoom.requestReturningShoes(client);
+                        services.addAndGet(2);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return services.get() / ((System.nanoTime() - startNanos) / 1e9);
+    }
+}
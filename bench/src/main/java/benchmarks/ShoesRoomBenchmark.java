@@ -0,0 +1,66 @@
+package benchmarks;
+
+import actors.Client;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.ThreadParams;
+import stations.ShoesRoom;
+import utils.Group;
+import utils.ShoeInventory;
+
+import java.io.IOException;
+
+/**
+ * Measures borrowing and returning a ShoePair in the {@link ShoesRoom}. Every benchmark thread
+ * is a Client that forms a Group on his own, so he doesn't have to wait for other Clients after
+ * borrowing. The threads compete for the employee and for the ShoePairs, and returners get
+ * priority over borrowers just like in the simulation. With several sizes the ShoePairs are
+ * spread over them, so a borrower may also wait for his size to be returned.
+ */
+@State(Scope.Benchmark)
+public class ShoesRoomBenchmark {
+    @Param({"15"})
+    public int maxShoes;
+
+    @Param({"1", "8"})
+    public int numSizes;
+
+    private ShoesRoom shoesRoom;
+
+    /** Every thread is another Client, so with several sizes the threads need different sizes. */
+    @State(Scope.Thread)
+    public static class ClientState {
+        private Client client;
+        private int groupsFormed;
+
+        @Setup
+        public void setUp(ThreadParams params) {
+            client = new Client(params.getThreadIndex());
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkSettings.apply();
+
+        /** The ShoesRoom counts served Clients per Group up to Group.MAX_SIZE. */
+        Group.MAX_SIZE = 1;
+        ShoesRoom.MAX_SHOES = maxShoes;
+        ShoeInventory.NUM_SIZES = numSizes;
+        shoesRoom = new ShoesRoom();
+    }
+
+    @Benchmark
+    public void borrowAndReturnShoes(ClientState state) {
+        Client client = state.client;
+        Group group = new Group(state.groupsFormed++);
+        group.addClient(client.getShoeSize());
+        client.setGroup(group);
+        shoesRoom.requestBorrowingShoes(client);
+        client.forgetAboutGroup();
+        shoesRoom.requestReturningShoes(client);
+    }
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import simulation.BowlingSimulation;
+import utils.ExecutionMode;
+import utils.Group;
+import utils.VenuePolicy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Measures whole runs of {@link BowlingSimulation#start()} with every sleep scaled to zero. One
+ * operation is one simulation in which all Clients go through every station. The simulation
+ * starts its own thread per Client, so the benchmark itself always runs on one thread.
+ */
+@State(Scope.Benchmark)
+@Threads(1)
+public class SimulationBenchmark {
+    @Param({"10", "100"})
+    public int numGroups;
+
+    @Param({"PART1", "PART2", "PART3"})
+    public VenuePolicy policy;
+
+    /** The summary printed at the end of every simulation is thrown away. */
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkSettings.apply();
+        BowlingSimulation.NUM_GROUPS = numGroups;
+        BowlingSimulation.NUM_CLIENTS = Group.MAX_SIZE * numGroups;
+
+        originalOut = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+        }));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void runSimulation() {
+        new BowlingSimulation(ExecutionMode.PLATFORM, policy).start();
+    }
+}
@@ -0,0 +1,19 @@
+package benchmarks;
+
+import actors.Client;
+import logging.Station;
+import utils.GroupSynchronizer;
+
+/**
+ * A {@link GroupSynchronizer} whose {@link GroupSynchronizer#waitForWholeGroup(Client)} the
+ * benchmarks can call directly, without the rest of a station around it.
+ */
+class Synchronizer extends GroupSynchronizer {
+    Synchronizer() {
+        super(Station.DANCING_ROOM);
+    }
+
+    void arrive(Client client) {
+        waitForWholeGroup(client);
+    }
+}
@@ -0,0 +1,82 @@
+package benchmarks;
+
+import actors.Client;
+import logging.EventLog;
+import logging.EventSink;
+import simulation.BowlingSimulation;
+import utils.ContentionSampler;
+import utils.Group;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the threaded simulation with more and more compressed time (see {@link Client#TIME_SCALE})
+ * and reports how long the Clients queue for the locks of the stations. The less the Clients
+ * sleep between two stations, the more of them arrive at a station at the same time, until the
+ * locks themselves become the bottleneck.
+ *
+ * Run with {@code java -cp bench/target/benchmarks.jar benchmarks.TimeScaleBenchmark [groups] [scale...]}.
+ */
+public class TimeScaleBenchmark {
+    public static void main(String[] args) throws InterruptedException, IOException {
+        EventLog.setSinks(EventSink.DISCARD);
+
+        int groups = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        double[] scales = {10, 100, 1000, 10000};
+        if (args.length > 1) {
+            scales = new double[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                scales[i - 1] = Double.parseDouble(args[i]);
+            }
+        }
+
+        BowlingSimulation.NUM_GROUPS = groups;
+        BowlingSimulation.NUM_CLIENTS = groups * Group.MAX_SIZE;
+
+        List<String> results = new ArrayList<>();
+        String header = null;
+        for (double scale : scales) {
+            Client.TIME_SCALE = scale;
+            BowlingSimulation simulation = new BowlingSimulation();
+
+            /** The simulation prints its summary, only the numbers below are of interest. */
+            PrintStream out = System.out;
+            System.setOut(new PrintStream(new OutputStream() {
+                @Override
+                public void write(int b) {
+                }
+            }));
+            long startNanos = System.nanoTime();
+            try {
+                simulation.start();
+            } finally {
+                System.setOut(out);
+            }
+            long millis = (System.nanoTime() - startNanos) / 1000000;
+
+            ContentionSampler sampler = simulation.getContentionSampler();
+            if (header == null) {
+                StringBuilder columns = new StringBuilder("  Scale |    Time");
+                for (String name : sampler.getNames()) {
+                    columns.append(String.format(" | %16s", name));
+                }
+                header = columns.toString();
+            }
+            StringBuilder row = new StringBuilder(String.format("%7.0f | %5dms", scale, millis));
+            for (int i = 0; i < sampler.getNames().size(); i++) {
+                row.append(String.format(" | %16.2f", sampler.getMeanQueueLength(i)));
+            }
+            results.add(row.toString());
+        }
+
+        System.out.println("\nMean number of Clients queueing for a lock, " + groups + " Groups");
+        System.out.println(header);
+        for (String result : results) {
+            System.out.println(result);
+        }
+    }
+}
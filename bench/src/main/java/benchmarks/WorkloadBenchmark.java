@@ -0,0 +1,118 @@
+package benchmarks;
+
+import simulation.DiscreteEventSimulation;
+import utils.Group;
+import utils.ReservationLog;
+import utils.ReservationLogWriter;
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a synthetic season of reservations as a binary and as a CSV {@link ReservationLog},
+ * streams both and reports records per second and the bytes allocated per record, which should
+ * be none. Then the season is replayed in the discrete-event mode against venues with more and
+ * more BowlingAlleys and ShoesRoom employees, the question a reservation log answers: how large
+ * a venue would last season have needed.
+ *
+ * The season has parties of 1 to 8 Clients with shoe sizes and game times of 2 to 4 seconds,
+ * arriving faster than the ShoesRoom of the default venue serves them. Parties larger than a Group
+ * are split.
+ *
+ * Run with {@code java -cp bench/target/benchmarks.jar benchmarks.WorkloadBenchmark [records]}.
+ */
+public class WorkloadBenchmark {
+    private static final long SEED = 42;
+    /** Candidate venues: BowlingAlleys and ShoesRoom employees. */
+    private static final int[][] VENUES = {{2, 1}, {2, 2}, {3, 1}, {3, 2}, {4, 2}};
+    private static final int REPEATS = 3;
+
+    public static void main(String[] args) throws IOException {
+        long records = args.length > 0 ? Long.parseLong(args[0]) : 1000000;
+        Path binary = Files.createTempFile("season", ".bin");
+        Path csv = Files.createTempFile("season", ".csv");
+        try {
+            writeSeason(binary, records);
+            ReservationLogWriter.convert(binary, csv);
+            System.out.printf("Season of %d reservations: %d MB binary, %d MB CSV%n", records,
+                    Files.size(binary) >> 20, Files.size(csv) >> 20);
+
+            System.out.printf("%-8s %20s %22s%n", "format", "records/s", "bytes allocated/record");
+            stream("binary", binary);
+            stream("CSV", csv);
+
+            System.out.printf("%n%-8s %16s %10s %20s %18s%n", "alleys", "shoe employees", "Clients", "mean time (s)", "alleys busy (%)");
+            for (int[] venue : VENUES) {
+                VenueConfig config = new VenueConfig().setNumAlleys(venue[0]).setNumShoeEmployees(venue[1])
+                        .setVariableGroupSizes(true);
+                try (ReservationLog log = new ReservationLog(binary, Group.MAX_SIZE)) {
+                    DiscreteEventSimulation simulation = new DiscreteEventSimulation(log, VenuePolicy.PART3, config);
+                    long endTime = simulation.run();
+                    System.out.printf("%-8d %16d %10d %20.1f %18.1f%n", venue[0], venue[1], simulation.getNumClients(),
+                            meanTimeInVenue(simulation) / 1000.0, 100 * simulation.getAlleyUtilization(endTime));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(binary);
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    private static void writeSeason(Path path, long records) throws IOException {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int[] shoeSizes = new int[ReservationLog.MAX_PARTY_SIZE];
+        long timestamp = 1696010400000L;
+        try (ReservationLogWriter writer = new ReservationLogWriter(path)) {
+            for (long i = 0; i < records; i++) {
+                int partySize = 1 + random.nextInt(ReservationLog.MAX_PARTY_SIZE);
+                for (int j = 0; j < partySize; j++) {
+                    shoeSizes[j] = random.nextInt(10);
+                }
+                /** A party every 4 seconds on average, 1.125 Clients per second. */
+                timestamp += random.nextInt(8000);
+                writer.append(timestamp, i, partySize, shoeSizes, 2000 + 500 * random.nextInt(5));
+            }
+        }
+    }
+
+    /** Reads the whole log, best of {@link #REPEATS} runs. */
+    private static void stream(String format, Path path) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bestNanos = Long.MAX_VALUE;
+        double bytesPerRecord = 0;
+        long records = 0;
+        long checksum = 0;
+        for (int r = 0; r < REPEATS; r++) {
+            try (ReservationLog log = new ReservationLog(path, ReservationLog.MAX_PARTY_SIZE)) {
+                long allocated = threads.getThreadAllocatedBytes(thread);
+                long start = System.nanoTime();
+                while (log.next()) {
+                    checksum += log.getTime() + log.getPartySize() + log.getShoeSize(0) + log.getGameTime();
+                }
+                long nanos = System.nanoTime() - start;
+                allocated = threads.getThreadAllocatedBytes(thread) - allocated;
+                if (nanos < bestNanos) {
+                    bestNanos = nanos;
+                    records = log.getRecords();
+                    bytesPerRecord = (double) allocated / records;
+                }
+            }
+        }
+        System.out.printf("%-8s %20.0f %22.2f   (checksum %x)%n", format, 1e9 * records / bestNanos, bytesPerRecord, checksum);
+    }
+
+    /** @return mean virtual time in milliseconds the Clients spent in the venue */
+    private static double meanTimeInVenue(DiscreteEventSimulation simulation) {
+        long total = 0;
+        for (int i = 0; i < simulation.getNumClients(); i++) {
+            total += simulation.getTimeInVenue(i);
+        }
+        return (double) total / simulation.getNumClients();
+    }
+}
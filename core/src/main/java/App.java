@@ -0,0 +1,386 @@
+import actors.Client;
+import logging.BinaryFileSink;
+import logging.ConsoleSink;
+import logging.EventLog;
+import logging.EventSink;
+import logging.TraceReader;
+import logging.TraceReplay;
+import simulation.BowlingSimulation;
+import simulation.CapacityPlanner;
+import simulation.DiscreteEventSimulation;
+import simulation.EventJournal;
+import simulation.EventScheduler;
+import simulation.InterleavingExplorer;
+import simulation.MultiVenueSimulation;
+import simulation.ReplicationRunner;
+import simulation.ReplicationSummary;
+import stations.BowlingArea;
+import stations.DancingRoom;
+import stations.RegistrationDesk;
+import stations.ShoesRoom;
+import utils.AlleyAssignment;
+import utils.ArrivalGenerator;
+import utils.ArrivalProfile;
+import utils.ArrivalSource;
+import utils.ExecutionMode;
+import utils.Group;
+import utils.ReservationLog;
+import utils.SchedulingPolicy;
+import utils.ShoeInventory;
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * This class provides only the seperated main()-method in which the bowling
+ * simulation is started.
+ *
+ * By default the threaded simulation is run with one platform thread per Client
+ * ({@code --virtual-threads} runs every Client on a virtual thread instead, Java 21+).
+ * With {@code --discrete-event} the same simulation is run on a virtual clock
+ * ({@code --verbose} prints every step). {@code --groups=N} changes the number of Groups.
+ * {@code --replications=N} runs N discrete-event simulations in parallel and prints statistics
+ * over all of them ({@code --seed=S} makes them reproducible), see {@link ReplicationRunner}.
+ * {@code --plan} sweeps the ranges given by {@code --alleys=}, {@code --cashiers=}, {@code --shoes=}
+ * and {@code --group-size=} (like {@code 1-8}, {@code 10-40/5} or {@code 2,4}) and prints the Pareto
+ * frontier, {@code --csv=path} writes every configuration, see {@link CapacityPlanner}.
+ *
+ * The threaded stations publish their events to the {@link EventLog}, which prints them. With
+ * {@code --trace-file=path} they are also written to a binary file, {@code --quiet} stops printing them.
+ * {@code --replay=path} reads such a file back and prints Client timelines, Station occupancy and
+ * BowlingAlley usage ({@code --csv=directory} writes them as CSV files, {@code --verbose} also prints
+ * every event), see {@link TraceReplay}.
+ *
+ * {@code --part=1}, {@code --part=2} or {@code --part=3} (the default) selects the rules of the
+ * venue, see {@link VenuePolicy}. {@code --time-scale=X} lets the threaded simulation run X times
+ * faster (see {@link Client#TIME_SCALE}).
+ *
+ * {@code --parties} lets parties of 1 to {@link Group#MAX_SIZE} Clients arrive together instead of
+ * forming Groups at the RegistrationDesk, {@code --alley-assignment=bin-packing} lets them share
+ * BowlingAlleys of {@code --seats=N} seats (see {@link AlleyAssignment}). Both work in every mode.
+ * {@code --scheduling=fifo|shortest-game-first|priority|aging} decides which waiting Group gets
+ * the next BowlingAlley from Part 2 on (see {@link SchedulingPolicy}). {@code --shoe-sizes=N} splits
+ * the ShoePairs of Part 3 into N sizes (see {@link ShoeInventory}), only in the threaded mode.
+ * {@code --shoe-employees=N} lets N employees serve in the ShoesRoom of Part 3 (see {@link ShoesRoom}).
+ *
+ * {@code --seed=S} fixes the random arrivals. The discrete-event mode is then reproducible, and
+ * {@code --schedule-seed=T} picks one of its interleavings (see {@link EventScheduler}), which
+ * the printed trace hash identifies. {@code --explore=N} runs N interleavings in parallel and
+ * prints the seed of the one with the longest time in venue, see {@link InterleavingExplorer}.
+ *
+ * {@code --venues=N} simulates N venues of a chain side by side, the Clients spread unevenly over
+ * them, and redirects waiting Groups to venues with free BowlingAlleys unless {@code --no-migration}
+ * is given, see {@link MultiVenueSimulation}. Every venue has {@code --alleys=N} BowlingAlleys,
+ * {@code --cashiers=N} Cashiers and {@code --shoes=N} ShoePairs. Groups only get redirected when
+ * the BowlingAlleys are the bottleneck: the default venue is limited by its Cashiers and ShoePairs,
+ * so give it more of those than BowlingAlleys, e.g. {@code --part=2 --alleys=4 --cashiers=20}.
+ *
+ * {@code --arrivals=friday-night:P} or {@code --arrivals=R1,R2,...} creates the Clients when they
+ * arrive, as an open-loop Poisson process with P arrivals per second at the peak of a Friday night
+ * or R1, R2, ... arrivals per second, each for {@code --arrival-step=S} seconds (10 by default),
+ * instead of {@code --groups=N} Groups arriving within 10 seconds. {@code --party-sizes=w1,w2,...}
+ * weights the sizes of the arriving parties. Works in the threaded and the discrete-event mode, see
+ * {@link ArrivalGenerator}.
+ *
+ * {@code --workload=path} replays the parties of a reservation log (CSV or binary) instead,
+ * streamed from the file while the simulation runs, see {@link ReservationLog}.
+ *
+ * {@code --max-clients=N} and {@code --max-wait=ms} turn parties away at the RegistrationDesk once N
+ * Clients are in the venue or the estimated wait for a BowlingAlley is longer (see {@link RegistrationDesk};
+ * both imply {@code --parties}), {@code --patience=ms} lets Groups give up waiting in the ShoesRoom and
+ * the DancingRoom (see {@link Client#PATIENCE}). Work in the threaded and the discrete-event mode.
+ *
+ * {@code --journal=directory} journals every Event of the discrete-event mode and takes snapshots,
+ * at the start and every {@code --snapshot-interval=N} Events (a million by default), {@code --fsync}
+ * forces each batch to disk. {@code --restore=directory} resumes such a run from
+ * its last snapshot and journal, with the same options as before, see {@link EventJournal}.
+ */
+public class App {
+    public static void main(String[] args) throws IOException {
+        List<String> options = Arrays.asList(args);
+        List<EventSink> sinks = new ArrayList<>();
+        VenuePolicy policy = VenuePolicy.PART3;
+        int replications = 0;
+        Long seed = null;
+        Long scheduleSeed = null;
+        int schedules = 0;
+        int venues = 0;
+        String alleys = null;
+        String cashiers = null;
+        String shoes = null;
+        String groupSizes = null;
+        String csvPath = null;
+        String replayPath = null;
+        String journalPath = null;
+        String restorePath = null;
+        long snapshotInterval = 0;
+        String arrivalProfile = null;
+        double arrivalStep = 10;
+        String partySizes = null;
+        String workloadPath = null;
+        if (!options.contains("--quiet")) {
+            sinks.add(new ConsoleSink());
+        }
+
+        for (String option : options) {
+            if (option.startsWith("--groups=")) {
+                BowlingSimulation.NUM_GROUPS = Integer.parseInt(option.substring("--groups=".length()));
+                BowlingSimulation.NUM_CLIENTS = Group.MAX_SIZE * BowlingSimulation.NUM_GROUPS;
+            } else if (option.startsWith("--time-scale=")) {
+                Client.TIME_SCALE = Double.parseDouble(option.substring("--time-scale=".length()));
+            } else if (option.startsWith("--part=")) {
+                policy = VenuePolicy.ofPart(Integer.parseInt(option.substring("--part=".length())));
+            } else if (option.startsWith("--replications=")) {
+                replications = Integer.parseInt(option.substring("--replications=".length()));
+            } else if (option.startsWith("--seed=")) {
+                seed = Long.parseLong(option.substring("--seed=".length()));
+            } else if (option.startsWith("--schedule-seed=")) {
+                scheduleSeed = Long.parseLong(option.substring("--schedule-seed=".length()));
+            } else if (option.startsWith("--venues=")) {
+                venues = Integer.parseInt(option.substring("--venues=".length()));
+            } else if (option.startsWith("--explore=")) {
+                schedules = Integer.parseInt(option.substring("--explore=".length()));
+            } else if (option.startsWith("--alleys=")) {
+                alleys = option.substring("--alleys=".length());
+            } else if (option.startsWith("--cashiers=")) {
+                cashiers = option.substring("--cashiers=".length());
+            } else if (option.startsWith("--shoes=")) {
+                shoes = option.substring("--shoes=".length());
+            } else if (option.startsWith("--group-size=")) {
+                groupSizes = option.substring("--group-size=".length());
+            } else if (option.startsWith("--csv=")) {
+                csvPath = option.substring("--csv=".length());
+            } else if (option.startsWith("--trace-file=")) {
+                sinks.add(new BinaryFileSink(option.substring("--trace-file=".length())));
+            } else if (option.equals("--parties")) {
+                Group.VARIABLE_SIZE = true;
+            } else if (option.startsWith("--alley-assignment=")) {
+                BowlingArea.ALLEY_ASSIGNMENT = AlleyAssignment.valueOf(option.substring("--alley-assignment=".length()).toUpperCase().replace('-', '_'));
+            } else if (option.startsWith("--scheduling=")) {
+                DancingRoom.SCHEDULING_POLICY = SchedulingPolicy.valueOf(option.substring("--scheduling=".length()).toUpperCase().replace('-', '_'));
+            } else if (option.startsWith("--shoe-sizes=")) {
+                ShoeInventory.NUM_SIZES = Integer.parseInt(option.substring("--shoe-sizes=".length()));
+            } else if (option.startsWith("--shoe-employees=")) {
+                ShoesRoom.NUM_EMPLOYEES = Integer.parseInt(option.substring("--shoe-employees=".length()));
+            } else if (option.startsWith("--seats=")) {
+                BowlingArea.SEATS_PER_ALLEY = Integer.parseInt(option.substring("--seats=".length()));
+            } else if (option.startsWith("--replay=")) {
+                replayPath = option.substring("--replay=".length());
+            } else if (option.startsWith("--arrivals=")) {
+                arrivalProfile = option.substring("--arrivals=".length());
+            } else if (option.startsWith("--arrival-step=")) {
+                arrivalStep = Double.parseDouble(option.substring("--arrival-step=".length()));
+            } else if (option.startsWith("--party-sizes=")) {
+                partySizes = option.substring("--party-sizes=".length());
+            } else if (option.startsWith("--workload=")) {
+                workloadPath = option.substring("--workload=".length());
+            } else if (option.startsWith("--journal=")) {
+                journalPath = option.substring("--journal=".length());
+            } else if (option.startsWith("--restore=")) {
+                restorePath = option.substring("--restore=".length());
+            } else if (option.startsWith("--snapshot-interval=")) {
+                snapshotInterval = Long.parseLong(option.substring("--snapshot-interval=".length()));
+            } else if (option.startsWith("--max-clients=")) {
+                RegistrationDesk.MAX_CLIENTS_IN_VENUE = Integer.parseInt(option.substring("--max-clients=".length()));
+                /** Only parties are turned away, see {@link RegistrationDesk}. */
+                Group.VARIABLE_SIZE = true;
+            } else if (option.startsWith("--max-wait=")) {
+                RegistrationDesk.MAX_ESTIMATED_WAIT = Integer.parseInt(option.substring("--max-wait=".length()));
+                Group.VARIABLE_SIZE = true;
+            } else if (option.startsWith("--patience=")) {
+                Client.PATIENCE = Integer.parseInt(option.substring("--patience=".length()));
+            }
+        }
+
+        if (replayPath != null) {
+            runReplay(replayPath, options.contains("--verbose"), csvPath);
+            return;
+        }
+
+        if (options.contains("--plan")) {
+            CapacityPlanner planner = new CapacityPlanner(BowlingSimulation.NUM_CLIENTS, policy);
+            if (alleys != null) {
+                planner.setAlleys(CapacityPlanner.parseRange(alleys));
+            }
+            if (cashiers != null) {
+                planner.setCashiers(CapacityPlanner.parseRange(cashiers));
+            }
+            if (shoes != null) {
+                planner.setShoes(CapacityPlanner.parseRange(shoes));
+            }
+            if (groupSizes != null) {
+                planner.setGroupSizes(CapacityPlanner.parseRange(groupSizes));
+            }
+            runPlanner(planner, replications, seed, csvPath);
+            return;
+        }
+
+        if (replications > 0) {
+            ReplicationRunner runner = new ReplicationRunner(BowlingSimulation.NUM_CLIENTS, policy).setReplications(replications);
+            if (seed != null) {
+                runner.setSeed(seed);
+            }
+            long startNanos = System.nanoTime();
+            ReplicationSummary summary = runner.run();
+            long wallMillis = (System.nanoTime() - startNanos) / 1000000;
+
+            System.out.println(summary.getReplications() + " replications of " + BowlingSimulation.NUM_CLIENTS
+                    + " Clients (" + policy + ") in " + wallMillis + "ms on " + Runtime.getRuntime().availableProcessors() + " cores\n");
+            System.out.print(summary);
+            if (summary.getIncompleteReplications() > 0) {
+                System.out.println(summary.getIncompleteReplications() + " replications ended before every Client went home");
+            }
+            return;
+        }
+
+        if (schedules > 0) {
+            runExplorer(new InterleavingExplorer(BowlingSimulation.NUM_CLIENTS, policy, seed != null ? seed : System.nanoTime())
+                    .setSchedules(schedules));
+            return;
+        }
+
+        if (venues > 0) {
+            VenueConfig config = new VenueConfig();
+            if (alleys != null) {
+                config.setNumAlleys(Integer.parseInt(alleys));
+            }
+            if (cashiers != null) {
+                config.setNumCashiers(Integer.parseInt(cashiers));
+            }
+            if (shoes != null) {
+                config.setNumShoes(Integer.parseInt(shoes));
+            }
+            new MultiVenueSimulation(venues, BowlingSimulation.NUM_CLIENTS, seed != null ? seed : System.nanoTime(), policy, config)
+                    .setMigration(!options.contains("--no-migration"))
+                    .start();
+            return;
+        }
+
+        ArrivalSource arrivals = null;
+        ReservationLog workload = null;
+        if (workloadPath != null) {
+            /** The Groups are the parties of the log. */
+            Group.VARIABLE_SIZE = true;
+            workload = new ReservationLog(Paths.get(workloadPath), Group.MAX_SIZE);
+            arrivals = workload;
+        } else if (arrivalProfile != null) {
+            ArrivalProfile profile = ArrivalProfile.parse(arrivalProfile, (long) (arrivalStep * 1000));
+            if (partySizes != null) {
+                profile.setPartySizes(ArrivalProfile.parseNumbers(partySizes));
+            }
+            arrivals = new ArrivalGenerator(profile, seed != null ? seed : System.nanoTime(), Group.VARIABLE_SIZE, Group.MAX_SIZE);
+        }
+
+        if (restorePath != null) {
+            try (EventJournal journal = EventJournal.restore(Paths.get(restorePath))) {
+                journal.setFsync(options.contains("--fsync"));
+                if (snapshotInterval > 0) {
+                    journal.setSnapshotInterval(snapshotInterval);
+                }
+                journal.getSimulation().setVerbose(options.contains("--verbose"));
+                journal.getSimulation().start();
+            }
+            return;
+        }
+
+        if (options.contains("--discrete-event")) {
+            SplittableRandom random = seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+            DiscreteEventSimulation simulation = arrivals != null
+                    ? new DiscreteEventSimulation(arrivals, policy, new VenueConfig())
+                    : new DiscreteEventSimulation(BowlingSimulation.NUM_CLIENTS, random, policy);
+            if (scheduleSeed != null) {
+                simulation.setScheduleSeed(scheduleSeed);
+            }
+            simulation.setVerbose(options.contains("--verbose"));
+            if (journalPath != null) {
+                try (EventJournal journal = new EventJournal(Paths.get(journalPath))) {
+                    if (snapshotInterval > 0) {
+                        journal.setSnapshotInterval(snapshotInterval);
+                    }
+                    simulation.setJournal(journal.setFsync(options.contains("--fsync")));
+                    simulation.start();
+                }
+                return;
+            }
+            simulation.start();
+            if (workload != null) {
+                workload.close();
+            }
+            return;
+        }
+
+        ExecutionMode executionMode = options.contains("--virtual-threads") ? ExecutionMode.VIRTUAL : ExecutionMode.PLATFORM;
+        EventLog.setSinks(sinks.toArray(new EventSink[0]));
+        BowlingSimulation bowlingSimulation = new BowlingSimulation(executionMode, policy, arrivals);
+        if (seed != null) {
+            bowlingSimulation.setSeed(seed);
+        }
+        bowlingSimulation.start();
+        if (workload != null) {
+            workload.close();
+        }
+
+        /** Closes the trace file, if any. */
+        EventLog.setSinks();
+    }
+
+    private static void runReplay(String path, boolean verbose, String csvDirectory) throws IOException {
+        if (verbose) {
+            new TraceReader(path).replay(new ConsoleSink());
+        }
+        TraceReplay replay = new TraceReplay(100);
+        long startNanos = System.nanoTime();
+        new TraceReader(path).replay(replay);
+        long wallMillis = (System.nanoTime() - startNanos) / 1000000;
+
+        System.out.println("Replayed " + path + " in " + wallMillis + "ms");
+        System.out.print(replay.report());
+        if (csvDirectory != null) {
+            replay.writeCsv(Paths.get(csvDirectory));
+        }
+    }
+
+    private static void runExplorer(InterleavingExplorer explorer) {
+        long startNanos = System.nanoTime();
+        InterleavingExplorer.Result result = explorer.explore();
+        long wallMillis = (System.nanoTime() - startNanos) / 1000000;
+        long fifoTimeInVenue = InterleavingExplorer.getMaxTimeInVenue(explorer.runSchedule(null));
+
+        System.out.println(result.getSchedules() + " schedules (" + result.getDistinctTraces()
+                + " distinct traces) of arrival seed " + explorer.getArrivalSeed() + " explored in " + wallMillis + "ms");
+        System.out.println("Longest time in venue with FIFO order: " + fifoTimeInVenue + "ms");
+        System.out.println(String.format("Longest time in venue over all schedules: mean %.0fms, best %dms (--schedule-seed=%d), worst %dms (--schedule-seed=%d)",
+                result.getMaxTimeInVenue().getMean(), result.getBestTimeInVenue(), result.getBestScheduleSeed(),
+                result.getWorstTimeInVenue(), result.getWorstScheduleSeed()));
+    }
+
+    private static void runPlanner(CapacityPlanner planner, int replications, Long seed, String csvPath) throws IOException {
+        if (replications > 0) {
+            planner.setReplications(replications);
+        }
+        if (seed != null) {
+            planner.setSeed(seed);
+        }
+        long startNanos = System.nanoTime();
+        List<CapacityPlanner.Candidate> candidates = planner.run();
+        List<CapacityPlanner.Candidate> frontier = CapacityPlanner.paretoFrontier(candidates);
+        long wallMillis = (System.nanoTime() - startNanos) / 1000000;
+
+        System.out.println(candidates.size() + " configurations simulated, " + planner.getPruned()
+                + " pruned, in " + wallMillis + "ms. Pareto frontier:\n");
+        System.out.print(CapacityPlanner.toCsv(frontier, frontier));
+        if (csvPath != null) {
+            try (Writer writer = new FileWriter(csvPath)) {
+                writer.write(CapacityPlanner.toCsv(candidates, frontier));
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package actors;
+
+import stations.*;
+import utils.Group;
+import utils.ShoeInventory;
+import utils.ShoePair;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A Client is considered a Thread in our design. He visits the different
+ * rooms and desks in order to bowl with other Clients in his Group.
+ */
+public class Client implements Runnable {
+    /**
+     * Different times in milliseconds for waiting at different steps of the lifecycle
+     * of a thread. They exist to mimic reality a little.
+     *
+     * They are public because the discrete-event mode ({@link simulation.DiscreteEventSimulation})
+     * uses the very same times to advance its virtual clock. Borrowing and returning shoes takes
+     * as long as the {@link utils.VenuePolicy} says.
+     */
+    public static int MAX_DELAY_TIME = 10000;
+    public static int BOWLING_TIME = 3000;
+    public static int REGISTER_PAY_TIME = 1000;
+
+    /**
+     * How long a Group waits for an employee of the ShoesRoom or for a BowlingAlley before it
+     * gives up and goes home without bowling, in milliseconds like the times above. 0 to wait
+     * as long as it takes.
+     */
+    public static int PATIENCE = 0;
+
+    /**
+     * Every time above is divided by this factor when a Client actually waits, so the threaded
+     * simulation can run e.g. 100 or 10000 times faster with the same relative timings. The
+     * discrete-event mode doesn't need it since its clock is virtual anyway.
+     *
+     * At 1 Clients sleep for whole milliseconds. Otherwise they park for the exact number of
+     * nanoseconds, because most scaled times are below one millisecond.
+     */
+    public static double TIME_SCALE = 1;
+
+    /** Id of a Client. */
+    private int id;
+
+    /**
+     * The Group this Client got assigned to. The value will be determined at
+     * the RegistrationDesk during runtime.
+     */
+    private Group group;
+
+    /** The ShoePair given to a Client. Value will be assigned in ShoesRoom during runtime. */
+    private ShoePair shoePair;
+
+    /**
+     * In our design, every Client needs to know about the rooms/desk he has to visit.
+     */
+    private RegistrationDesk registrationDesk;
+    private ShoesRoom shoesRoom;
+    private DancingRoom dancingRoom;
+
+    /** Source of the random arrival delay. Seeded by {@link simulation.BowlingSimulation#setSeed(long)}. */
+    private SplittableRandom random;
+
+    /** Delay in milliseconds before the Client arrives, -1 to draw it between 0 and MAX_DELAY_TIME. */
+    private int arrivalDelay = -1;
+
+    /** Size of ShoePair the Client needs, -1 to derive it from his Id. */
+    private int shoeSize = -1;
+
+    public Client(int id) {
+        this.id = id;
+        random = new SplittableRandom();
+    }
+
+    @Override
+    public void run() {
+        /** Adds an initial delay between 0 and 10s so that Clients are a bit distributed over time. */
+        randomArrivalDelay();
+
+        /** Register at RegistrationDesk, unless the venue turns the Client away. */
+        if (!registrationDesk.register(this)) {
+            return;
+        }
+
+        /** Get shoes in ShoesRoom. The Group may give up waiting for an employee. */
+        if (!shoesRoom.requestBorrowingShoes(this)) {
+            registrationDesk.leave(this);
+            return;
+        }
+
+        /**
+         * Go to DanceRoom and dance until a BowlingAlley gets free AND is assigned to
+         * this Client's Group. If the Group gives up before, the Client drops his shoes
+         * on the way out.
+         */
+        BowlingAlley alley = dancingRoom.danceAndRequestAlley(this);
+        if (alley == null) {
+            registrationDesk.leave(this);
+            shoesRoom.dropShoes(this);
+            return;
+        }
+        alley.waitAtAlleyForGroup(this);
+        alley.play(this);
+
+        /** Forget notion of Group. From now on every Client acts as an individual. */
+        forgetAboutGroup();
+
+        /** Pay at RegistrationDesk. */
+        registrationDesk.chargeFee(this);
+
+        /** Return shoes in ShoesRoom. */
+        shoesRoom.requestReturningShoes(this);
+
+        /** go home */
+    }
+
+    public void waitAtRegistrationDesk() {
+        chill(REGISTER_PAY_TIME);
+    }
+
+    /** Borrows or returns a ShoePair, which takes as long as the policy of the ShoesRoom says. */
+    public void waitInShoesRoom() {
+        chill(shoesRoom.getPolicy().getBorrowReturnShoesTime());
+    }
+
+    /** Bowls for the game time of the Group, {@link #BOWLING_TIME} unless a party brought its own. */
+    public void bowl() {
+        chill(group.getGameTime());
+    }
+
+    private void randomArrivalDelay() {
+        int randomDelay = arrivalDelay >= 0 ? arrivalDelay : (int)(MAX_DELAY_TIME * random.nextDouble());
+        chill(randomDelay);
+    }
+
+    private void chill(int millis) {
+        if (TIME_SCALE == 1) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+            }
+            return;
+        }
+
+        /** parkNanos() may return early, so park again until the deadline is reached. */
+        long deadline = System.nanoTime() + scaledNanos(millis);
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Computed in floating point, an int product of milliseconds and 10^6 would overflow for
+     * anything longer than 2147ms.
+     *
+     * @return nanoseconds a Client actually waits for the given milliseconds, see {@link #TIME_SCALE}
+     */
+    public static long scaledNanos(long millis) {
+        return (long) (millis * 1e6 / TIME_SCALE);
+    }
+
+    public void borrowShoes(ShoePair shoePair) {
+        this.shoePair = shoePair;
+    }
+
+    public ShoePair returnShoes() {
+        return shoePair;
+    }
+
+    public void forgetShoes() {
+        this.shoePair = null;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /** @return the size of ShoePair this Client needs, see {@link ShoeInventory#shoeSizeOf(int)} */
+    public int getShoeSize() {
+        return shoeSize >= 0 ? shoeSize : ShoeInventory.shoeSizeOf(id);
+    }
+
+    /** Sets the size of ShoePair the Client needs, e.g. from a {@link utils.ReservationLog}, -1 to derive it from his Id. */
+    public Client setShoeSize(int shoeSize) {
+        this.shoeSize = shoeSize;
+        return this;
+    }
+
+    public Group getGroup() {
+        return group;
+    }
+
+    public void setGroup(Group group) {
+        this.group = group;
+    }
+
+    public void forgetAboutGroup() {
+        this.group = null;
+    }
+
+    public Client setRegistrationDesk(RegistrationDesk registrationDesk) {
+        this.registrationDesk = registrationDesk;
+        return this;
+    }
+
+    public Client setShoesRoom(ShoesRoom shoesRoom) {
+        this.shoesRoom = shoesRoom;
+        return this;
+    }
+
+    public Client setDancingRoom(DancingRoom dancingRoom) {
+        this.dancingRoom = dancingRoom;
+        return this;
+    }
+
+    public Client setRandom(SplittableRandom random) {
+        this.random = random;
+        return this;
+    }
+
+    /**
+     * Fixes the delay before the Client arrives instead of drawing it, e.g. 0 for a Client created
+     * by an {@link utils.ArrivalGenerator} at the moment he arrives.
+     */
+    public Client setArrivalDelay(int arrivalDelay) {
+        this.arrivalDelay = arrivalDelay;
+        return this;
+    }
+}
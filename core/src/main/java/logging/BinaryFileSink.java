@@ -0,0 +1,70 @@
+package logging;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes every event as a fixed-width binary record of {@link #RECORD_SIZE} bytes:
+ * <pre>
+ * long timestamp | byte station | byte kind | int clientId | int groupId | int value | int total
+ * </pre>
+ * All values are big-endian. The file has no header, so a trace is just a sequence of records
+ * that {@link TraceReader} reads back.
+ *
+ * The records are written into a memory-mapped region of the file, so writing a record is only a
+ * few stores into memory and no system call. Whenever a region is full, the next one is mapped.
+ * When the sink is closed, the file is cut to the records actually written.
+ */
+public class BinaryFileSink implements EventSink {
+    public static final int RECORD_SIZE = 8 + 1 + 1 + 4 * 4;
+
+    /** Size of the mapped regions, in records. */
+    private static final int REGION_RECORDS = 1 << 20;
+
+    private FileChannel channel;
+
+    /** Region of the file that is currently written to. */
+    private MappedByteBuffer region;
+
+    /** Position in the file at which {@code region} starts. */
+    private long regionStart;
+
+    public BinaryFileSink(String fileName) throws IOException {
+        channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        region = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) REGION_RECORDS * RECORD_SIZE);
+    }
+
+    @Override
+    public void write(long timestamp, Station station, EventKind kind, int clientId, int groupId, int value, int total) throws IOException {
+        if (region.remaining() < RECORD_SIZE) {
+            regionStart += region.position();
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, (long) REGION_RECORDS * RECORD_SIZE);
+        }
+        region.putLong(timestamp);
+        region.put((byte) station.ordinal());
+        region.put((byte) kind.ordinal());
+        region.putInt(clientId);
+        region.putInt(groupId);
+        region.putInt(value);
+        region.putInt(total);
+    }
+
+    /**
+     * Nothing to do: written records are in the page cache of the operating system already and
+     * visible to every reader of the file. Forcing them to disk on every flush would be slow.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /** Cuts off the mapped but unused end of the file. */
+    @Override
+    public void close() throws IOException {
+        channel.truncate(regionStart + region.position());
+        channel.close();
+    }
+}
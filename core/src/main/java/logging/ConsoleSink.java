@@ -0,0 +1,38 @@
+package logging;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+
+/**
+ * Prints every event as the same trace line the stations printed themselves before.
+ * The output is buffered and flushed whenever the writer thread runs out of events.
+ */
+public class ConsoleSink implements EventSink {
+    private PrintStream out;
+
+    public ConsoleSink() {
+        this(new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16), false));
+    }
+
+    public ConsoleSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(long timestamp, Station station, EventKind kind, int clientId, int groupId, int value, int total) {
+        out.println(kind.format(clientId, groupId, value, total));
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+
+    /** Only flushes, the underlying stream (usually stdout) stays open. */
+    @Override
+    public void close() {
+        out.flush();
+    }
+}
@@ -0,0 +1,78 @@
+package logging;
+
+/**
+ * Everything that can happen at a {@link Station}. Every kind knows how it was printed as a
+ * trace line before the stations published events (see {@link ConsoleSink}). The format
+ * arguments are: 1 = Client id, 2 = Group id, 3 = value, 4 = total.
+ */
+public enum EventKind {
+    /** At a {@link utils.GroupSynchronizer} or at the RegistrationDesk. */
+    GROUP_COMPLETE("Group(%2$d) is complete!"),
+
+    /** RegistrationDesk. */
+    PAID("Client(%1$d) just paid."),
+
+    /** ShoesRoom. Value/total are the available/all ShoePairs. */
+    BORROW_REQUESTED("---Client(%1$d) wants to borrow shoes."),
+    BORROW_WAITING("---Client(%1$d) has to wait for the employee or returners or another Group has priority or shoes (%3$d/%4$d) are insufficient."),
+    BORROWING("---Client(%1$d) can borrow shoes(%3$d/%4$d) now! (soon -1 !)"),
+    RETURNING("---Client(%1$d) returns his shoes now. He's done for today and goes home."),
+    /** Value is the number of returners still waiting. */
+    NEXT_RETURNER_NOTIFIED("---Client(%1$d) finished returning shoes. However there are another %3$d returner(s) waiting. We notify one returner."),
+    /** ShoesRoom without limited shoes (Part 1 and 2). */
+    GIVEN_NEW_SHOES("Client(%1$d) arrived in ShoesRoom and gets nice shoes."),
+    RETURNED_SHOES("Client(%1$d) returned to ShoesRoom and returned his shoes. He's done for today and goes home."),
+
+    /** DancingRoom. Value is the Id of the BowlingAlley. */
+    NO_ALLEY_FOR_GROUP("Client(%1$d) is disappointed because no BowlingAlley is free or another Group has priority."),
+    RETRYING_FOR_ALLEY("Client(%1$d) is hyped about a free BowlingAlley -- Trying to get it!"),
+    ALLEY_GRANTED("Client(%1$d) in Group(%2$d) can play on BowlingAlley(%3$d)."),
+    ALLEY_FREED_NOTIFIED("DancingRoom got notified that a BowlingAlley just got free!"),
+
+    /** BowlingArea. Value/total are the available/all BowlingAlleys. */
+    ALLEY_ASSIGNED("(BowlingArea): A free BowlingAlley just got assigned to a Group. Available BowlingAlleys now: %3$d/%4$d"),
+    ALLEY_RELEASED("(BowlingArea): A bowling game ended. Available BowlingAlleys now: %3$d/%4$d"),
+
+    /** BowlingAlley. Value is the Id of the BowlingAlley. */
+    WAITING_AT_ALLEY("Client(%1$d) is waiting for his Group(%2$d) at BowlingAlley(%3$d). But Group isn't complete yet."),
+    GROUP_AT_ALLEY("Client(%1$d) is waiting for his Group(%2$d) at BowlingAlley(%3$d). Now Group is complete!"),
+    BOWLING("Client(%1$d) in Group(%2$d) is bowling now on BowlingAlley(%3$d)!"),
+    GAME_OVER("Client(%1$d) informs BowlingArea that Group(%2$d)'s game is over now."),
+
+    /**
+     * Mark the beginning and the end of the visit of a Client. Appended at the end so the
+     * ordinals in older binary traces keep their meaning.
+     * RegistrationDesk, value of REGISTERED is the Id of the Cashier.
+     */
+    ARRIVED("Client(%1$d) arrived at the RegistrationDesk."),
+    REGISTERED("Client(%1$d) got assigned to Group(%2$d) by Cashier(%3$d)."),
+    /** ShoesRoom. */
+    WENT_HOME("Client(%1$d) went home."),
+
+    /**
+     * Admission control and reneging, appended for the same reason. RegistrationDesk, value and
+     * total are the admitted Clients and the estimated wait in milliseconds.
+     */
+    TURNED_AWAY("Client(%1$d) is turned away, %3$d Clients are in the venue and the estimated wait is %4$dms."),
+    /** ShoesRoom or DancingRoom, value is how long the Client waited in milliseconds. */
+    RENEGED("Client(%1$d) in Group(%2$d) gives up after waiting %3$dms and goes home.");
+
+    private static final EventKind[] KINDS = values();
+
+    /** {@link java.util.Formatter} pattern of the trace line. */
+    private final String pattern;
+
+    EventKind(String pattern) {
+        this.pattern = pattern;
+    }
+
+    /** @return the trace line of an event of this kind */
+    public String format(int clientId, int groupId, int value, int total) {
+        return String.format(pattern, clientId, groupId, value, total);
+    }
+
+    /** @return the EventKind with the given ordinal, used when reading events back */
+    public static EventKind of(int ordinal) {
+        return KINDS[ordinal];
+    }
+}
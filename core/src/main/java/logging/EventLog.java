@@ -0,0 +1,101 @@
+package logging;
+
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Entry point of the event logging. Stations publish what happens via
+ * {@link #publish(Station, EventKind, int, int, int, int)} instead of printing it. Publishing
+ * only writes a few fields into an {@link EventRingBuffer}, so it is cheap enough to be done
+ * while holding the lock of a station. A single background thread drains the buffer and hands
+ * the events to the {@link EventSink}s, by default a {@link ConsoleSink}.
+ */
+public final class EventLog {
+    /** Number of events the buffer holds, must be a power of two. */
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    /** How long the writer thread pauses when there are no events, in nanoseconds. */
+    private static final long IDLE_PAUSE = 100000;
+
+    private static final EventRingBuffer buffer = new EventRingBuffer(BUFFER_SIZE);
+
+    private static volatile EventSink[] sinks = {new ConsoleSink()};
+
+    /** Number of events that were drained and flushed to the sinks. */
+    private static volatile long flushed;
+
+    static {
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeEvents();
+            }
+        }, "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private EventLog() {
+    }
+
+    /**
+     * Publishes an event. Can be called from any thread at any time.
+     *
+     * @param station  where the event happened
+     * @param kind     what happened
+     * @param clientId Client the event belongs to, -1 if none
+     * @param groupId  Group the event belongs to, -1 if none
+     * @param value    kind specific value, see {@link EventKind}
+     * @param total    kind specific total, see {@link EventKind}
+     */
+    public static void publish(Station station, EventKind kind, int clientId, int groupId, int value, int total) {
+        buffer.publish(System.nanoTime(), station, kind, clientId, groupId, value, total);
+    }
+
+    public static void publish(Station station, EventKind kind, int clientId, int groupId) {
+        publish(station, kind, clientId, groupId, 0, 0);
+    }
+
+    /** Waits until every event published so far is written and flushed by the sinks. */
+    public static void flush() {
+        long target = buffer.getClaimed();
+        while (flushed < target) {
+            LockSupport.parkNanos(IDLE_PAUSE);
+        }
+    }
+
+    /**
+     * Replaces the sinks. The previous sinks are flushed and closed. Should be called while no
+     * station is publishing.
+     */
+    public static void setSinks(EventSink... newSinks) throws IOException {
+        flush();
+        EventSink[] oldSinks = sinks;
+        sinks = newSinks.clone();
+        for (EventSink sink : oldSinks) {
+            sink.close();
+        }
+    }
+
+    /** Loop of the writer thread. */
+    private static void writeEvents() {
+        while (true) {
+            EventSink[] currentSinks = sinks;
+            try {
+                if (buffer.drainTo(currentSinks) == 0) {
+                    long consumed = buffer.getConsumed();
+                    if (flushed < consumed) {
+                        for (EventSink sink : currentSinks) {
+                            sink.flush();
+                        }
+                        flushed = consumed;
+                    }
+                    LockSupport.parkNanos(IDLE_PAUSE);
+                }
+            } catch (IOException e) {
+                System.err.println("Event log could not write events: " + e);
+                flushed = buffer.getConsumed();
+            }
+        }
+    }
+}
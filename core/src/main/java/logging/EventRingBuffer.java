@@ -0,0 +1,112 @@
+package logging;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A pre-allocated ring buffer of events that many threads publish to and one thread drains.
+ * The fields of the events are kept in one array each, so publishing never allocates.
+ *
+ * No lock is involved: a publisher claims a sequence number with one atomic increment, fills
+ * the slot of that sequence and marks the slot as published. The reader only takes a slot
+ * once it is marked. If the buffer is full, publishers wait until the reader freed a slot.
+ */
+class EventRingBuffer {
+    private final int capacity;
+    private final int mask;
+
+    /** The fields of the events, indexed by slot. */
+    private final long[] timestamps;
+    private final byte[] stations;
+    private final byte[] kinds;
+    private final int[] clientIds;
+    private final int[] groupIds;
+    private final int[] values;
+    private final int[] totals;
+
+    /** Sequence number of the event that is published in each slot, -1 if none yet. */
+    private final AtomicLongArray published;
+
+    /** Next sequence number a publisher claims. */
+    private final AtomicLong claimed;
+
+    /** Next sequence number the reader takes. Only written by the reader. */
+    private volatile long consumed;
+
+    /**
+     * @param capacity number of slots, must be a power of two
+     */
+    EventRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        timestamps = new long[capacity];
+        stations = new byte[capacity];
+        kinds = new byte[capacity];
+        clientIds = new int[capacity];
+        groupIds = new int[capacity];
+        values = new int[capacity];
+        totals = new int[capacity];
+        published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        claimed = new AtomicLong();
+    }
+
+    /** Called by any thread. Only waits if the reader is a whole buffer behind. */
+    void publish(long timestamp, Station station, EventKind kind, int clientId, int groupId, int value, int total) {
+        long sequence = claimed.getAndIncrement();
+        while (sequence - consumed >= capacity) {
+            Thread.yield();
+        }
+
+        int slot = (int) sequence & mask;
+        timestamps[slot] = timestamp;
+        stations[slot] = (byte) station.ordinal();
+        kinds[slot] = (byte) kind.ordinal();
+        clientIds[slot] = clientId;
+        groupIds[slot] = groupId;
+        values[slot] = value;
+        totals[slot] = total;
+
+        /** Makes the writes above visible to the reader before the slot counts as published. */
+        published.lazySet(slot, sequence);
+    }
+
+    /**
+     * Hands every published event in order to the sinks. Must only be called by one thread.
+     *
+     * @return number of events drained
+     */
+    int drainTo(EventSink[] sinks) throws IOException {
+        long sequence = consumed;
+        int drained = 0;
+        int slot = (int) sequence & mask;
+        while (published.get(slot) == sequence) {
+            Station station = Station.of(stations[slot]);
+            EventKind kind = EventKind.of(kinds[slot]);
+            for (EventSink sink : sinks) {
+                sink.write(timestamps[slot], station, kind, clientIds[slot], groupIds[slot], values[slot], totals[slot]);
+            }
+            sequence++;
+            drained++;
+            consumed = sequence;
+            slot = (int) sequence & mask;
+        }
+        return drained;
+    }
+
+    /** @return the number of events claimed by publishers so far */
+    long getClaimed() {
+        return claimed.get();
+    }
+
+    /** @return the number of events drained so far */
+    long getConsumed() {
+        return consumed;
+    }
+}
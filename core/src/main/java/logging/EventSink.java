@@ -0,0 +1,41 @@
+package logging;
+
+import java.io.IOException;
+
+/**
+ * Destination of the events drained from the {@link EventRingBuffer}. All methods are only
+ * called by the single writer thread of the {@link EventLog}, so implementations don't need
+ * to be thread-safe.
+ */
+public interface EventSink {
+    /** Sink that throws every event away, e.g. for benchmarks. */
+    EventSink DISCARD = new EventSink() {
+        @Override
+        public void write(long timestamp, Station station, EventKind kind, int clientId, int groupId, int value, int total) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * @param timestamp {@link System#nanoTime()} at which the event was published
+     * @param station   where the event happened
+     * @param kind      what happened
+     * @param clientId  Client the event belongs to, -1 if none
+     * @param groupId   Group the event belongs to, -1 if none
+     * @param value     kind specific value, see {@link EventKind}
+     * @param total     kind specific total, see {@link EventKind}
+     */
+    void write(long timestamp, Station station, EventKind kind, int clientId, int groupId, int value, int total) throws IOException;
+
+    /** Called whenever the writer thread ran out of events. */
+    void flush() throws IOException;
+
+    void close() throws IOException;
+}
@@ -0,0 +1,19 @@
+package logging;
+
+/**
+ * The places in the venue at which events are published.
+ */
+public enum Station {
+    REGISTRATION_DESK,
+    SHOES_ROOM,
+    DANCING_ROOM,
+    BOWLING_AREA,
+    BOWLING_ALLEY;
+
+    private static final Station[] STATIONS = values();
+
+    /** @return the Station with the given ordinal, used when reading events back */
+    public static Station of(int ordinal) {
+        return STATIONS[ordinal];
+    }
+}
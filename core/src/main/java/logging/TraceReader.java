@@ -0,0 +1,55 @@
+package logging;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a trace written by a {@link BinaryFileSink} back and hands every record to an
+ * {@link EventSink}, in the order they were written. The file is read in one pass through
+ * memory-mapped windows, so traces of many gigabytes need no more memory than one window.
+ *
+ * With a {@link ConsoleSink} a binary trace is printed as the text trace it replaces.
+ */
+public class TraceReader {
+    /** Size of the mapped windows, in records. */
+    private static final int WINDOW_RECORDS = 1 << 21;
+
+    private final String fileName;
+
+    public TraceReader(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Feeds every record of the trace to {@code sink} and closes the sink at the end.
+     *
+     * @return number of records read
+     */
+    public long replay(EventSink sink) throws IOException {
+        long records = 0;
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            long size = channel.size() - channel.size() % BinaryFileSink.RECORD_SIZE;
+            long windowSize = (long) WINDOW_RECORDS * BinaryFileSink.RECORD_SIZE;
+
+            for (long position = 0; position < size; position += windowSize) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, size - position));
+                while (window.hasRemaining()) {
+                    long timestamp = window.getLong();
+                    Station station = Station.of(window.get());
+                    EventKind kind = EventKind.of(window.get());
+                    int clientId = window.getInt();
+                    int groupId = window.getInt();
+                    int value = window.getInt();
+                    int total = window.getInt();
+                    sink.write(timestamp, station, kind, clientId, groupId, value, total);
+                    records++;
+                }
+            }
+        }
+        sink.close();
+        return records;
+    }
+}
@@ -0,0 +1,340 @@
+package logging;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Reconstructs what happened in a run from its events alone, without simulating again:
+ * <ul>
+ *     <li>the timeline of every Client (when he arrived, registered, got shoes, ...),</li>
+ *     <li>how many Clients were at every Station over time,</li>
+ *     <li>which Group played on which BowlingAlley from when to when.</li>
+ * </ul>
+ * The events are consumed one by one in a single pass (see {@link TraceReader}), so the memory
+ * needed grows with the number of Clients, Groups and time buckets but not with the length of
+ * the trace. All times are in nanoseconds since the first event.
+ *
+ * A Client is counted at the Station of his latest event until he went home.
+ */
+public class TraceReplay implements EventSink {
+    /** The points in the visit of a Client that are recorded. */
+    public enum Milestone {
+        ARRIVED, REGISTERED, GOT_SHOES, ALLEY_GRANTED, BOWLING, PAID, WENT_HOME;
+
+        /** @return the milestone an event of {@code kind} marks, null if none */
+        static Milestone of(EventKind kind) {
+            switch (kind) {
+                case ARRIVED:
+                    return ARRIVED;
+                case REGISTERED:
+                    return REGISTERED;
+                case BORROWING:
+                case GIVEN_NEW_SHOES:
+                    return GOT_SHOES;
+                case ALLEY_GRANTED:
+                    return ALLEY_GRANTED;
+                case BOWLING:
+                    return BOWLING;
+                case PAID:
+                    return PAID;
+                case WENT_HOME:
+                    return WENT_HOME;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static final Milestone[] MILESTONES = Milestone.values();
+    private static final Station[] STATIONS = Station.values();
+
+    /** Marks a milestone that wasn't reached (yet). */
+    private static final long NONE = -1;
+
+    /** Width of the occupancy time buckets. */
+    private final long bucketNanos;
+
+    private long firstTimestamp = NONE;
+    private long lastTime;
+    private long events;
+
+    /** milestones[m][clientId] = time at which the Client reached milestone m. */
+    private long[][] milestones = new long[MILESTONES.length][0];
+
+    /** Ordinal of the Station each Client is at, -1 before he arrived and after he went home. */
+    private byte[] location = new byte[0];
+    private int maxClientId = -1;
+
+    /** Clients currently at each Station and the maximum per time bucket. */
+    private final int[] occupancy = new int[STATIONS.length];
+    private int[][] peakOccupancy = new int[STATIONS.length][0];
+    private int currentBucket = -1;
+
+    /** Per Group: BowlingAlley, start and end of the game. */
+    private int[] alleyOfGroup = new int[0];
+    private long[] gameStart = new long[0];
+    private long[] gameEnd = new long[0];
+    private int maxGroupId = -1;
+
+    /** @param bucketMillis width of the time buckets of the occupancy series */
+    public TraceReplay(long bucketMillis) {
+        this.bucketNanos = bucketMillis * 1000000;
+    }
+
+    @Override
+    public void write(long timestamp, Station station, EventKind kind, int clientId, int groupId, int value, int total) {
+        if (firstTimestamp == NONE) {
+            firstTimestamp = timestamp;
+        }
+        /** Events of different threads may be published slightly out of order, time never runs backwards here. */
+        long time = Math.max(lastTime, timestamp - firstTimestamp);
+        lastTime = time;
+        events++;
+        advanceBuckets(time);
+
+        if (clientId >= 0) {
+            ensureClient(clientId);
+            Milestone milestone = Milestone.of(kind);
+            if (milestone != null && milestones[milestone.ordinal()][clientId] == NONE) {
+                milestones[milestone.ordinal()][clientId] = time;
+            }
+            moveClient(clientId, kind == EventKind.WENT_HOME ? -1 : station.ordinal());
+        }
+
+        if (groupId >= 0) {
+            ensureGroup(groupId);
+            if (kind == EventKind.ALLEY_GRANTED) {
+                alleyOfGroup[groupId] = value;
+            } else if (kind == EventKind.BOWLING && gameStart[groupId] == NONE) {
+                gameStart[groupId] = time;
+            } else if (kind == EventKind.GAME_OVER) {
+                gameEnd[groupId] = time;
+            }
+        }
+    }
+
+    private void moveClient(int clientId, int station) {
+        int previous = location[clientId];
+        if (previous == station) {
+            return;
+        }
+        if (previous >= 0) {
+            occupancy[previous]--;
+        }
+        if (station >= 0) {
+            occupancy[station]++;
+            int[] peaks = peakOccupancy[station];
+            peaks[currentBucket] = Math.max(peaks[currentBucket], occupancy[station]);
+        }
+        location[clientId] = (byte) station;
+    }
+
+    /** Starts every bucket up to the one of {@code time} with the current occupancy. */
+    private void advanceBuckets(long time) {
+        int bucket = (int) (time / bucketNanos);
+        if (bucket <= currentBucket) {
+            return;
+        }
+        if (bucket >= peakOccupancy[0].length) {
+            int length = Math.max(bucket + 1, 2 * peakOccupancy[0].length);
+            for (int s = 0; s < STATIONS.length; s++) {
+                peakOccupancy[s] = Arrays.copyOf(peakOccupancy[s], length);
+            }
+        }
+        for (int b = currentBucket + 1; b <= bucket; b++) {
+            for (int s = 0; s < STATIONS.length; s++) {
+                peakOccupancy[s][b] = occupancy[s];
+            }
+        }
+        currentBucket = bucket;
+    }
+
+    private void ensureClient(int clientId) {
+        maxClientId = Math.max(maxClientId, clientId);
+        if (clientId < location.length) {
+            return;
+        }
+        int length = Math.max(clientId + 1, 2 * location.length);
+        for (int m = 0; m < MILESTONES.length; m++) {
+            int oldLength = milestones[m].length;
+            milestones[m] = Arrays.copyOf(milestones[m], length);
+            Arrays.fill(milestones[m], oldLength, length, NONE);
+        }
+        int oldLength = location.length;
+        location = Arrays.copyOf(location, length);
+        Arrays.fill(location, oldLength, length, (byte) -1);
+    }
+
+    private void ensureGroup(int groupId) {
+        maxGroupId = Math.max(maxGroupId, groupId);
+        if (groupId < alleyOfGroup.length) {
+            return;
+        }
+        int oldLength = alleyOfGroup.length;
+        int length = Math.max(groupId + 1, 2 * oldLength);
+        alleyOfGroup = Arrays.copyOf(alleyOfGroup, length);
+        gameStart = Arrays.copyOf(gameStart, length);
+        gameEnd = Arrays.copyOf(gameEnd, length);
+        Arrays.fill(alleyOfGroup, oldLength, length, -1);
+        Arrays.fill(gameStart, oldLength, length, NONE);
+        Arrays.fill(gameEnd, oldLength, length, NONE);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    /** @return time of the last event */
+    public long getDuration() {
+        return lastTime;
+    }
+
+    public int getNumClients() {
+        return maxClientId + 1;
+    }
+
+    /** @return time at which the Client reached the milestone, -1 if he didn't */
+    public long getTime(int clientId, Milestone milestone) {
+        return milestones[milestone.ordinal()][clientId];
+    }
+
+    /** @return the BowlingAlley the Group played on, -1 if none */
+    public int getAlley(int groupId) {
+        return alleyOfGroup[groupId];
+    }
+
+    /** @return mean time between two milestones over the Clients that reached both, in milliseconds */
+    public double getMeanMillis(Milestone from, Milestone to) {
+        long total = 0;
+        int count = 0;
+        for (int clientId = 0; clientId < getNumClients(); clientId++) {
+            long start = getTime(clientId, from);
+            long end = getTime(clientId, to);
+            if (start != NONE && end != NONE) {
+                total += end - start;
+                count++;
+            }
+        }
+        return count == 0 ? 0 : total / 1e6 / count;
+    }
+
+    /** Phase durations, peak occupancy of every Station and usage of every BowlingAlley. */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        int groups = 0;
+        for (int g = 0; g <= maxGroupId; g++) {
+            if (alleyOfGroup[g] >= 0) {
+                groups++;
+            }
+        }
+        report.append(String.format(Locale.ROOT, "%d events of %d Clients and %d Groups over %.3fs%n%n",
+                events, getNumClients(), groups, lastTime / 1e9));
+
+        report.append(String.format("%-30s | %12s%n", "Phase", "Mean (ms)"));
+        for (int m = 1; m < MILESTONES.length; m++) {
+            String phase = MILESTONES[m - 1] + " -> " + MILESTONES[m];
+            report.append(String.format(Locale.ROOT, "%-30s | %12.1f%n", phase, getMeanMillis(MILESTONES[m - 1], MILESTONES[m])));
+        }
+        report.append(String.format(Locale.ROOT, "%-30s | %12.1f%n%n", "Time in venue",
+                getMeanMillis(Milestone.ARRIVED, Milestone.WENT_HOME)));
+
+        report.append(String.format("%-20s | %10s | %10s%n", "Station", "Peak", "Mean"));
+        for (int s = 0; s < STATIONS.length; s++) {
+            int peak = 0;
+            long sum = 0;
+            for (int b = 0; b <= currentBucket; b++) {
+                peak = Math.max(peak, peakOccupancy[s][b]);
+                sum += peakOccupancy[s][b];
+            }
+            report.append(String.format(Locale.ROOT, "%-20s | %10d | %10.2f%n", STATIONS[s], peak,
+                    currentBucket < 0 ? 0.0 : (double) sum / (currentBucket + 1)));
+        }
+        report.append('\n');
+
+        int numAlleys = 0;
+        for (int g = 0; g <= maxGroupId; g++) {
+            numAlleys = Math.max(numAlleys, alleyOfGroup[g] + 1);
+        }
+        int[] games = new int[numAlleys];
+        long[] busy = new long[numAlleys];
+        for (int g = 0; g <= maxGroupId; g++) {
+            int alley = alleyOfGroup[g];
+            if (alley >= 0 && gameStart[g] != NONE && gameEnd[g] != NONE) {
+                games[alley]++;
+                busy[alley] += gameEnd[g] - gameStart[g];
+            }
+        }
+        report.append(String.format("%-20s | %10s | %14s%n", "BowlingAlley", "Games", "Utilization %"));
+        for (int alley = 0; alley < numAlleys; alley++) {
+            report.append(String.format(Locale.ROOT, "%-20s | %10d | %14.1f%n", "BowlingAlley(" + alley + ")", games[alley],
+                    lastTime == 0 ? 0.0 : 100.0 * busy[alley] / lastTime));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes {@code clients.csv} (one timeline per Client), {@code occupancy.csv} (peak number of
+     * Clients per Station and time bucket) and {@code alleys.csv} (one game per Group) into
+     * {@code directory}. Times are in milliseconds, empty if a milestone wasn't reached.
+     */
+    public void writeCsv(Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        try (Writer writer = Files.newBufferedWriter(directory.resolve("clients.csv"))) {
+            writer.write("client");
+            for (Milestone milestone : MILESTONES) {
+                writer.write(',' + milestone.name().toLowerCase(Locale.ROOT));
+            }
+            writer.write('\n');
+            for (int clientId = 0; clientId < getNumClients(); clientId++) {
+                writer.write(Integer.toString(clientId));
+                for (Milestone milestone : MILESTONES) {
+                    long time = getTime(clientId, milestone);
+                    writer.write(time == NONE ? "," : "," + toMillis(time));
+                }
+                writer.write('\n');
+            }
+        }
+
+        try (Writer writer = Files.newBufferedWriter(directory.resolve("occupancy.csv"))) {
+            writer.write("timeMs");
+            for (Station station : STATIONS) {
+                writer.write(',' + station.name().toLowerCase(Locale.ROOT));
+            }
+            writer.write('\n');
+            for (int b = 0; b <= currentBucket; b++) {
+                writer.write(toMillis(b * bucketNanos));
+                for (int s = 0; s < STATIONS.length; s++) {
+                    writer.write("," + peakOccupancy[s][b]);
+                }
+                writer.write('\n');
+            }
+        }
+
+        try (Writer writer = Files.newBufferedWriter(directory.resolve("alleys.csv"))) {
+            writer.write("group,alley,startMs,endMs\n");
+            for (int g = 0; g <= maxGroupId; g++) {
+                if (alleyOfGroup[g] >= 0) {
+                    writer.write(g + "," + alleyOfGroup[g] + "," + (gameStart[g] == NONE ? "" : toMillis(gameStart[g]))
+                            + "," + (gameEnd[g] == NONE ? "" : toMillis(gameEnd[g])) + "\n");
+                }
+            }
+        }
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,30 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Number of Clients to whom something happened at a station, e.g. how many were turned away at the
+ * RegistrationDesk. Like the histograms and gauges it can be incremented while a station lock is
+ * held and read at any time.
+ */
+public class ClientCounter {
+    private final String name;
+    private final AtomicLong count;
+
+    public ClientCounter(String name) {
+        this.name = name;
+        count = new AtomicLong();
+    }
+
+    public void increment() {
+        count.incrementAndGet();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+}
@@ -0,0 +1,46 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Number of Clients currently waiting in one queue of a station, together with the highest
+ * number seen so far. Clients call {@link #enter()} before they wait and {@link #leave()} once
+ * they may go on, so the gauge can be read at any time while the simulation runs.
+ */
+public class QueueDepthGauge {
+    private final String name;
+    private final AtomicInteger depth;
+    private final AtomicInteger maxDepth;
+
+    public QueueDepthGauge(String name) {
+        this.name = name;
+        depth = new AtomicInteger();
+        maxDepth = new AtomicInteger();
+    }
+
+    public void enter() {
+        int newDepth = depth.incrementAndGet();
+        int currentMax = maxDepth.get();
+        while (newDepth > currentMax && !maxDepth.compareAndSet(currentMax, newDepth)) {
+            currentMax = maxDepth.get();
+        }
+    }
+
+    public void leave() {
+        depth.decrementAndGet();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** @return number of Clients waiting right now */
+    public int getDepth() {
+        return depth.get();
+    }
+
+    /** @return highest number of Clients that waited at the same time */
+    public int getMaxDepth() {
+        return maxDepth.get();
+    }
+}
@@ -0,0 +1,107 @@
+package metrics;
+
+import logging.Station;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The latency histograms and queue-depth gauges of one station. A station creates them once
+ * with {@link #newHistogram(String)} and {@link #newGauge(String)} and records into them while
+ * the Clients pass; {@link #toTable(List)} prints all of them at the end of a simulation.
+ * Stations that may turn Clients away or lose them create {@link ClientCounter}s as well.
+ */
+public class StationMetrics {
+    private final String station;
+    private final List<LatencyHistogram> histograms;
+    private final List<QueueDepthGauge> gauges;
+    private final List<ClientCounter> counters;
+
+    public StationMetrics(Station station) {
+        this.station = displayName(station);
+        histograms = new ArrayList<>();
+        gauges = new ArrayList<>();
+        counters = new ArrayList<>();
+    }
+
+    /** REGISTRATION_DESK becomes RegistrationDesk, like the class of the station. */
+    private static String displayName(Station station) {
+        StringBuilder name = new StringBuilder();
+        for (String word : station.name().split("_")) {
+            name.append(word.charAt(0)).append(word.substring(1).toLowerCase());
+        }
+        return name.toString();
+    }
+
+    public LatencyHistogram newHistogram(String name) {
+        LatencyHistogram histogram = new LatencyHistogram(name);
+        histograms.add(histogram);
+        return histogram;
+    }
+
+    public QueueDepthGauge newGauge(String name) {
+        QueueDepthGauge gauge = new QueueDepthGauge(name);
+        gauges.add(gauge);
+        return gauge;
+    }
+
+    public ClientCounter newCounter(String name) {
+        ClientCounter counter = new ClientCounter(name);
+        counters.add(counter);
+        return counter;
+    }
+
+    public String getStation() {
+        return station;
+    }
+
+    public List<LatencyHistogram> getHistograms() {
+        return histograms;
+    }
+
+    public List<QueueDepthGauge> getGauges() {
+        return gauges;
+    }
+
+    public List<ClientCounter> getCounters() {
+        return counters;
+    }
+
+    /**
+     * Formats the waiting times (in milliseconds) and the queue depths of all stations as a
+     * table, one row per histogram and gauge. Counters follow if any station has them.
+     */
+    public static String toTable(List<StationMetrics> stations) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-16s | %-22s | %7s | %9s | %9s | %9s | %9s%n",
+                "Station", "Wait", "Count", "Mean ms", "p50 ms", "p99 ms", "Max ms"));
+        for (StationMetrics metrics : stations) {
+            for (LatencyHistogram histogram : metrics.histograms) {
+                table.append(String.format("%-16s | %-22s | %7d | %9.3f | %9.3f | %9.3f | %9.3f%n",
+                        metrics.station, histogram.getName(), histogram.getCount(),
+                        histogram.getMean() / 1e6, histogram.getPercentile(50) / 1e6,
+                        histogram.getPercentile(99) / 1e6, histogram.getMax() / 1e6));
+            }
+        }
+
+        table.append(String.format("%n%-16s | %-22s | %7s | %9s%n", "Station", "Queue", "Now", "Max"));
+        for (StationMetrics metrics : stations) {
+            for (QueueDepthGauge gauge : metrics.gauges) {
+                table.append(String.format("%-16s | %-22s | %7d | %9d%n",
+                        metrics.station, gauge.getName(), gauge.getDepth(), gauge.getMaxDepth()));
+            }
+        }
+
+        boolean header = false;
+        for (StationMetrics metrics : stations) {
+            for (ClientCounter counter : metrics.counters) {
+                if (!header) {
+                    table.append(String.format("%n%-16s | %-22s | %7s%n", "Station", "Clients", "Count"));
+                    header = true;
+                }
+                table.append(String.format("%-16s | %-22s | %7d%n", metrics.station, counter.getName(), counter.getCount()));
+            }
+        }
+        return table.toString();
+    }
+}
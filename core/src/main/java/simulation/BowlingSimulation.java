@@ -0,0 +1,302 @@
+package simulation;
+
+import actors.Client;
+import logging.EventLog;
+import metrics.StationMetrics;
+import stations.BowlingArea;
+import stations.DancingRoom;
+import stations.RegistrationDesk;
+import stations.ShoesRoom;
+import utils.ArrivalSource;
+import utils.ContentionSampler;
+import utils.ExecutionMode;
+import utils.Group;
+import utils.VenuePolicy;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class is responsible for setting up the system and create the Client-threads
+ *
+ * By default all {@link #NUM_CLIENTS} Clients and their threads are created up front. With an
+ * {@link ArrivalSource} the Clients are created when they arrive instead and nothing refers to
+ * them after they left, so only the Clients in the venue take memory and threads.
+ */
+public class BowlingSimulation {
+    /** Number of Groups == number of bowling matches played */
+    public static int NUM_GROUPS = 10;
+
+    /** Number of Client-threads that are executed. */
+    public static int NUM_CLIENTS = Group.MAX_SIZE * NUM_GROUPS;
+
+    /** Time between two samples of the {@link ContentionSampler} in nanoseconds. */
+    private static final long CONTENTION_SAMPLE_PERIOD = 100000;
+
+    /**
+     * The rooms/desk a Client has to go through. In our design he will have to know
+     * about these in order to proceed.
+     */
+    private RegistrationDesk registrationDesk;
+    private ShoesRoom shoesRoom;
+    private DancingRoom dancingRoom;
+
+    /**
+     * List of Client-threads that are created and started. We need these references of the
+     * threads in order to join() them at the very end to print the successful runthrough of
+     * our simulation.
+     */
+    private List<Thread> clientThreads;
+
+    /** The Clients running on {@code clientThreads}, indexed by their Id. */
+    private List<Client> clients;
+
+    /** Kind of threads the Clients run on. */
+    private ExecutionMode executionMode;
+
+    /** The rules the stations follow. */
+    private VenuePolicy policy;
+
+    /** Samples how many Clients queue for the locks of the stations while the simulation runs. */
+    private ContentionSampler contentionSampler;
+
+    /** Open-loop arrivals, null if the Clients are created up front. */
+    private ArrivalSource arrivals;
+
+    /** Number of Clients created so far. */
+    private int numClients;
+
+    /** Clients of the open-loop arrivals whose threads didn't end yet, including those turned away. */
+    private int clientsInVenue;
+
+    public BowlingSimulation() {
+        this(ExecutionMode.PLATFORM);
+    }
+
+    public BowlingSimulation(ExecutionMode executionMode) {
+        this(executionMode, VenuePolicy.PART3);
+    }
+
+    public BowlingSimulation(ExecutionMode executionMode, VenuePolicy policy) {
+        this(executionMode, policy, null);
+    }
+
+    /**
+     * @param arrivals creates the Clients when they arrive, null to create {@link #NUM_CLIENTS}
+     *                 Clients right away that arrive within {@link Client#MAX_DELAY_TIME}
+     */
+    public BowlingSimulation(ExecutionMode executionMode, VenuePolicy policy, ArrivalSource arrivals) {
+        this.executionMode = executionMode;
+        this.policy = policy;
+        this.arrivals = arrivals;
+
+        /** Create RegistrationDesk, ShoesRoom, DancingRoom, BowlingArea with BowlingAlleys. */
+        registrationDesk = new RegistrationDesk(policy);
+        shoesRoom = new ShoesRoom(policy);
+        dancingRoom = new DancingRoom(policy);
+
+        contentionSampler = new ContentionSampler(CONTENTION_SAMPLE_PERIOD)
+                .add("RegistrationDesk", registrationDesk)
+                .add("ShoesRoom", shoesRoom)
+                .add("DancingRoom", dancingRoom)
+                .add("BowlingAlleys", dancingRoom.getBowlingArea());
+
+        /** Create Client threads (don't start them right away). */
+        clientThreads = new ArrayList<>();
+        clients = new ArrayList<>();
+        if (arrivals != null) {
+            return;
+        }
+        for (int i = 0; i < NUM_CLIENTS; i++) {
+            Client client = newClient();
+            clients.add(client);
+            clientThreads.add(executionMode.newThread(client, "Client-" + i));
+        }
+        if (Group.VARIABLE_SIZE) {
+            formParties(new SplittableRandom());
+        }
+    }
+
+    /** @return a new Client with the next Id, who knows the stations */
+    private Client newClient() {
+        return new Client(numClients++)
+                .setRegistrationDesk(registrationDesk)
+                .setShoesRoom(shoesRoom)
+                .setDancingRoom(dancingRoom);
+    }
+
+    /**
+     * Splits the Clients into parties of random size (see {@link Group#VARIABLE_SIZE}). The Clients
+     * of a party get a source of randomness with the same seed, so they draw the same arrival
+     * delay and arrive together.
+     */
+    private void formParties(SplittableRandom random) {
+        int next = 0;
+        for (Group party : Group.newParties(NUM_CLIENTS, Group.MAX_SIZE, random)) {
+            long arrivalSeed = random.nextLong();
+            for (int i = 0; i < party.getMaxSize(); i++) {
+                Client client = clients.get(next++);
+                client.setGroup(party);
+                client.setRandom(new SplittableRandom(arrivalSeed));
+            }
+        }
+    }
+
+    /**
+     * Makes the arrival delays of the Clients reproducible: every Client gets his own
+     * {@link SplittableRandom}, split off one seeded with {@code seed} in the order of the Ids.
+     * The order in which the threads get the locks of the stations is still up to the operating
+     * system; the discrete-event mode is the one that is fully reproducible. Open-loop arrivals
+     * are seeded by their {@link utils.ArrivalGenerator}.
+     */
+    public BowlingSimulation setSeed(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (Client client : clients) {
+            client.setRandom(random.split());
+        }
+        if (Group.VARIABLE_SIZE && arrivals == null) {
+            formParties(random.split());
+        }
+        return this;
+    }
+
+    /** Starts the bowling simulation by starting the previously created threads. */
+    public void start() {
+        System.out.println("Bowling simulation started.\n---------------------------");
+        long startNanos = System.nanoTime();
+        contentionSampler.start();
+
+        if (arrivals != null) {
+            letClientsArrive(startNanos);
+        } else {
+            /** Start Client threads. */
+            clientThreads.forEach(t -> t.start());
+
+            /** Wait until every Client finished. */
+            clientThreads.forEach(t -> {
+                try {
+                    t.join();
+                } catch (InterruptedException e) {
+                }
+            });
+        }
+
+        try {
+            contentionSampler.stop();
+        } catch (InterruptedException e) {
+        }
+
+        /** The stations only published their events, make sure all of them are written. */
+        EventLog.flush();
+
+        long wallMillis = (System.nanoTime() - startNanos) / 1000000;
+        System.out.println("-------------------------\nBowling simulation ended.");
+
+        /** Where the Clients spent their time, instead of only repeating the configuration. */
+        System.out.println(policy + ": " + numClients + " Clients in " + (Group.VARIABLE_SIZE ? "parties of 1 to " : "Groups of ")
+                + Group.MAX_SIZE + ", " + policy.getNumCashiers() + " Cashiers, "
+                + (policy.hasLimitedShoes() ? shoesRoom.getShoes().getNumShoes() + " ShoePairs" + (shoesRoom.getShoes().getNumSizes() > 1 ? " in " + shoesRoom.getShoes().getNumSizes() + " sizes, " : ", ") : "unlimited ShoePairs, ")
+                + BowlingArea.NUM_ALLEYS + " BowlingAlleys (" + BowlingArea.ALLEY_ASSIGNMENT + "), " + executionMode
+                + " threads, time scale " + Client.TIME_SCALE + "x\n");
+        System.out.println(StationMetrics.toTable(getMetrics()));
+        if (arrivals != null) {
+            System.out.println("Open-loop arrivals: " + arrivals + ", at most " + getPeakClientsInVenue() + " Clients in the venue at once");
+        }
+        System.out.println("Mean lock queue length: " + contentionSampler);
+        if (policy.hasLimitedShoes() && shoesRoom.getShoes().getNumSizes() > 1) {
+            System.out.println("Reservations of ShoePairs that failed on a size out of stock: " + shoesRoom.getShoes().getStockOuts());
+        }
+        System.out.println("Wall-clock time: " + wallMillis + "ms");
+        System.out.println("Peak resident memory: " + readPeakResidentMemory());
+    }
+
+    /**
+     * Creates the Clients of the open-loop arrivals when their time comes (scaled like every
+     * other time) and starts their threads, then waits until the last of them went home.
+     */
+    private void letClientsArrive(long startNanos) {
+        int nextPartyId = 1;
+        while (arrivals.next()) {
+            long deadline = startNanos + Client.scaledNanos(arrivals.getTime());
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+
+            Group party = Group.VARIABLE_SIZE
+                    ? new Group(nextPartyId++, arrivals.getPartySize()).setGameTime(arrivals.getGameTime()) : null;
+            for (int i = 0; i < arrivals.getPartySize(); i++) {
+                Client client = newClient().setArrivalDelay(0).setShoeSize(arrivals.getShoeSize(i));
+                client.setGroup(party);
+                clientArrived();
+                executionMode.newThread(() -> {
+                    client.run();
+                    clientLeft();
+                }, "Client-" + client.getId()).start();
+            }
+        }
+
+        synchronized (this) {
+            while (clientsInVenue > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                }
+            }
+        }
+    }
+
+    private synchronized void clientArrived() {
+        clientsInVenue++;
+    }
+
+    private synchronized void clientLeft() {
+        clientsInVenue--;
+        if (clientsInVenue == 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Counted by the RegistrationDesk, so Clients it turns away (see {@link RegistrationDesk#MAX_CLIENTS_IN_VENUE})
+     * are left out.
+     *
+     * @return the most Clients that were admitted to the venue and didn't pay yet at once
+     */
+    public int getPeakClientsInVenue() {
+        return registrationDesk.getPeakAdmittedClients();
+    }
+
+    /** @return the waiting times and queue depths of every station, in the order Clients pass them */
+    public List<StationMetrics> getMetrics() {
+        return Arrays.asList(registrationDesk.getMetrics(), shoesRoom.getMetrics(),
+                dancingRoom.getMetrics(), dancingRoom.getBowlingArea().getMetrics());
+    }
+
+    public ContentionSampler getContentionSampler() {
+        return contentionSampler;
+    }
+
+    /**
+     * Reads the peak resident set size of this process from {@code /proc/self/status}. This is
+     * only available on Linux, elsewhere "unknown" is returned.
+     */
+    private static String readPeakResidentMemory() {
+        try (BufferedReader reader = new BufferedReader(new FileReader("/proc/self/status"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("VmHWM:")) {
+                    return line.substring("VmHWM:".length()).trim();
+                }
+            }
+        } catch (IOException e) {
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,276 @@
+package simulation;
+
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sizes a venue without trial and error: runs a {@link ReplicationRunner} for every combination
+ * of numbers of BowlingAlleys, Cashiers, ShoePairs and Group sizes and keeps the configurations
+ * that are not dominated in cost, throughput and waiting time (the Pareto frontier).
+ *
+ * Adding BowlingAlleys to an otherwise equal venue stops paying off at some point. If another
+ * BowlingAlley neither raises the throughput nor lowers the waiting time noticeably, every larger
+ * number of BowlingAlleys only adds cost, so these configurations are skipped (pruned).
+ *
+ * Every configuration is simulated with the same seed, so all of them see the same random
+ * arrivals and differences between them come from the venue and not from chance.
+ */
+public class CapacityPlanner {
+    /** Cost of a BowlingAlley, a Cashier and a ShoePair per day, in any currency. */
+    public static double ALLEY_COST = 100;
+    public static double CASHIER_COST = 40;
+    public static double SHOE_PAIR_COST = 1;
+
+    /** Relative improvement below which another BowlingAlley is considered useless. */
+    private static final double PRUNE_TOLERANCE = 0.005;
+
+    /** Number of Clients arriving at every venue (rounded down to complete Groups). */
+    private final int numClients;
+    private final VenuePolicy policy;
+
+    private int[] alleys;
+    private int[] cashiers;
+    private int[] groupSizes;
+
+    /** Numbers of ShoePairs, null to give every BowlingAlley one ShoePair per Group member (like {@code ShoesRoom.MAX_SHOES}). */
+    private int[] shoes;
+
+    private int replications = 200;
+    private long seed = System.nanoTime();
+    private boolean pruning = true;
+
+    /** Number of configurations skipped because of pruning during the last {@link #run()}. */
+    private int pruned;
+
+    /** A simulated configuration with its cost and results. */
+    public static class Candidate {
+        private final VenueConfig config;
+        private final int numClients;
+        private final double cost;
+        private final ReplicationSummary summary;
+
+        private Candidate(VenueConfig config, int numClients, double cost, ReplicationSummary summary) {
+            this.config = config;
+            this.numClients = numClients;
+            this.cost = cost;
+            this.summary = summary;
+        }
+
+        public VenueConfig getConfig() {
+            return config;
+        }
+
+        public double getCost() {
+            return cost;
+        }
+
+        public ReplicationSummary getSummary() {
+            return summary;
+        }
+
+        /** @return mean Clients per hour over all replications */
+        public double getThroughput() {
+            return summary.getThroughput().getMean();
+        }
+
+        /**
+         * @return mean time in seconds a Client spent waiting, which is his time in the venue
+         *         without the time he was served or bowled
+         */
+        public double getMeanWait() {
+            return summary.getMeanWait().getMean();
+        }
+
+        /** @return true if this is at least as good in cost, throughput and waiting time and better in one of them */
+        public boolean dominates(Candidate other) {
+            boolean noWorse = cost <= other.cost && getThroughput() >= other.getThroughput() && getMeanWait() <= other.getMeanWait();
+            boolean better = cost < other.cost || getThroughput() > other.getThroughput() || getMeanWait() < other.getMeanWait();
+            return noWorse && better;
+        }
+    }
+
+    /** All ranges start with the single value of the corresponding static field. */
+    public CapacityPlanner(int numClients, VenuePolicy policy) {
+        this.numClients = numClients;
+        this.policy = policy;
+        VenueConfig defaults = new VenueConfig();
+        alleys = new int[]{defaults.getNumAlleys()};
+        cashiers = new int[]{defaults.getNumCashiers()};
+        groupSizes = new int[]{defaults.getGroupSize()};
+    }
+
+    /**
+     * Pruning stops at the first number of BowlingAlleys that doesn't pay off, so they are sorted
+     * ascending (and duplicates dropped) whatever order they are given in.
+     */
+    public CapacityPlanner setAlleys(int... alleys) {
+        this.alleys = Arrays.stream(alleys).sorted().distinct().toArray();
+        return this;
+    }
+
+    public CapacityPlanner setCashiers(int... cashiers) {
+        this.cashiers = cashiers;
+        return this;
+    }
+
+    public CapacityPlanner setShoes(int... shoes) {
+        this.shoes = shoes;
+        return this;
+    }
+
+    public CapacityPlanner setGroupSizes(int... groupSizes) {
+        this.groupSizes = groupSizes;
+        return this;
+    }
+
+    public CapacityPlanner setReplications(int replications) {
+        this.replications = replications;
+        return this;
+    }
+
+    public CapacityPlanner setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /** With pruning disabled the whole grid is simulated. */
+    public CapacityPlanner setPruning(boolean pruning) {
+        this.pruning = pruning;
+        return this;
+    }
+
+    /**
+     * Simulates the grid. The replications of every configuration run in parallel.
+     *
+     * @return every simulated configuration
+     */
+    public List<Candidate> run() {
+        List<Candidate> candidates = new ArrayList<>();
+        pruned = 0;
+
+        for (int groupSize : groupSizes) {
+            for (int numCashiers : cashiers) {
+                for (int shoeIndex = 0; shoeIndex < (shoes == null ? 1 : shoes.length); shoeIndex++) {
+                    Candidate best = null;
+                    for (int alleyIndex = 0; alleyIndex < alleys.length; alleyIndex++) {
+                        VenueConfig config = new VenueConfig()
+                                .setGroupSize(groupSize)
+                                .setNumCashiers(numCashiers)
+                                .setNumAlleys(alleys[alleyIndex])
+                                .setNumShoes(shoes == null ? groupSize * alleys[alleyIndex] : shoes[shoeIndex]);
+                        Candidate candidate = simulate(config);
+                        candidates.add(candidate);
+
+                        if (pruning && best != null && !isImprovement(candidate, best)) {
+                            pruned += alleys.length - alleyIndex - 1;
+                            break;
+                        }
+                        if (best == null || isImprovement(candidate, best)) {
+                            best = candidate;
+                        }
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private Candidate simulate(VenueConfig config) {
+        int clients = numClients - numClients % config.getGroupSize();
+        ReplicationSummary summary = new ReplicationRunner(clients, policy)
+                .setConfig(config)
+                .setReplications(replications)
+                .setSeed(seed)
+                .run();
+
+        double cost = config.getNumAlleys() * ALLEY_COST + policy.getNumCashiers(config) * CASHIER_COST
+                + (policy.hasLimitedShoes() ? config.getNumShoes() * SHOE_PAIR_COST : 0);
+        return new Candidate(config, clients, cost, summary);
+    }
+
+    /** @return true if {@code candidate} has a noticeably higher throughput or lower waiting time than {@code best} */
+    private static boolean isImprovement(Candidate candidate, Candidate best) {
+        boolean moreThroughput = candidate.getThroughput() > best.getThroughput() * (1 + PRUNE_TOLERANCE);
+        boolean lessWaiting = candidate.getMeanWait() < best.getMeanWait() * (1 - PRUNE_TOLERANCE);
+        return moreThroughput || lessWaiting;
+    }
+
+    public int getPruned() {
+        return pruned;
+    }
+
+    /** @return the candidates no other candidate dominates, cheapest first */
+    public static List<Candidate> paretoFrontier(List<Candidate> candidates) {
+        List<Candidate> frontier = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            boolean dominated = false;
+            for (Candidate other : candidates) {
+                if (other.dominates(candidate)) {
+                    dominated = true;
+                    break;
+                }
+            }
+            if (!dominated) {
+                frontier.add(candidate);
+            }
+        }
+        frontier.sort((a, b) -> Double.compare(a.cost, b.cost));
+        return frontier;
+    }
+
+    /** @return one CSV line per candidate, the last column tells if it is on the Pareto frontier */
+    public static String toCsv(List<Candidate> candidates, List<Candidate> frontier) {
+        StringBuilder csv = new StringBuilder();
+        csv.append("alleys,cashiers,shoes,groupSize,clients,cost,throughputPerHour,throughputCi95,"
+                + "meanTimeInVenueS,p95TimeInVenueS,meanWaitS,alleyUtilizationPercent,pareto\n");
+        for (Candidate candidate : candidates) {
+            ReplicationSummary summary = candidate.summary;
+            csv.append(String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%.2f,%b%n",
+                    candidate.config.getNumAlleys(), candidate.config.getNumCashiers(), candidate.config.getNumShoes(),
+                    candidate.config.getGroupSize(), candidate.numClients, candidate.cost, candidate.getThroughput(),
+                    summary.getThroughput().getConfidenceHalfWidth(), summary.getMeanTimeInVenue().getMean(),
+                    summary.getP95TimeInVenue().getMean(), candidate.getMeanWait(),
+                    summary.getAlleyUtilization().getMean(), frontier.contains(candidate)));
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Parses a range of a parameter: {@code "5"}, {@code "1-8"}, {@code "10-40/5"} (every fifth
+     * value) or a list like {@code "2,3,5"}.
+     */
+    public static int[] parseRange(String range) {
+        if (range.contains(",")) {
+            String[] parts = range.split(",");
+            int[] values = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                values[i] = Integer.parseInt(parts[i].trim());
+            }
+            return values;
+        }
+
+        int step = 1;
+        int slash = range.indexOf('/');
+        if (slash >= 0) {
+            step = Integer.parseInt(range.substring(slash + 1));
+            range = range.substring(0, slash);
+        }
+        int dash = range.indexOf('-');
+        int from = Integer.parseInt(dash < 0 ? range : range.substring(0, dash));
+        int to = dash < 0 ? from : Integer.parseInt(range.substring(dash + 1));
+        if (step < 1 || to < from) {
+            throw new IllegalArgumentException("Invalid range: " + range);
+        }
+
+        int[] values = new int[(to - from) / step + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i * step;
+        }
+        return values;
+    }
+}
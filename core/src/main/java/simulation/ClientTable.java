@@ -0,0 +1,210 @@
+package simulation;
+
+import utils.Group;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * State of every Client of a {@link DiscreteEventSimulation}, stored column by column in primitive
+ * arrays indexed by the Client's Id instead of in one {@link actors.Client} object per Client.
+ * A Client of the discrete-event mode is nothing but his Id. This takes 33 bytes per
+ * Client, so millions of Clients fit into a few hundred MB, and scans over one column (e.g.
+ * counting the Clients that left) read consecutive memory.
+ *
+ * Groups are stored once in a list indexed by their Id; Clients only keep that Id.
+ *
+ * The table starts with the Clients arriving at the venue. Clients sent over from another venue
+ * (see {@link MultiVenueSimulation}) are appended with {@link #addClient()}.
+ */
+public class ClientTable implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Marks a Client without Group or ShoePair. */
+    public static final int NONE = -1;
+
+    /** Id of the Group and of the ShoePair of every Client, {@link #NONE} if he has none. */
+    private int[] groupIds;
+    private int[] shoeIds;
+
+    /** {@link Stage#ordinal()} of the step every Client is currently in. */
+    private byte[] stages;
+
+    /** Virtual time at which every Client arrived and left. */
+    private long[] arrivalTimes;
+    private long[] departureTimes;
+
+    /**
+     * Virtual time at which every Client entered the DancingRoom while he dances, and how long he
+     * danced until his Group got a BowlingAlley afterwards.
+     */
+    private long[] alleyWaits;
+
+    /** Number of Clients, the arrays may be longer. */
+    private int size;
+
+    /** Every Group any Client belonged to, indexed by the Id of the Group. */
+    private final List<Group> groups;
+
+    /** Id {@link #newGroupId()} hands out next, unless a party already has it. */
+    private int nextGroupId = 1;
+
+    public ClientTable(int numClients) {
+        groupIds = new int[numClients];
+        shoeIds = new int[numClients];
+        stages = new byte[numClients];
+        arrivalTimes = new long[numClients];
+        departureTimes = new long[numClients];
+        alleyWaits = new long[numClients];
+        groups = new ArrayList<>();
+        size = numClients;
+        for (int i = 0; i < numClients; i++) {
+            groupIds[i] = NONE;
+            shoeIds[i] = NONE;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a Client without Group or ShoePair, who is {@link Stage#ARRIVING}. The arrays grow by
+     * half when they are full.
+     *
+     * @return the Id of the new Client
+     */
+    public int addClient() {
+        if (size == stages.length) {
+            int capacity = Math.max(16, stages.length + stages.length / 2);
+            groupIds = Arrays.copyOf(groupIds, capacity);
+            shoeIds = Arrays.copyOf(shoeIds, capacity);
+            stages = Arrays.copyOf(stages, capacity);
+            arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+            departureTimes = Arrays.copyOf(departureTimes, capacity);
+            alleyWaits = Arrays.copyOf(alleyWaits, capacity);
+        }
+        groupIds[size] = NONE;
+        shoeIds[size] = NONE;
+        return size++;
+    }
+
+    /**
+     * Hands out the Id of a new Group, so Groups formed at the RegistrationDesk and Groups sent
+     * over from another venue never get the same Id. Like in the threaded mode the first Group
+     * formed at the desk gets Id 1; parties already have Ids and the next Id comes after theirs.
+     *
+     * @return an Id no Group of this table has
+     */
+    public int newGroupId() {
+        int groupId = Math.max(nextGroupId, groups.size());
+        nextGroupId = groupId + 1;
+        return groupId;
+    }
+
+    /** @return the Group of the Client, null if he wasn't assigned to one yet */
+    public Group getGroup(int clientId) {
+        int groupId = groupIds[clientId];
+        return groupId == NONE ? null : groups.get(groupId);
+    }
+
+    public void setGroup(int clientId, Group group) {
+        int groupId = group.getId();
+        while (groups.size() <= groupId) {
+            groups.add(null);
+        }
+        groups.set(groupId, group);
+        groupIds[clientId] = groupId;
+    }
+
+    /** @return Id of the ShoePair the Client wears, {@link #NONE} if he wears none */
+    public int getShoeId(int clientId) {
+        return shoeIds[clientId];
+    }
+
+    public void setShoeId(int clientId, int shoeId) {
+        shoeIds[clientId] = shoeId;
+    }
+
+    public Stage getStage(int clientId) {
+        return Stage.of(stages[clientId]);
+    }
+
+    public void setStage(int clientId, Stage stage) {
+        stages[clientId] = (byte) stage.ordinal();
+    }
+
+    public long getArrivalTime(int clientId) {
+        return arrivalTimes[clientId];
+    }
+
+    public void setArrivalTime(int clientId, long time) {
+        arrivalTimes[clientId] = time;
+    }
+
+    public void setDepartureTime(int clientId, long time) {
+        departureTimes[clientId] = time;
+    }
+
+    public void startedDancing(int clientId, long now) {
+        alleyWaits[clientId] = now;
+    }
+
+    public void startedBowling(int clientId, long now) {
+        alleyWaits[clientId] = now - alleyWaits[clientId];
+    }
+
+    /**
+     * @return virtual time in milliseconds the Client spent in the venue, -1 if he didn't leave yet
+     *         or left without bowling
+     */
+    public long getTimeInVenue(int clientId) {
+        return stages[clientId] == Stage.LEFT.ordinal() ? departureTimes[clientId] - arrivalTimes[clientId] : -1;
+    }
+
+    /** @return virtual time in milliseconds the Client danced until his Group got a BowlingAlley, -1 if it didn't get one yet */
+    public long getAlleyWait(int clientId) {
+        return Stage.of(stages[clientId]).gotAlley() ? alleyWaits[clientId] : -1;
+    }
+
+    public int countClientsLeft() {
+        return countClients(Stage.LEFT);
+    }
+
+    /** @return number of Clients in the given step */
+    public int countClients(Stage stage) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (stages[i] == stage.ordinal()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** @return virtual time in milliseconds at which the last Client left, early or not */
+    public long getLastDepartureTime() {
+        long last = 0;
+        for (int i = 0; i < size; i++) {
+            if (stages[i] >= Stage.LEFT.ordinal()) {
+                last = Math.max(last, departureTimes[i]);
+            }
+        }
+        return last;
+    }
+
+    /** @return mean virtual time in milliseconds the Clients that left spent in the venue, 0 if none left */
+    public long getMeanTimeInVenue() {
+        long total = 0;
+        int left = 0;
+        for (int i = 0; i < size; i++) {
+            if (stages[i] == Stage.LEFT.ordinal()) {
+                total += departureTimes[i] - arrivalTimes[i];
+                left++;
+            }
+        }
+        return left == 0 ? 0 : total / left;
+    }
+}
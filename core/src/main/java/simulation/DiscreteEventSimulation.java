@@ -0,0 +1,472 @@
+package simulation;
+
+import actors.Client;
+import utils.ArrivalSource;
+import utils.Group;
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Discrete-event mode of the bowling simulation. The Clients go through the same steps and the
+ * stations follow the same rules as in the threaded mode, but nobody sleeps: every step that
+ * takes time is an Event on the virtual clock of an {@link EventScheduler}. A whole day in a
+ * venue with dozens of BowlingAlleys is therefore simulated in milliseconds.
+ *
+ * Everything runs on the thread calling {@link #start()}, so no synchronization is needed.
+ *
+ * The whole state of a run is in this object and the objects it references, so it can be saved
+ * and restored with Java serialization, see {@link EventJournal}.
+ */
+public class DiscreteEventSimulation implements EventHandler {
+    private static final long serialVersionUID = 1L;
+
+    /** A Client arrives at the venue. */
+    private static final int ARRIVAL = 0;
+
+    /** The next open-loop arrival, whose Clients don't exist before. */
+    private static final int OPEN_LOOP_ARRIVAL = 1;
+
+    private EventScheduler scheduler;
+
+    /** The event-driven stations a Client has to go through. */
+    private EventRegistrationDesk registrationDesk;
+    private EventShoesRoom shoesRoom;
+    private EventDancingRoom dancingRoom;
+
+    /** Group, ShoePair, step and times of every Client, indexed by the Client's Id. */
+    private ClientTable clients;
+
+    /**
+     * Source of the random arrival delays, the only randomness of this mode. Only used before
+     * the first Event, so it isn't part of a snapshot.
+     */
+    private transient SplittableRandom random;
+
+    /** Whether the arrivals were scheduled, i.e. the run started. */
+    private boolean arrivalsScheduled;
+
+    /** Open-loop arrivals, null if every Client is in the {@link ClientTable} from the start. */
+    private ArrivalSource arrivals;
+
+    /** The rules the stations follow. */
+    private VenuePolicy policy;
+
+    /** The size of the venue. */
+    private VenueConfig config;
+
+    /** If true, every step is printed together with the virtual time at which it happens. */
+    private boolean verbose;
+
+    public DiscreteEventSimulation(int numClients) {
+        this(numClients, new SplittableRandom());
+    }
+
+    public DiscreteEventSimulation(int numClients, SplittableRandom random) {
+        this(numClients, random, VenuePolicy.PART3);
+    }
+
+    public DiscreteEventSimulation(int numClients, SplittableRandom random, VenuePolicy policy) {
+        this(numClients, random, policy, new VenueConfig());
+    }
+
+    public DiscreteEventSimulation(int numClients, SplittableRandom random, VenuePolicy policy, VenueConfig config) {
+        this.random = random;
+        this.policy = policy;
+        this.config = config;
+        scheduler = new EventScheduler();
+        registrationDesk = new EventRegistrationDesk(this, scheduler);
+        shoesRoom = new EventShoesRoom(this, scheduler);
+        dancingRoom = new EventDancingRoom(this, scheduler);
+
+        clients = new ClientTable(numClients);
+    }
+
+    /**
+     * Starts without Clients, they are appended to the {@link ClientTable} when the generator lets
+     * them arrive. The venue can get more Clients than it serves, then its queues grow until
+     * the arrivals end. Game times of the parties are kept, shoe sizes play no role in this mode.
+     * The arrivals of a {@link utils.ReservationLog} are parties, so the config needs variable
+     * group sizes.
+     */
+    public DiscreteEventSimulation(ArrivalSource arrivals, VenuePolicy policy, VenueConfig config) {
+        this(0, null, policy, config);
+        this.arrivals = arrivals;
+    }
+
+    /**
+     * Lets the scheduler choose the order of simultaneous steps with the given seed instead of
+     * FIFO order, see {@link EventScheduler}. Must be called before {@link #run()}.
+     */
+    public DiscreteEventSimulation setScheduleSeed(long scheduleSeed) {
+        scheduler.setScheduleSeed(scheduleSeed);
+        return this;
+    }
+
+    /**
+     * Appends every step from now on to the journal, which also takes snapshots of this
+     * simulation. Not possible with a schedule seed or arrivals read from a file. Must be called
+     * before {@link #run()}: the arrivals are scheduled right away, so that the first snapshot
+     * already contains them.
+     */
+    public DiscreteEventSimulation setJournal(EventJournal journal) {
+        if (arrivals != null && !(arrivals instanceof Serializable)) {
+            throw new IllegalStateException("Arrivals from a " + arrivals + " can't be part of a snapshot");
+        }
+        if (!arrivalsScheduled) {
+            scheduleArrivals();
+        }
+        scheduler.setJournal(journal);
+        journal.attach(this);
+        return this;
+    }
+
+    EventScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public DiscreteEventSimulation setVerbose(boolean verbose) {
+        this.verbose = verbose;
+        return this;
+    }
+
+    /**
+     * Runs the simulation until every Client went home and prints a summary. A restored simulation
+     * (see {@link EventJournal#restore(java.nio.file.Path)}) goes on where it was.
+     *
+     * @return the virtual time in milliseconds at which the last Client left
+     */
+    public long start() {
+        System.out.println((arrivalsScheduled ? "Discrete-event simulation resumed." : "Discrete-event simulation started.")
+                + "\n----------------------------------");
+        long startNanos = System.nanoTime();
+
+        long endTime = run();
+
+        long wallMillis = (System.nanoTime() - startNanos) / 1000000;
+        System.out.println("--------------------------------\nDiscrete-event simulation ended.");
+
+        System.out.println("Number of Clients: " + clients.size());
+        System.out.println("Clients that went home: " + countClientsLeft());
+        if (config.hasAdmissionControl() || config.getPatience() > 0) {
+            System.out.println("Clients turned away: " + clients.countClients(Stage.TURNED_AWAY)
+                    + ", gave up waiting: " + clients.countClients(Stage.RENEGED));
+        }
+        System.out.println("Group size: " + (config.isVariableGroupSizes() ? "1 to " : "") + config.getGroupSize());
+        System.out.println("Number of BowlingAlleys: " + config.getNumAlleys() + " (" + config.getAlleyAssignment() + " assignment)");
+        System.out.println("Policy: " + policy);
+        System.out.println("Number of Cashiers: " + policy.getNumCashiers(config));
+        System.out.println("Number of ShoePairs: " + (policy.hasLimitedShoes() ? String.valueOf(config.getNumShoes()) : "unlimited"));
+        System.out.println("Simulated time: " + formatTime(endTime));
+        System.out.println("Mean time in venue: " + formatTime(clients.getMeanTimeInVenue()));
+        System.out.println(String.format("BowlingAlley utilization: %.1f%%, seat utilization: %.1f%%",
+                100 * getAlleyUtilization(endTime), 100 * getSeatUtilization(endTime)));
+        System.out.println("Events handled: " + scheduler.getEventsHandled());
+        System.out.println("Trace hash: " + String.format("%016x", scheduler.getTraceHash()));
+        System.out.println("Wall-clock time: " + wallMillis + "ms");
+
+        return endTime;
+    }
+
+    /**
+     * Runs the simulation until every Client went home, without printing anything (unless the
+     * simulation is verbose). Used by {@link ReplicationRunner} to run many instances.
+     *
+     * @return the virtual time in milliseconds at which the last Client left
+     */
+    public long run() {
+        if (!arrivalsScheduled) {
+            scheduleArrivals();
+        }
+        long endTime = scheduler.run();
+
+        /** The patience of a Group may run out after it went on, that Event doesn't prolong the run. */
+        return config.getPatience() > 0 ? clients.getLastDepartureTime() : endTime;
+    }
+
+    /** Draws the arrival times of the Clients and schedules their arrivals. */
+    void scheduleArrivals() {
+        arrivalsScheduled = true;
+        if (arrivals != null) {
+            scheduleNextArrival();
+            return;
+        }
+        if (config.isVariableGroupSizes()) {
+            formParties();
+        } else {
+            /** Like {@link Client#run()}: arrivals are distributed between 0 and MAX_DELAY_TIME. */
+            for (int i = 0; i < clients.size(); i++) {
+                clients.setArrivalTime(i, (long) (Client.MAX_DELAY_TIME * random.nextDouble()));
+            }
+        }
+        scheduler.scheduleAll(clients.size(), (IntToLongFunction & Serializable) clients::getArrivalTime, this, ARRIVAL);
+    }
+
+    /**
+     * Runs the simulation up to the given virtual time, see {@link EventScheduler#runUntil(long)}.
+     * Must be called after {@link #scheduleArrivals()}.
+     *
+     * @return true if the simulation isn't over yet
+     */
+    boolean runUntil(long time) {
+        return scheduler.runUntil(time);
+    }
+
+    /**
+     * Sends the complete Group that waits longest for a BowlingAlley to another venue (see
+     * {@link MultiVenueSimulation}). Its Clients drop their ShoePairs on the way out. They stay in the
+     * {@link ClientTable} of this venue as Clients that are dancing and never leave.
+     *
+     * @return the arrival times of its Clients, null if no complete Group is waiting
+     */
+    long[] sendGroupAway() {
+        List<Integer> clientIds = dancingRoom.removeLastCompleteGroup();
+        if (clientIds == null) {
+            return null;
+        }
+        long[] arrivalTimes = new long[clientIds.size()];
+        for (int i = 0; i < arrivalTimes.length; i++) {
+            int clientId = clientIds.get(i);
+            trace("Client(" + clientId + ") in Group(" + clients.getGroup(clientId).getId() + ") leaves for another venue.");
+            arrivalTimes[i] = clients.getArrivalTime(clientId);
+            shoesRoom.dropShoes(clientId);
+        }
+        return arrivalTimes;
+    }
+
+    /**
+     * Lets a Group that was sent away by another venue arrive after {@code delay} milliseconds. It
+     * gets a new Group Id and its Clients keep the time they arrived at the first venue. They go on
+     * like registered Clients, so they borrow shoes here and then wait for a BowlingAlley.
+     *
+     * @param arrivalTimes what {@link #sendGroupAway()} of the other venue returned
+     */
+    void admitGroup(long[] arrivalTimes, long delay) {
+        Group group = new Group(clients.newGroupId(), arrivalTimes.length);
+        for (long arrivalTime : arrivalTimes) {
+            int clientId = clients.addClient();
+            clients.setArrivalTime(clientId, arrivalTime);
+            clients.setGroup(clientId, group);
+            clients.setStage(clientId, Stage.REGISTERING);
+            group.addClient();
+            scheduler.schedule(delay, this, ARRIVAL, clientId);
+        }
+    }
+
+    /** @return number of complete Groups waiting for a BowlingAlley */
+    int getNumGroupsWaiting() {
+        return dancingRoom.getNumCompleteGroups();
+    }
+
+    /** @return number of BowlingAlleys nobody plays on */
+    int getNumFreeAlleys() {
+        return dancingRoom.getBowlingArea().getNumFreeAlleys();
+    }
+
+    /** @return virtual time in milliseconds at which the last step of a Client happened */
+    long getLastEventTime() {
+        return scheduler.getLastEventTime();
+    }
+
+    /** Splits the Clients into parties of random size, the Clients of a party arrive together. */
+    private void formParties() {
+        int next = 0;
+        for (Group party : Group.newParties(clients.size(), config.getGroupSize(), random)) {
+            long randomDelay = (long) (Client.MAX_DELAY_TIME * random.nextDouble());
+            for (int i = 0; i < party.getMaxSize(); i++) {
+                clients.setGroup(next, party);
+                clients.setArrivalTime(next++, randomDelay);
+            }
+        }
+    }
+
+    /** Schedules the next open-loop arrival, if the generator has one. */
+    private void scheduleNextArrival() {
+        if (arrivals.next()) {
+            scheduler.schedule(arrivals.getTime() - scheduler.now(), this, OPEN_LOOP_ARRIVAL, clients.size());
+        }
+    }
+
+    /**
+     * Appends the Clients of an open-loop arrival to the {@link ClientTable}, as a party with a new
+     * Group if Groups are parties, and lets them arrive.
+     */
+    private void admitArrival() {
+        int partySize = arrivals.getPartySize();
+        Group party = config.isVariableGroupSizes()
+                ? new Group(clients.newGroupId(), partySize).setGameTime(arrivals.getGameTime()) : null;
+        for (int i = 0; i < partySize; i++) {
+            int clientId = clients.addClient();
+            clients.setArrivalTime(clientId, scheduler.now());
+            if (party != null) {
+                clients.setGroup(clientId, party);
+            }
+            trace("Client(" + clientId + ") arrived at the venue.");
+            stepCompleted(clientId);
+        }
+        scheduleNextArrival();
+    }
+
+    /** Handles the arrival of a Client, the only Event type that belongs to no station. */
+    @Override
+    public void handleEvent(int type, int clientId) {
+        if (type == OPEN_LOOP_ARRIVAL) {
+            admitArrival();
+            return;
+        }
+        trace("Client(" + clientId + ") arrived at the venue.");
+        stepCompleted(clientId);
+    }
+
+    /**
+     * Called by the stations whenever a Client finished a step. The Client then moves on to the
+     * next station, in the same order as in {@link Client#run()}.
+     *
+     * @param clientId Client that finished his current step
+     */
+    public void stepCompleted(int clientId) {
+        Stage stage = clients.getStage(clientId).next();
+        clients.setStage(clientId, stage);
+
+        switch (stage) {
+            case REGISTERING:
+                registrationDesk.register(clientId);
+                break;
+            case BORROWING_SHOES:
+                shoesRoom.requestBorrowingShoes(clientId);
+                break;
+            case DANCING:
+                clients.startedDancing(clientId, scheduler.now());
+                dancingRoom.danceAndRequestAlley(clientId);
+                break;
+            case BOWLING:
+                clients.startedBowling(clientId, scheduler.now());
+                trace("Client(" + clientId + ") in Group(" + clients.getGroup(clientId).getId() + ") is bowling now!");
+                dancingRoom.getBowlingArea().play(clientId);
+                break;
+            case PAYING:
+                /**
+                 * From now on every Client acts as an individual. No station asks for his Group
+                 * anymore, so it is kept for {@link #getBowlingGroup(int)}.
+                 */
+                registrationDesk.chargeFee(clientId);
+                break;
+            case RETURNING_SHOES:
+                shoesRoom.requestReturningShoes(clientId);
+                break;
+            case LEFT:
+                clients.setDepartureTime(clientId, scheduler.now());
+                break;
+            default:
+                throw new IllegalStateException("Client(" + clientId + ") can't go back to " + stage);
+        }
+    }
+
+    /**
+     * A Client leaves before bowling: turned away at the RegistrationDesk, or with his Group that
+     * gave up waiting. Like in the threaded mode he leaves without paying and drops his ShoePair
+     * at the counter, if he has one.
+     *
+     * @param stage {@link Stage#TURNED_AWAY} or {@link Stage#RENEGED}
+     */
+    void leaveEarly(int clientId, Stage stage) {
+        if (stage == Stage.RENEGED) {
+            trace("Client(" + clientId + ") in Group(" + clients.getGroup(clientId).getId() + ") gives up and goes home.");
+            registrationDesk.leave(clientId);
+            if (clients.getShoeId(clientId) != ClientTable.NONE) {
+                shoesRoom.dropShoes(clientId);
+            }
+        }
+        clients.setStage(clientId, stage);
+        clients.setDepartureTime(clientId, scheduler.now());
+    }
+
+    /** @return state of every Client, for the event-driven stations */
+    ClientTable getClients() {
+        return clients;
+    }
+
+    public VenuePolicy getPolicy() {
+        return policy;
+    }
+
+    /** @return hash of all steps so far, two runs with equal seeds have equal hashes */
+    public long getTraceHash() {
+        return scheduler.getTraceHash();
+    }
+
+    public VenueConfig getConfig() {
+        return config;
+    }
+
+    public Stage getStage(int clientId) {
+        return clients.getStage(clientId);
+    }
+
+    /** Prints a message prefixed with the current virtual time if the simulation is verbose. */
+    void trace(String message) {
+        if (verbose) {
+            System.out.println("[" + formatTime(scheduler.now()) + "] " + message);
+        }
+    }
+
+    public int getNumClients() {
+        return clients.size();
+    }
+
+    /**
+     * @return virtual time in milliseconds the Client spent in the venue, -1 if he didn't leave yet
+     *         or left without bowling
+     */
+    public long getTimeInVenue(int clientId) {
+        return clients.getTimeInVenue(clientId);
+    }
+
+    /**
+     * @return virtual time in milliseconds the Client spent in the DancingRoom until his Group got a
+     *         BowlingAlley (including waiting for his Group), -1 if he didn't get one yet
+     */
+    public long getAlleyWait(int clientId) {
+        return clients.getAlleyWait(clientId);
+    }
+
+    /** @return the Group the Client bowled with, null if he didn't get a BowlingAlley (yet) */
+    public Group getBowlingGroup(int clientId) {
+        return getStage(clientId).gotAlley() ? clients.getGroup(clientId) : null;
+    }
+
+    /**
+     * @param endTime virtual time at which the simulation ended
+     * @return share of the time the BowlingAlleys were occupied, between 0 and 1
+     */
+    public double getAlleyUtilization(long endTime) {
+        return endTime == 0 ? 0 : (double) dancingRoom.getBowlingArea().getBusyAlleyTime() / (config.getNumAlleys() * endTime);
+    }
+
+    /**
+     * @param endTime virtual time at which the simulation ended
+     * @return share of the seats of all BowlingAlleys that were occupied over time, between 0 and 1
+     */
+    public double getSeatUtilization(long endTime) {
+        long seats = (long) config.getNumAlleys() * config.getSeatsPerAlley();
+        return endTime == 0 ? 0 : (double) dancingRoom.getBowlingArea().getBusySeatTime() / (seats * endTime);
+    }
+
+    public int countClientsLeft() {
+        return clients.countClientsLeft();
+    }
+
+    /** @return number of Clients in the given step, e.g. {@link Stage#RENEGED} */
+    public int countClients(Stage stage) {
+        return clients.countClients(stage);
+    }
+
+    /** Formats virtual milliseconds as hh:mm:ss.SSS. */
+    private static String formatTime(long millis) {
+        return String.format("%02d:%02d:%02d.%03d", millis / 3600000, millis / 60000 % 60, millis / 1000 % 60, millis % 1000);
+    }
+}
@@ -0,0 +1,180 @@
+package simulation;
+
+import actors.Client;
+import stations.BowlingArea;
+import utils.AlleyAssignment;
+import utils.Group;
+import utils.VenueConfig;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Event-driven counterpart of {@link BowlingArea} and its {@link stations.BowlingAlley}s.
+ * BowlingAlleys are only represented by their Id. Since the Clients of a Group leave the
+ * DancingRoom together, they are complete at their BowlingAlley right away and all of them
+ * bowl for the game time of their Group ({@link Client#BOWLING_TIME} unless a party brought its own). The first Client that finishes releases the BowlingAlley.
+ *
+ * With {@link AlleyAssignment#BIN_PACKING} a BowlingAlley is free as long as it has free seats,
+ * and the first Client of a Group that finishes gives back the seats of his Group.
+ */
+public class EventBowlingArea implements EventHandler {
+    private static final long serialVersionUID = 1L;
+
+    /** A Client finished his game. */
+    private static final int GAME_DONE = 0;
+
+    private DiscreteEventSimulation simulation;
+    private EventScheduler scheduler;
+    private EventDancingRoom dancingRoom;
+
+    private VenueConfig config;
+
+    /** Ids of the available BowlingAlleys. */
+    private Deque<Integer> availableAlleys;
+
+    /** Free seats and number of Groups playing, indexed by the Id of the BowlingAlley. */
+    private int[] freeSeats;
+    private int[] groupsPlaying;
+
+    /** Maps the Groups that are currently playing to the Id of their BowlingAlley. */
+    private Map<Group, Integer> occupiedAlleys;
+
+    /** Virtual time at which each BowlingAlley was assigned last, indexed by its Id. */
+    private long[] occupiedSince;
+
+    /** Sum of the virtual time all BowlingAlleys were occupied by a Group. */
+    private long busyAlleyTime;
+
+    /** Sum of the virtual time each Client bowled, and the number of Clients bowling since the last change. */
+    private long busySeatTime;
+    private int clientsPlaying;
+    private long clientsPlayingSince;
+
+    public EventBowlingArea(DiscreteEventSimulation simulation, EventScheduler scheduler, EventDancingRoom dancingRoom) {
+        this.simulation = simulation;
+        this.scheduler = scheduler;
+        this.dancingRoom = dancingRoom;
+        config = simulation.getConfig();
+        availableAlleys = new ArrayDeque<>();
+        occupiedAlleys = new HashMap<>();
+        occupiedSince = new long[config.getNumAlleys()];
+        freeSeats = new int[config.getNumAlleys()];
+        groupsPlaying = new int[config.getNumAlleys()];
+
+        for (int i = 0; i < config.getNumAlleys(); i++) {
+            availableAlleys.add(i);
+            freeSeats[i] = config.getSeatsPerAlley();
+        }
+    }
+
+    public boolean isAlleyFree() {
+        return !availableAlleys.isEmpty();
+    }
+
+    /** @return number of BowlingAlleys nobody plays on, with {@link AlleyAssignment#BIN_PACKING} too */
+    public int getNumFreeAlleys() {
+        if (config.getAlleyAssignment() != AlleyAssignment.BIN_PACKING) {
+            return availableAlleys.size();
+        }
+        int free = 0;
+        for (int groups : groupsPlaying) {
+            if (groups == 0) {
+                free++;
+            }
+        }
+        return free;
+    }
+
+    /**
+     * The caller must check for a free BowlingAlley with {@link #isAlleyFree()} first.
+     *
+     * @param group Group that is going to play on the BowlingAlley
+     * @return Id of the BowlingAlley the Group got assigned to
+     */
+    public int getFreeAlley(Group group) {
+        assert !availableAlleys.isEmpty();
+        int alleyId = availableAlleys.poll();
+        occupiedAlleys.put(group, alleyId);
+        occupiedSince[alleyId] = scheduler.now();
+        countClientsPlaying(group.getMaxSize());
+        simulation.trace("(BowlingArea): A free BowlingAlley just got assigned to a Group. Available BowlingAlleys now: " + availableAlleys.size() + "/" + config.getNumAlleys());
+        return alleyId;
+    }
+
+    /**
+     * Gives the Group seats on the BowlingAlley with the fewest free seats that are still enough,
+     * see {@link AlleyAssignment#BIN_PACKING}. Ties go to the lowest Id.
+     *
+     * @param group Group that wants to play
+     * @return Id of the BowlingAlley the Group got assigned to, -1 if none has enough free seats
+     */
+    public int getBestFitAlley(Group group) {
+        int seats = config.getSeatsNeeded(group.getMaxSize());
+        int bestFit = -1;
+        for (int i = 0; i < freeSeats.length; i++) {
+            if (freeSeats[i] >= seats && (bestFit < 0 || freeSeats[i] < freeSeats[bestFit])) {
+                bestFit = i;
+            }
+        }
+        if (bestFit < 0) {
+            return -1;
+        }
+
+        freeSeats[bestFit] -= seats;
+        if (groupsPlaying[bestFit]++ == 0) {
+            occupiedSince[bestFit] = scheduler.now();
+        }
+        occupiedAlleys.put(group, bestFit);
+        countClientsPlaying(group.getMaxSize());
+        simulation.trace("(BowlingArea): Group(" + group.getId() + ") got " + seats + " seats on BowlingAlley(" + bestFit + "). Free seats there now: " + freeSeats[bestFit] + "/" + config.getSeatsPerAlley());
+        return bestFit;
+    }
+
+    /** Adds the seat time since the last change and changes the number of Clients bowling by {@code change}. */
+    private void countClientsPlaying(int change) {
+        busySeatTime += clientsPlaying * (scheduler.now() - clientsPlayingSince);
+        clientsPlaying += change;
+        clientsPlayingSince = scheduler.now();
+    }
+
+    /** Client starts bowling on the BowlingAlley of his Group, for the game time of the Group. */
+    public void play(int clientId) {
+        scheduler.schedule(simulation.getClients().getGroup(clientId).getGameTime(), this, GAME_DONE, clientId);
+    }
+
+    /** @return virtual time in milliseconds the BowlingAlleys were occupied so far, summed over all of them */
+    public long getBusyAlleyTime() {
+        return busyAlleyTime;
+    }
+
+    /** @return virtual time in milliseconds the seats were occupied so far, summed over all of them */
+    public long getBusySeatTime() {
+        return busySeatTime + clientsPlaying * (scheduler.now() - clientsPlayingSince);
+    }
+
+    @Override
+    public void handleEvent(int type, int clientId) {
+        Group group = simulation.getClients().getGroup(clientId);
+        Integer alleyId = occupiedAlleys.remove(group);
+        if (alleyId != null) {
+            simulation.trace("Client(" + clientId + ") informs BowlingArea that Group(" + group.getId() + ")'s game is over now.");
+            countClientsPlaying(-group.getMaxSize());
+            if (config.getAlleyAssignment() == AlleyAssignment.BIN_PACKING) {
+                freeSeats[alleyId] += config.getSeatsNeeded(group.getMaxSize());
+                if (--groupsPlaying[alleyId] == 0) {
+                    busyAlleyTime += scheduler.now() - occupiedSince[alleyId];
+                }
+                simulation.trace("(BowlingArea): A bowling game ended. Free seats on BowlingAlley(" + alleyId + ") now: " + freeSeats[alleyId] + "/" + config.getSeatsPerAlley());
+            } else {
+                availableAlleys.add(alleyId);
+                busyAlleyTime += scheduler.now() - occupiedSince[alleyId];
+                simulation.trace("(BowlingArea): A bowling game ended. Available BowlingAlleys now: " + availableAlleys.size() + "/" + config.getNumAlleys());
+            }
+            dancingRoom.gameEnded();
+        }
+        simulation.stepCompleted(clientId);
+    }
+}
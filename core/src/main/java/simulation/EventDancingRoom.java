@@ -0,0 +1,205 @@
+package simulation;
+
+import stations.DancingRoom;
+import utils.AlleyAssignment;
+import utils.Group;
+import utils.GroupScheduler;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event-driven counterpart of {@link DancingRoom}. Clients wait for their whole Group and then
+ * dance until a BowlingAlley is assigned to their Group. Groups get BowlingAlleys in the order
+ * of the {@link utils.SchedulingPolicy} (by default the order in which their first Client arrived),
+ * exactly as in the threaded mode. Without FIFO order ({@link utils.VenuePolicy#isGroupOrderFifo()})
+ * any complete Group gets the next free BowlingAlley.
+ * With {@link AlleyAssignment#BIN_PACKING} Groups share BowlingAlleys and may overtake each other.
+ * With {@link utils.VenueConfig#getPatience()} a complete Group that danced that long gives up.
+ */
+public class EventDancingRoom extends EventGroupSynchronizer implements EventHandler {
+    private static final long serialVersionUID = 1L;
+
+    /** A complete Group danced as long as its patience lasts. */
+    private static final int PATIENCE_OVER = 0;
+
+    private DiscreteEventSimulation simulation;
+    private EventScheduler scheduler;
+
+    /** Manages the BowlingAlleys and informs this room when a game ended. */
+    private EventBowlingArea bowlingArea;
+
+    /** Groups without a BowlingAlley in the order of the scheduling policy, only used with FIFO order of Groups. */
+    private GroupScheduler arrivedGroups;
+
+    /**
+     * Complete Groups (and the Ids of their Clients) that are dancing until they get a BowlingAlley,
+     * in the order they got complete.
+     */
+    private Map<Group, List<Integer>> completeGroups;
+
+    /** Same meaning as in {@link DancingRoom}. */
+    private int headBypasses;
+
+    public EventDancingRoom(DiscreteEventSimulation simulation, EventScheduler scheduler) {
+        super(scheduler);
+        this.simulation = simulation;
+        this.scheduler = scheduler;
+        bowlingArea = new EventBowlingArea(simulation, scheduler, this);
+        arrivedGroups = simulation.getConfig().getSchedulingPolicy().newScheduler();
+        completeGroups = new LinkedHashMap<>();
+    }
+
+    /** Every Client has to wait for his Group in the DancingRoom and dance. */
+    public void danceAndRequestAlley(int clientId) {
+        Group group = simulation.getClients().getGroup(clientId);
+        if (isGroupOrderFifo()) {
+            arrivedGroups.add(group, scheduler.now());
+        }
+        waitForWholeGroup(clientId, group);
+    }
+
+    @Override
+    protected void groupComplete(Group group, List<Integer> clientIds) {
+        completeGroups.put(group, clientIds);
+        assignFreeAlleys();
+        int patience = simulation.getConfig().getPatience();
+        if (patience > 0 && completeGroups.containsKey(group)) {
+            scheduler.schedule(patience, this, PATIENCE_OVER, clientIds.get(0));
+        }
+    }
+
+    /**
+     * The Group of the Client gives up if it is still dancing. It no longer holds back the Groups
+     * behind it, which may get free BowlingAlleys now.
+     */
+    @Override
+    public void handleEvent(int type, int clientId) {
+        Group group = simulation.getClients().getGroup(clientId);
+        List<Integer> clientIds = completeGroups.remove(group);
+        if (clientIds == null) {
+            return;
+        }
+        if (isGroupOrderFifo()) {
+            if (arrivedGroups.peek() == group) {
+                headBypasses = 0;
+            }
+            arrivedGroups.remove(group);
+        }
+        group.renege();
+        for (int groupClientId : clientIds) {
+            simulation.leaveEarly(groupClientId, Stage.RENEGED);
+        }
+        assignFreeAlleys();
+    }
+
+    /** Called by the {@link EventBowlingArea} once a BowlingAlley got free. */
+    public void gameEnded() {
+        simulation.trace("DancingRoom got notified that a BowlingAlley just got free!");
+        assignFreeAlleys();
+    }
+
+    /**
+     * As long as there are free BowlingAlleys and the next Group is complete, a BowlingAlley is
+     * assigned to that Group. Like in the threaded mode an incomplete next Group holds back all
+     * Groups behind it.
+     */
+    private void assignFreeAlleys() {
+        if (simulation.getConfig().getAlleyAssignment() == AlleyAssignment.BIN_PACKING) {
+            packGroups();
+            return;
+        }
+        while (bowlingArea.isAlleyFree()) {
+            Group nextGroup = isGroupOrderFifo() ? arrivedGroups.peek() : anyCompleteGroup();
+            List<Integer> clientIds = nextGroup == null ? null : completeGroups.remove(nextGroup);
+            if (clientIds == null) {
+                return;
+            }
+            arrivedGroups.remove(nextGroup);
+            startPlaying(nextGroup, bowlingArea.getFreeAlley(nextGroup), clientIds);
+        }
+    }
+
+    /**
+     * Gives the next Group seats on a BowlingAlley as long as it is complete and fits (see
+     * {@link EventBowlingArea#getBestFitAlley(Group)}). Then other complete Groups that fit overtake
+     * it, in the order they got complete. With FIFO order of Groups this is only allowed
+     * {@link AlleyAssignment#MAX_BYPASSES} times in a row.
+     */
+    private void packGroups() {
+        Group nextGroup = isGroupOrderFifo() ? arrivedGroups.peek() : null;
+        while (nextGroup != null && completeGroups.containsKey(nextGroup)) {
+            int alleyId = bowlingArea.getBestFitAlley(nextGroup);
+            if (alleyId < 0) {
+                break;
+            }
+            arrivedGroups.remove(nextGroup);
+            headBypasses = 0;
+            startPlaying(nextGroup, alleyId, completeGroups.remove(nextGroup));
+            nextGroup = arrivedGroups.peek();
+        }
+
+        Iterator<Map.Entry<Group, List<Integer>>> groups = completeGroups.entrySet().iterator();
+        while (groups.hasNext() && (nextGroup == null || headBypasses < AlleyAssignment.MAX_BYPASSES)) {
+            Map.Entry<Group, List<Integer>> entry = groups.next();
+            Group group = entry.getKey();
+            int alleyId = group == nextGroup ? -1 : bowlingArea.getBestFitAlley(group);
+            if (alleyId < 0) {
+                continue;
+            }
+            groups.remove();
+            arrivedGroups.remove(group);
+            if (nextGroup != null) {
+                headBypasses++;
+            }
+            startPlaying(group, alleyId, entry.getValue());
+        }
+    }
+
+    /** Sends the Clients of a Group that got a BowlingAlley on to it. */
+    private void startPlaying(Group group, int alleyId, List<Integer> clientIds) {
+        for (int clientId : clientIds) {
+            simulation.trace("Client(" + clientId + ") in Group(" + group.getId() + ") can play on BowlingAlley(" + alleyId + ").");
+            simulation.stepCompleted(clientId);
+        }
+    }
+
+    /** @return number of complete Groups dancing until they get a BowlingAlley */
+    int getNumCompleteGroups() {
+        return completeGroups.size();
+    }
+
+    /**
+     * Takes the complete Group that got complete last out of this room, because it goes to another
+     * venue (see {@link MultiVenueSimulation}). It is the one that would have waited longest here.
+     *
+     * @return Ids of its Clients, null if no Group is complete
+     */
+    List<Integer> removeLastCompleteGroup() {
+        Map.Entry<Group, List<Integer>> last = null;
+        for (Map.Entry<Group, List<Integer>> entry : completeGroups.entrySet()) {
+            last = entry;
+        }
+        if (last == null) {
+            return null;
+        }
+        completeGroups.remove(last.getKey());
+        arrivedGroups.remove(last.getKey());
+        return last.getValue();
+    }
+
+    /** @return the complete Group that got complete first, null if none is complete */
+    private Group anyCompleteGroup() {
+        return completeGroups.isEmpty() ? null : completeGroups.keySet().iterator().next();
+    }
+
+    private boolean isGroupOrderFifo() {
+        return simulation.getPolicy().isGroupOrderFifo();
+    }
+
+    public EventBowlingArea getBowlingArea() {
+        return bowlingArea;
+    }
+}
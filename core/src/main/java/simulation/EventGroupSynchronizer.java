@@ -0,0 +1,60 @@
+package simulation;
+
+import utils.Group;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event-driven counterpart of {@link utils.GroupSynchronizer}. Instead of suspending a thread,
+ * the Id of an arriving Client is parked in a list until the last Client of his Group arrived.
+ * Then the extending station is informed via {@link #groupComplete(Group, List)}.
+ */
+public abstract class EventGroupSynchronizer implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Maps each Group G to the Ids of the waiting Clients that belong to G. */
+    private Map<Group, List<Integer>> groupsWaiting;
+
+    /** Decides in which order the Clients of a complete Group go on. */
+    private EventScheduler scheduler;
+
+    protected EventGroupSynchronizer(EventScheduler scheduler) {
+        this.scheduler = scheduler;
+        groupsWaiting = new HashMap<>();
+    }
+
+    /**
+     * Lets a Client wait for the other Clients in his Group. If the Client is the last one
+     * of his Group, the whole Group is handed over to {@link #groupComplete(Group, List)}.
+     *
+     * @param clientId Client that arrived at the synchronization point
+     * @param group    Group of the Client
+     */
+    protected void waitForWholeGroup(int clientId, Group group) {
+        List<Integer> clientsWaiting = groupsWaiting.get(group);
+        if (clientsWaiting == null) {
+            clientsWaiting = new ArrayList<>(group.getMaxSize());
+            groupsWaiting.put(group, clientsWaiting);
+        }
+        clientsWaiting.add(clientId);
+
+        if (clientsWaiting.size() == group.getMaxSize()) {
+            groupsWaiting.remove(group);
+            scheduler.chooseWakeUpOrder(clientsWaiting);
+            groupComplete(group, clientsWaiting);
+        }
+    }
+
+    /**
+     * Called once every Client of a Group arrived at the synchronization point.
+     *
+     * @param group     the now complete Group
+     * @param clientIds Ids of all Clients of the Group in the order the scheduler chose (by default
+     *                  the order of their arrival)
+     */
+    protected abstract void groupComplete(Group group, List<Integer> clientIds);
+}
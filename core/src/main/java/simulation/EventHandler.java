@@ -0,0 +1,18 @@
+package simulation;
+
+import java.io.Serializable;
+
+/**
+ * Implemented by everything that reacts on Events of the {@link EventScheduler}. In the
+ * discrete-event mode these are the event-driven counterparts of the stations. They are part of
+ * a snapshot of the simulation, see {@link EventJournal}.
+ */
+public interface EventHandler extends Serializable {
+    /**
+     * Called by the {@link EventScheduler} once the virtual clock reached the time of the Event.
+     *
+     * @param type     handler specific type of the Event
+     * @param clientId Client the Event belongs to
+     */
+    void handleEvent(int type, int clientId);
+}
@@ -0,0 +1,267 @@
+package simulation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only journal of a {@link DiscreteEventSimulation} plus snapshots of it, so a long run
+ * can be resumed after the process died. Every state transition of the discrete-event mode is
+ * caused by an Event, so the journal gets one fixed-width record of {@link #RECORD_SIZE} bytes
+ * per handled Event:
+ * <pre>
+ * long time | int handler | byte type | int clientId
+ * </pre>
+ * The handler is the hash of its class name, like in {@link EventScheduler#getTraceHash()}. The
+ * records are collected in a direct buffer and written with one {@link FileChannel} write per
+ * batch. With {@link #setFsync(boolean)} every batch is forced to disk, otherwise only the
+ * operating system decides when.
+ * <p>
+ * When the journal is attached and then every {@link #setSnapshotInterval(long)} Events the
+ * whole simulation is serialized into
+ * {@value #SNAPSHOT_FILE}: into a temporary file first, which is forced to disk and then renamed,
+ * so there is always one complete snapshot. The journal is forced before, so a snapshot never
+ * refers to records that didn't make it to disk. Every class in a snapshot declares its
+ * {@code serialVersionUID}, so a snapshot can still be read after a rebuild as long as the
+ * fields of these classes stay the same.
+ * <p>
+ * {@link #restore(Path)} reads the snapshot and then handles the Events after it once more. The
+ * discrete-event mode is deterministic, so they must be exactly the records of the journal tail,
+ * which is checked. The simulation is then where the journal ends and appends to it again.
+ */
+public class EventJournal implements Closeable {
+    public static final int RECORD_SIZE = 8 + 4 + 1 + 4;
+
+    static final String JOURNAL_FILE = "journal.bin";
+    static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    private final Path directory;
+    private final FileChannel channel;
+
+    /** Records that weren't written yet. */
+    private ByteBuffer batch;
+
+    private boolean fsync;
+    private long snapshotInterval = 1000000;
+
+    private DiscreteEventSimulation simulation;
+
+    /** Position in the journal at which the next batch is written. */
+    private long writePosition;
+
+    /**
+     * After a restore: the records from {@code readPosition} to {@code replayEnd} are checked
+     * against the Events handled again. {@code replay} holds the records read from the file.
+     */
+    private ByteBuffer replay;
+    private long readPosition;
+    private long replayEnd;
+
+    private long snapshots;
+
+    /**
+     * Starts a new journal in the given directory, an old journal and snapshot in there are
+     * replaced.
+     */
+    public EventJournal(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(SNAPSHOT_FILE));
+        channel = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        setBatchSize(4096);
+    }
+
+    /**
+     * Opens the journal of a restored simulation. A record that was only partly written when
+     * the process died is cut off.
+     *
+     * @param snapshotEvents number of Events handled when the snapshot was taken
+     */
+    private EventJournal(Path directory, long snapshotEvents) throws IOException {
+        this.directory = directory;
+        channel = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long records = channel.size() / RECORD_SIZE;
+        if (records < snapshotEvents) {
+            throw new IOException("The journal ends at Event " + records + ", before the snapshot at Event " + snapshotEvents);
+        }
+        channel.truncate(records * RECORD_SIZE);
+        readPosition = snapshotEvents * RECORD_SIZE;
+        replayEnd = records * RECORD_SIZE;
+        writePosition = replayEnd;
+        setBatchSize(4096);
+    }
+
+    /**
+     * Reads the snapshot in the directory and brings the simulation up to the end of the journal.
+     *
+     * @return the journal, {@link #getSimulation()} is ready to go on with {@link DiscreteEventSimulation#start()}
+     * @throws IllegalStateException if the Events after the snapshot differ from the journal
+     */
+    public static EventJournal restore(Path directory) throws IOException {
+        DiscreteEventSimulation simulation;
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(
+                Files.newInputStream(directory.resolve(SNAPSHOT_FILE)), 1 << 16))) {
+            simulation = (DiscreteEventSimulation) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Not a snapshot of a DiscreteEventSimulation: " + directory.resolve(SNAPSHOT_FILE), e);
+        }
+
+        EventScheduler scheduler = simulation.getScheduler();
+        EventJournal journal = new EventJournal(directory, scheduler.getEventsHandled());
+        simulation.setJournal(journal);
+        scheduler.runEvents((journal.replayEnd - journal.readPosition) / RECORD_SIZE);
+        if (journal.readPosition < journal.replayEnd) {
+            throw new IllegalStateException("The simulation ended at Event " + scheduler.getEventsHandled()
+                    + ", the journal goes on until Event " + journal.replayEnd / RECORD_SIZE);
+        }
+        return journal;
+    }
+
+    /** Writes every batch to disk right away, which makes appending much slower. */
+    public EventJournal setFsync(boolean fsync) {
+        this.fsync = fsync;
+        return this;
+    }
+
+    /** Number of records written at once. */
+    public EventJournal setBatchSize(int records) {
+        if (batch != null && batch.position() > 0) {
+            writeBatch();
+        }
+        batch = ByteBuffer.allocateDirect(records * RECORD_SIZE);
+        replay = ByteBuffer.allocateDirect(records * RECORD_SIZE);
+        replay.limit(0);
+        return this;
+    }
+
+    /** Number of Events between two snapshots. */
+    public EventJournal setSnapshotInterval(long events) {
+        this.snapshotInterval = events;
+        return this;
+    }
+
+    /**
+     * Called by {@link DiscreteEventSimulation#setJournal(EventJournal)}. A new journal starts with
+     * a snapshot at Event 0, so a run shorter than the snapshot interval can be restored, too.
+     *
+     * @throws IllegalStateException if a new journal is attached to a simulation that already handled Events
+     */
+    void attach(DiscreteEventSimulation simulation) {
+        this.simulation = simulation;
+        if (replayEnd == 0) {
+            if (simulation.getScheduler().getEventsHandled() > 0) {
+                throw new IllegalStateException("A journal must be attached before the first Event is handled");
+            }
+            snapshot();
+        }
+    }
+
+    /** Called by the {@link EventScheduler} after each Event. */
+    void handled(long time, int handlerId, int type, int clientId) {
+        if (readPosition < replayEnd) {
+            check(time, handlerId, type, clientId);
+            return;
+        }
+        if (batch.remaining() < RECORD_SIZE) {
+            writeBatch();
+        }
+        batch.putLong(time);
+        batch.putInt(handlerId);
+        batch.put((byte) type);
+        batch.putInt(clientId);
+        if (simulation.getScheduler().getEventsHandled() % snapshotInterval == 0) {
+            snapshot();
+        }
+    }
+
+    /** Compares an Event handled again after a restore with the next record of the journal tail. */
+    private void check(long time, int handlerId, int type, int clientId) {
+        if (!replay.hasRemaining()) {
+            replay.clear();
+            replay.limit((int) Math.min(replay.capacity(), replayEnd - readPosition));
+            try {
+                while (replay.hasRemaining()) {
+                    channel.read(replay, readPosition + replay.position());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            replay.flip();
+        }
+        long event = readPosition / RECORD_SIZE;
+        readPosition += RECORD_SIZE;
+        if (replay.getLong() != time || replay.getInt() != handlerId || replay.get() != type || replay.getInt() != clientId) {
+            throw new IllegalStateException("Event " + event + " of Client(" + clientId + ") at " + time
+                    + "ms differs from the journal");
+        }
+    }
+
+    private void writeBatch() {
+        batch.flip();
+        try {
+            while (batch.hasRemaining()) {
+                writePosition += channel.write(batch, writePosition);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        batch.clear();
+    }
+
+    /** Serializes the simulation between two Events, see the class comment. */
+    private void snapshot() {
+        writeBatch();
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try {
+            channel.force(false);
+            try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                 ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Channels.newOutputStream(file), 1 << 16))) {
+                out.writeObject(simulation);
+                out.flush();
+                file.force(true);
+            }
+            Files.move(temporary, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        snapshots++;
+    }
+
+    public DiscreteEventSimulation getSimulation() {
+        return simulation;
+    }
+
+    /** @return number of snapshots taken since the journal was opened */
+    public long getSnapshots() {
+        return snapshots;
+    }
+
+    /** @return number of records in the journal, including those not written yet */
+    public long getRecords() {
+        return (writePosition + batch.position()) / RECORD_SIZE;
+    }
+
+    /** Writes the remaining records and forces them to disk. */
+    @Override
+    public void close() throws IOException {
+        writeBatch();
+        channel.force(false);
+        channel.close();
+    }
+}
@@ -0,0 +1,161 @@
+package simulation;
+
+import actors.Client;
+import stations.RegistrationDesk;
+import utils.Group;
+import utils.VenueConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event-driven counterpart of {@link RegistrationDesk}. Clients queue for one of the
+ * Cashiers ({@link utils.VenuePolicy#getNumCashiers(utils.VenueConfig)}), get assigned to a Group when registering and
+ * wait at the desk until their Group is complete. Paying uses the same Cashiers.
+ * With admission control ({@link utils.VenueConfig#hasAdmissionControl()}) parties are turned away
+ * under the same conditions as in the threaded mode.
+ */
+public class EventRegistrationDesk implements EventHandler {
+    private static final long serialVersionUID = 1L;
+
+    /** A Cashier finished registering or charging a Client. */
+    private static final int SERVICE_DONE = 0;
+
+    private DiscreteEventSimulation simulation;
+    private EventScheduler scheduler;
+
+    /** Number of Cashiers that are currently not serving a Client. */
+    private int freeCashiers;
+
+    /** Ids of Clients waiting for a Cashier in the order of their arrival. */
+    private IntQueue waitingForCashier;
+
+    /** Maps each incomplete Group to the Ids of its Clients waiting at the desk. */
+    private Map<Group, List<Integer>> waitingForGroup;
+
+    /** Same meaning as in {@link RegistrationDesk}, the Ids of the Groups come from the {@link ClientTable}. */
+    private Group currentGroup;
+
+    /** Clients admitted and not gone home yet, only counted with admission control. */
+    private int admittedClients;
+
+    public EventRegistrationDesk(DiscreteEventSimulation simulation, EventScheduler scheduler) {
+        this.simulation = simulation;
+        this.scheduler = scheduler;
+        freeCashiers = simulation.getPolicy().getNumCashiers(simulation.getConfig());
+        waitingForCashier = new IntQueue();
+        waitingForGroup = new HashMap<>();
+    }
+
+    /** Client arrives at the desk in order to register, unless his party is turned away. */
+    public void register(int clientId) {
+        if (!admit(clientId)) {
+            simulation.trace("Client(" + clientId + ") is turned away.");
+            simulation.leaveEarly(clientId, Stage.TURNED_AWAY);
+            return;
+        }
+        requestCashier(clientId);
+    }
+
+    /** Same as in {@link RegistrationDesk}: the first Client of a party decides for all of them. */
+    private boolean admit(int clientId) {
+        VenueConfig config = simulation.getConfig();
+        if (!config.hasAdmissionControl()) {
+            return true;
+        }
+        Group party = simulation.getClients().getGroup(clientId);
+        if (party.getAdmission() == null) {
+            long estimatedWait = RegistrationDesk.estimateWait(admittedClients, config.getNumAlleys(), config.getGroupSize());
+            boolean fits = config.getMaxClientsInVenue() == 0 || admittedClients + party.getMaxSize() <= config.getMaxClientsInVenue();
+            boolean shortWait = config.getMaxEstimatedWait() == 0 || estimatedWait <= config.getMaxEstimatedWait();
+            boolean admitted = admittedClients == 0 || fits && shortWait;
+            party.setAdmitted(admitted);
+            if (admitted) {
+                admittedClients += party.getMaxSize();
+            }
+        }
+        return party.getAdmission();
+    }
+
+    /** A Client leaves the venue after paying, or without paying because his Group gave up waiting. */
+    void leave(int clientId) {
+        if (simulation.getConfig().hasAdmissionControl()) {
+            admittedClients--;
+        }
+    }
+
+    /** Client returns to the desk in order to pay. */
+    public void chargeFee(int clientId) {
+        requestCashier(clientId);
+    }
+
+    /**
+     * Serves the Client right away if a Cashier is free. Otherwise the Client is queued and
+     * served as soon as a Cashier finished with another Client.
+     */
+    private void requestCashier(int clientId) {
+        if (freeCashiers > 0) {
+            freeCashiers--;
+            scheduler.schedule(Client.REGISTER_PAY_TIME, this, SERVICE_DONE, clientId);
+        } else {
+            simulation.trace("Client(" + clientId + ") has to wait because no Cashier is free.");
+            waitingForCashier.add(clientId);
+        }
+    }
+
+    @Override
+    public void handleEvent(int type, int clientId) {
+        /** The Cashier is handed over directly to the next waiting Client, if there is one. */
+        int nextClientId = waitingForCashier.poll();
+        if (nextClientId != IntQueue.EMPTY) {
+            scheduler.schedule(Client.REGISTER_PAY_TIME, this, SERVICE_DONE, nextClientId);
+        } else {
+            freeCashiers++;
+        }
+
+        if (simulation.getStage(clientId) == Stage.REGISTERING) {
+            Group group = getAssignedGroupForClient(clientId);
+            simulation.getClients().setGroup(clientId, group);
+            waitForCompleteGroup(clientId, group);
+        } else {
+            simulation.trace("Client(" + clientId + ") just paid.");
+            leave(clientId);
+            simulation.stepCompleted(clientId);
+        }
+    }
+
+    /** Same as {@link RegistrationDesk#getAssignedGroupForClient(Client)}. */
+    private Group getAssignedGroupForClient(int clientId) {
+        Group party = simulation.getClients().getGroup(clientId);
+        if (party != null) {
+            party.addClient();
+            return party;
+        }
+        if (currentGroup == null || currentGroup.isFull()) {
+            currentGroup = new Group(simulation.getClients().newGroupId(), simulation.getConfig().getGroupSize());
+        }
+        currentGroup.addClient();
+        return currentGroup;
+    }
+
+    /** Clients stay at the desk until the last Client of their Group registered. */
+    private void waitForCompleteGroup(int clientId, Group group) {
+        List<Integer> clientsWaiting = waitingForGroup.get(group);
+        if (clientsWaiting == null) {
+            clientsWaiting = new ArrayList<>(group.getMaxSize());
+            waitingForGroup.put(group, clientsWaiting);
+        }
+        clientsWaiting.add(clientId);
+
+        if (group.isFull()) {
+            simulation.trace("Group(" + group.getId() + ") is complete!");
+            waitingForGroup.remove(group);
+            scheduler.chooseWakeUpOrder(clientsWaiting);
+            for (int waitingClientId : clientsWaiting) {
+                simulation.stepCompleted(waitingClientId);
+            }
+        }
+    }
+}
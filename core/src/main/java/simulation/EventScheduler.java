@@ -0,0 +1,324 @@
+package simulation;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * The heart of the discrete-event mode. Instead of letting Client-threads sleep, every timed
+ * step of a Client is turned into an {@link Event} which is put in a priority queue ordered by
+ * the point in (virtual) time at which it happens. The scheduler then repeatedly takes the
+ * earliest Event, advances its virtual clock to the time of that Event and lets the responsible
+ * station handle it.
+ *
+ * There is only one thread working on a scheduler, so nothing in here is {@code synchronized}.
+ *
+ * The scheduler also decides everything the threads and locks would decide in the threaded mode:
+ * which of several Events at the same virtual time comes first and in which order the Clients
+ * waiting for their Group go on. By default this is the order of scheduling/arrival. With a
+ * schedule seed ({@link #setScheduleSeed(long)}) these choices are made by a seeded
+ * {@link SplittableRandom} instead, so every seed is one reproducible interleaving of the Clients
+ * (see {@link InterleavingExplorer}). Either way the same inputs always produce the same trace,
+ * which is summarized by {@link #getTraceHash()}.
+ *
+ * With an {@link EventJournal} every handled Event is appended to a journal, and the scheduler
+ * is saved with the rest of the simulation in its snapshots.
+ */
+public class EventScheduler implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Up to this time {@link #scheduleAll(int, IntToLongFunction, EventHandler, int)} always sorts by counting. */
+    private static final int MAX_COUNTED_TIME = 1 << 20;
+
+    /** Current virtual time in milliseconds since the simulation started. */
+    private long now;
+
+    /**
+     * Sequence number given to every scheduled Event. Two Events that happen at the same virtual
+     * time are handled in the order they were scheduled (FIFO), which keeps a run reproducible.
+     */
+    private long sequence;
+
+    /** Virtual time of the last Event handled, {@link #now} may be later (see {@link #runUntil(long)}). */
+    private long lastEventTime;
+
+    /** Number of Events that have been handled so far. */
+    private long eventsHandled;
+
+    /** All Events that are scheduled but not handled yet, the earliest one first. */
+    private PriorityQueue<Event> events;
+
+    /**
+     * Makes the choices between simultaneous Events and waking Clients, null for FIFO order. Its
+     * state can't be saved, so a run with a schedule seed can't have an {@link EventJournal}.
+     */
+    private transient SplittableRandom scheduleRandom;
+
+    /** Gets every handled Event, null without a journal. Not part of a snapshot. */
+    private transient EventJournal journal;
+
+    /** Hash over the time, handler, type and Client of every handled Event. */
+    private long traceHash;
+
+    /**
+     * Events scheduled with {@link #scheduleAll(int, IntToLongFunction, EventHandler, int)}: the Ids
+     * of their Clients sorted by time, the next one to handle and how to get their time.
+     */
+    private int[] streamedClientIds;
+    private int nextStreamed;
+    private IntToLongFunction streamedTimes;
+    private EventHandler streamedHandler;
+    private int streamedType;
+
+    public EventScheduler() {
+        now = 0;
+        sequence = 0;
+        eventsHandled = 0;
+        events = new PriorityQueue<>();
+    }
+
+    /**
+     * Lets a seeded {@link SplittableRandom} choose the order of simultaneous Events and of
+     * waking Clients. Must be called before the first Event is scheduled.
+     */
+    public EventScheduler setScheduleSeed(long scheduleSeed) {
+        scheduleRandom = new SplittableRandom(scheduleSeed);
+        return this;
+    }
+
+    /**
+     * Schedules an Event {@code delay} milliseconds after the current virtual time.
+     *
+     * @param delay    in milliseconds, 0 means "as soon as possible but after the current Event"
+     * @param handler  station (or simulation) which handles the Event
+     * @param type     handler specific type of the Event
+     * @param clientId Client the Event belongs to
+     */
+    public void schedule(long delay, EventHandler handler, int type, int clientId) {
+        assert delay >= 0;
+        long order = scheduleRandom == null ? sequence : scheduleRandom.nextLong();
+        events.add(new Event(now + delay, order, sequence++, handler, type, clientId));
+    }
+
+    /**
+     * Schedules one Event for each of the Clients 0 to {@code numClients - 1}, at the virtual time
+     * {@code timeOf} returns for him. Must be called before any other Event is scheduled.
+     *
+     * The result is the same as calling {@link #schedule(long, EventHandler, int, int)} for every
+     * Client in the order of the Ids, but without a schedule seed the Events are not put into the
+     * priority queue: the Ids are sorted by time (counting sort, stable, so equal times keep the
+     * order of the Ids) and handed out one after another while the queue only holds the Events
+     * of the Clients that already arrived. With millions of Clients this saves an Event object
+     * and a queue slot per Client, and O(log n) per arrival.
+     *
+     * @param timeOf times must be between 0 and {@link Integer#MAX_VALUE}, e.g. random arrival delays.
+     *               Must be {@link Serializable} to take snapshots, see {@link EventJournal}.
+     */
+    public void scheduleAll(int numClients, IntToLongFunction timeOf, EventHandler handler, int type) {
+        assert events.isEmpty() && now == 0;
+        long maxTime = 0;
+        for (int i = 0; i < numClients; i++) {
+            maxTime = Math.max(maxTime, timeOf.applyAsLong(i));
+        }
+        if (scheduleRandom != null || maxTime > Math.max(numClients, MAX_COUNTED_TIME)) {
+            /** A seed draws the order of every Event when it's scheduled; counting very sparse times wastes memory. */
+            for (int i = 0; i < numClients; i++) {
+                schedule(timeOf.applyAsLong(i), handler, type, i);
+            }
+            return;
+        }
+
+        int[] firstOfTime = new int[(int) maxTime + 2];
+        for (int i = 0; i < numClients; i++) {
+            firstOfTime[(int) timeOf.applyAsLong(i) + 1]++;
+        }
+        for (int t = 1; t < firstOfTime.length; t++) {
+            firstOfTime[t] += firstOfTime[t - 1];
+        }
+        streamedClientIds = new int[numClients];
+        for (int i = 0; i < numClients; i++) {
+            streamedClientIds[firstOfTime[(int) timeOf.applyAsLong(i)]++] = i;
+        }
+        nextStreamed = 0;
+        streamedTimes = timeOf;
+        streamedHandler = handler;
+        streamedType = type;
+
+        /** Later Events come after the streamed ones at equal times, as if those had been scheduled one by one. */
+        sequence += numClients;
+    }
+
+    /**
+     * Handles Events until there is no more Event scheduled.
+     *
+     * @return the virtual time at which the last Event happened
+     */
+    public long run() {
+        runUntil(Long.MAX_VALUE);
+        return lastEventTime;
+    }
+
+    /**
+     * Handles the next Events, at most {@code count} of them.
+     *
+     * @return true if there are Events left
+     */
+    public boolean runEvents(long count) {
+        for (long i = 0; i < count; i++) {
+            if (!handleNext(Long.MAX_VALUE)) {
+                return hasEvents();
+            }
+        }
+        return hasEvents();
+    }
+
+    /**
+     * Handles the Events that happen before {@code time} and then advances the virtual clock to
+     * {@code time}, so Events scheduled afterwards happen at {@code time} at the earliest. This lets
+     * several schedulers run side by side in windows of virtual time and exchange Clients between
+     * the windows, see {@link MultiVenueSimulation}.
+     *
+     * @param time end of the window, {@link Long#MAX_VALUE} to handle every Event
+     * @return true if there are Events left
+     */
+    public boolean runUntil(long time) {
+        while (handleNext(time)) {
+        }
+        if (!hasEvents()) {
+            streamedClientIds = null;
+            if (time == Long.MAX_VALUE) {
+                return false;
+            }
+        }
+        now = time;
+        return hasEvents();
+    }
+
+    /**
+     * Handles the earliest Event if it happens before {@code time}.
+     *
+     * @return true if an Event was handled
+     */
+    private boolean handleNext(long time) {
+        Event event = events.peek();
+        if (streamedClientIds != null && nextStreamed < streamedClientIds.length) {
+            int clientId = streamedClientIds[nextStreamed];
+            long streamedTime = streamedTimes.applyAsLong(clientId);
+            /** Without a seed the order of an Event is its sequence, and streamed Events were "scheduled" first. */
+            if (event == null || streamedTime <= event.time) {
+                if (streamedTime >= time) {
+                    return false;
+                }
+                nextStreamed++;
+                handle(streamedTime, streamedHandler, streamedType, clientId);
+                return true;
+            }
+        }
+        if (event == null || event.time >= time) {
+            return false;
+        }
+        events.poll();
+        handle(event.time, event.handler, event.type, event.clientId);
+        return true;
+    }
+
+    /** @return true if an Event is scheduled that wasn't handled yet */
+    public boolean hasEvents() {
+        return !events.isEmpty() || (streamedClientIds != null && nextStreamed < streamedClientIds.length);
+    }
+
+    private void handle(long time, EventHandler handler, int type, int clientId) {
+        now = time;
+        lastEventTime = time;
+        eventsHandled++;
+        int handlerId = handler.getClass().getName().hashCode();
+        traceHash = 31 * traceHash + time;
+        traceHash = 31 * traceHash + handlerId;
+        traceHash = 31 * traceHash + type;
+        traceHash = 31 * traceHash + clientId;
+        handler.handleEvent(type, clientId);
+        if (journal != null) {
+            journal.handled(time, handlerId, type, clientId);
+        }
+    }
+
+    /** @return the current virtual time in milliseconds */
+    public long now() {
+        return now;
+    }
+
+    /** @return virtual time in milliseconds at which the last Event happened */
+    public long getLastEventTime() {
+        return lastEventTime;
+    }
+
+    public long getEventsHandled() {
+        return eventsHandled;
+    }
+
+    /**
+     * Decides in which order Clients that are released together go on, like the order in which
+     * a {@code signalAll()} wakes up threads. Keeps the order of arrival without a schedule seed.
+     *
+     * @param clientIds is shuffled in place with a schedule seed
+     */
+    public void chooseWakeUpOrder(List<Integer> clientIds) {
+        if (scheduleRandom == null) {
+            return;
+        }
+        for (int i = clientIds.size() - 1; i > 0; i--) {
+            int j = scheduleRandom.nextInt(i + 1);
+            clientIds.set(j, clientIds.set(i, clientIds.get(j)));
+        }
+    }
+
+    /** Lets the journal see every Event handled from now on, null to stop journaling. */
+    void setJournal(EventJournal journal) {
+        if (journal != null && scheduleRandom != null) {
+            throw new IllegalStateException("A run with a schedule seed can't be journaled");
+        }
+        this.journal = journal;
+    }
+
+    /** @return a hash of every Event handled so far, equal for equal traces */
+    public long getTraceHash() {
+        return traceHash;
+    }
+
+    /**
+     * A single Event in virtual time. Events are compared by their time first, by the order the
+     * scheduler chose second and by the order in which they were scheduled last.
+     */
+    private static class Event implements Comparable<Event>, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long time;
+        private final long order;
+        private final long sequence;
+        private final EventHandler handler;
+        private final int type;
+        private final int clientId;
+
+        private Event(long time, long order, long sequence, EventHandler handler, int type, int clientId) {
+            this.time = time;
+            this.order = order;
+            this.sequence = sequence;
+            this.handler = handler;
+            this.type = type;
+            this.clientId = clientId;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            if (time != other.time) {
+                return time < other.time ? -1 : 1;
+            }
+            if (order != other.order) {
+                return order < other.order ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package simulation;
+
+import stations.ShoesRoom;
+import utils.Group;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event-driven counterpart of {@link ShoesRoom}. {@link utils.VenueConfig#getNumShoeEmployees()}
+ * employees serve borrowers and returners. The same rules as in the threaded mode apply:
+ * <ul>
+ *     <li>returners always have priority over borrowers,</li>
+ *     <li>a borrower of a partially served Group is served before the other borrowers, and no
+ *     more Groups than employees are partially served at once (so with one employee a Group is
+ *     served completely before another Group),</li>
+ *     <li>only {@link utils.VenueConfig#getNumShoes()} ShoePairs exist.</li>
+ * </ul>
+ * Without limited shoes ({@link utils.VenuePolicy#hasLimitedShoes()}) there is no employee and
+ * every Client gets new shoes right away.
+ * ShoePairs are only represented by their Id, which the Clients keep in the {@link ClientTable}.
+ * After borrowing, Clients wait for their whole Group (see {@link EventGroupSynchronizer}).
+ * With {@link utils.VenueConfig#getPatience()} a Group that isn't partially served gives up once
+ * one of its borrowers waited that long, like in the threaded mode.
+ */
+public class EventShoesRoom extends EventGroupSynchronizer implements EventHandler {
+    private static final long serialVersionUID = 1L;
+
+    /** An employee handed out a ShoePair. */
+    private static final int BORROW_DONE = 0;
+    /** An employee took back a ShoePair. */
+    private static final int RETURN_DONE = 1;
+    /** A borrower waited as long as his patience lasts. */
+    private static final int PATIENCE_OVER = 2;
+
+    private DiscreteEventSimulation simulation;
+    private EventScheduler scheduler;
+
+    /** Ids of the ShoePairs which are available for borrowers, a stack of {@code numAvailableShoes} Ids. */
+    private int[] availableShoes;
+    private int numAvailableShoes;
+
+    /** Id of the next new ShoePair without limited shoes. */
+    private int nextNewShoeId;
+
+    /** Ids of borrowers and returners waiting for an employee, in the order of their arrival. */
+    private IntQueue borrowersWaiting;
+    private IntQueue returnersWaiting;
+
+    /** Number of employees and how many of them aren't serving a Client right now. */
+    private final int numEmployees;
+    private int freeEmployees;
+
+    /** Time to borrow or to return a ShoePair, see {@link utils.VenuePolicy#getBorrowReturnShoesTime()}. */
+    private final int shoesTime;
+
+    /** Same meaning as in {@link ShoesRoom}. */
+    private Map<Group, Integer> servedBorrowerGroups;
+
+    public EventShoesRoom(DiscreteEventSimulation simulation, EventScheduler scheduler) {
+        super(scheduler);
+        this.simulation = simulation;
+        this.scheduler = scheduler;
+        borrowersWaiting = new IntQueue();
+        returnersWaiting = new IntQueue();
+        servedBorrowerGroups = new HashMap<>();
+        numEmployees = simulation.getConfig().getNumShoeEmployees();
+        freeEmployees = numEmployees;
+        shoesTime = simulation.getPolicy().getBorrowReturnShoesTime();
+
+        availableShoes = new int[simulation.getConfig().getNumShoes()];
+        for (int i = 0; i < availableShoes.length; i++) {
+            availableShoes[numAvailableShoes++] = i;
+        }
+    }
+
+    /** Entry-method for every borrower. */
+    public void requestBorrowingShoes(int clientId) {
+        if (!simulation.getPolicy().hasLimitedShoes()) {
+            simulation.trace("Client(" + clientId + ") arrived in ShoesRoom and gets nice shoes.");
+            simulation.getClients().setShoeId(clientId, nextNewShoeId++);
+            scheduler.schedule(shoesTime, this, BORROW_DONE, clientId);
+            return;
+        }
+        Group group = simulation.getClients().getGroup(clientId);
+        if (group.hasReneged()) {
+            simulation.leaveEarly(clientId, Stage.RENEGED);
+            return;
+        }
+        simulation.trace("---Client(" + clientId + ") wants to borrow shoes.");
+        borrowersWaiting.add(clientId);
+        serveNextClients();
+        int patience = simulation.getConfig().getPatience();
+        if (patience > 0 && simulation.getClients().getShoeId(clientId) == ClientTable.NONE) {
+            scheduler.schedule(patience, this, PATIENCE_OVER, clientId);
+        }
+    }
+
+    /**
+     * The borrower still waits for an employee, so his Group gives up unless it is partially served.
+     * Its borrowers leave the queue and go home.
+     */
+    private void patienceOver(int clientId) {
+        ClientTable clients = simulation.getClients();
+        Group group = clients.getGroup(clientId);
+        if (clients.getStage(clientId) != Stage.BORROWING_SHOES || clients.getShoeId(clientId) != ClientTable.NONE
+                || group.hasReneged() || servedBorrowerGroups.containsKey(group)) {
+            return;
+        }
+        group.renege();
+        for (int i = 0; i < borrowersWaiting.size(); ) {
+            int borrowerId = borrowersWaiting.get(i);
+            if (clients.getGroup(borrowerId) == group) {
+                borrowersWaiting.removeAt(i);
+                simulation.leaveEarly(borrowerId, Stage.RENEGED);
+            } else {
+                i++;
+            }
+        }
+        serveNextClients();
+    }
+
+    /** Entry-method for every returner. */
+    public void requestReturningShoes(int clientId) {
+        if (!simulation.getPolicy().hasLimitedShoes()) {
+            simulation.trace("Client(" + clientId + ") returned to ShoesRoom and returned his shoes. He's done for today and goes home.");
+            simulation.getClients().setShoeId(clientId, ClientTable.NONE);
+            scheduler.schedule(shoesTime, this, RETURN_DONE, clientId);
+            return;
+        }
+        simulation.trace("---Client(" + clientId + ") returns his shoes now. He's done for today and goes home.");
+        returnersWaiting.add(clientId);
+        serveNextClients();
+    }
+
+    /**
+     * The Client leaves for another venue and drops his ShoePair at the counter without queuing
+     * (see {@link MultiVenueSimulation}). He borrows new shoes at the other venue. A Client whose
+     * Group gave up waiting for a BowlingAlley drops his ShoePair the same way.
+     */
+    void dropShoes(int clientId) {
+        if (simulation.getPolicy().hasLimitedShoes()) {
+            availableShoes[numAvailableShoes++] = simulation.getClients().getShoeId(clientId);
+        }
+        simulation.getClients().setShoeId(clientId, ClientTable.NONE);
+        serveNextClients();
+    }
+
+    /**
+     * Lets the free employees serve the next Clients. Returners are served first. A borrower is
+     * only served if there is a ShoePair left, borrowers of partially served Groups first. Another
+     * Group may only start if fewer Groups than employees are partially served at the moment.
+     */
+    private void serveNextClients() {
+        if (!simulation.getPolicy().hasLimitedShoes()) {
+            return;
+        }
+        while (freeEmployees > 0 && serveNextClient()) {
+        }
+    }
+
+    /** @return true if a free employee started serving a Client */
+    private boolean serveNextClient() {
+        int returnerId = returnersWaiting.poll();
+        if (returnerId != IntQueue.EMPTY) {
+            availableShoes[numAvailableShoes++] = simulation.getClients().getShoeId(returnerId);
+            simulation.getClients().setShoeId(returnerId, ClientTable.NONE);
+            freeEmployees--;
+            scheduler.schedule(shoesTime, this, RETURN_DONE, returnerId);
+            return true;
+        }
+
+        if (numAvailableShoes == 0) {
+            return false;
+        }
+
+        int index = nextBorrowerIndex();
+        if (index < 0) {
+            return false;
+        }
+        int borrowerId = borrowersWaiting.removeAt(index);
+        Group group = simulation.getClients().getGroup(borrowerId);
+
+        int newCount = servedBorrowerGroups.containsKey(group) ? servedBorrowerGroups.get(group) + 1 : 1;
+        if (newCount < group.getMaxSize()) {
+            servedBorrowerGroups.put(group, newCount);
+        } else {
+            servedBorrowerGroups.remove(group);
+        }
+
+        simulation.trace("---Client(" + borrowerId + ") can borrow shoes(" + numAvailableShoes + "/" + simulation.getConfig().getNumShoes() + ") now! (soon -1 !)");
+        simulation.getClients().setShoeId(borrowerId, availableShoes[--numAvailableShoes]);
+        freeEmployees--;
+        scheduler.schedule(shoesTime, this, BORROW_DONE, borrowerId);
+        return true;
+    }
+
+    /** @return index of the next borrower in {@code borrowersWaiting} to serve, -1 if there is none */
+    private int nextBorrowerIndex() {
+        if (!servedBorrowerGroups.isEmpty()) {
+            for (int i = 0; i < borrowersWaiting.size(); i++) {
+                if (servedBorrowerGroups.containsKey(simulation.getClients().getGroup(borrowersWaiting.get(i)))) {
+                    return i;
+                }
+            }
+        }
+        if (servedBorrowerGroups.size() >= numEmployees || borrowersWaiting.isEmpty()) {
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public void handleEvent(int type, int clientId) {
+        if (type == PATIENCE_OVER) {
+            patienceOver(clientId);
+            return;
+        }
+        if (simulation.getPolicy().hasLimitedShoes()) {
+            freeEmployees++;
+        }
+        if (type == BORROW_DONE) {
+            waitForWholeGroup(clientId, simulation.getClients().getGroup(clientId));
+        } else {
+            simulation.stepCompleted(clientId);
+        }
+        serveNextClients();
+    }
+
+    @Override
+    protected void groupComplete(Group group, List<Integer> clientIds) {
+        for (int clientId : clientIds) {
+            simulation.stepCompleted(clientId);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package simulation;
+
+import java.io.Serializable;
+
+/**
+ * FIFO queue of Client Ids in a growing ring buffer of {@code int}s. The event-driven stations
+ * use it for their waiting lines instead of a {@code Deque<Integer>}, which would keep an
+ * {@link Integer} object per waiting Client; with millions of Clients queuing at one station
+ * that is most of the heap.
+ */
+public class IntQueue implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Returned by {@link #poll()} if the queue is empty. Client Ids are never negative. */
+    public static final int EMPTY = -1;
+
+    private int[] elements;
+
+    /** Index of the first element and number of elements. */
+    private int head;
+    private int size;
+
+    public IntQueue() {
+        elements = new int[16];
+    }
+
+    public void add(int element) {
+        if (size == elements.length) {
+            int[] grown = new int[elements.length * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = get(i);
+            }
+            elements = grown;
+            head = 0;
+        }
+        elements[(head + size++) % elements.length] = element;
+    }
+
+    /** @return the first element which is removed, {@link #EMPTY} if there is none */
+    public int poll() {
+        if (size == 0) {
+            return EMPTY;
+        }
+        int element = elements[head];
+        head = (head + 1) % elements.length;
+        size--;
+        return element;
+    }
+
+    /** @return the {@code index}-th element counted from the first one */
+    public int get(int index) {
+        assert index < size;
+        return elements[(head + index) % elements.length];
+    }
+
+    /**
+     * Removes the {@code index}-th element counted from the first one, the elements before it
+     * move up by one. Takes time linear in {@code index}, so it's meant for elements near the head.
+     *
+     * @return the removed element
+     */
+    public int removeAt(int index) {
+        int element = get(index);
+        for (int i = index; i > 0; i--) {
+            elements[(head + i) % elements.length] = get(i - 1);
+        }
+        head = (head + 1) % elements.length;
+        size--;
+        return element;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
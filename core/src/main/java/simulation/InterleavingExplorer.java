@@ -0,0 +1,190 @@
+package simulation;
+
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Searches for the schedules in which Clients wait longest. All schedules see the same random
+ * arrivals (the arrival seed), only the choices of the {@link EventScheduler} differ: which of
+ * several simultaneous steps comes first and in which order the Clients of a complete Group go
+ * on. Every schedule seed is such an interleaving, and the schedules are explored in parallel
+ * on a {@link ForkJoinPool}.
+ *
+ * The worst schedule found can be replayed step by step with
+ * {@code --discrete-event --seed=<arrival seed> --schedule-seed=<worst seed> --verbose}.
+ */
+public class InterleavingExplorer {
+    /** Number of schedules a task explores itself instead of splitting them up further. */
+    private static final int BATCH_SIZE = 16;
+
+    private final int numClients;
+    private final VenuePolicy policy;
+    private final long arrivalSeed;
+
+    private VenueConfig config = new VenueConfig();
+    private int schedules = 1000;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /** What was found while exploring some schedules. */
+    public static class Result {
+        /** Longest time in venue of any Client, per schedule, in milliseconds. */
+        private final RunningStatistics maxTimeInVenue = new RunningStatistics();
+
+        /** Trace hashes of the explored schedules; equal hashes mean equal interleavings. */
+        private final Set<Long> traces = new HashSet<>();
+
+        private long worstScheduleSeed;
+        private long worstTimeInVenue = -1;
+        private long bestScheduleSeed;
+        private long bestTimeInVenue = Long.MAX_VALUE;
+
+        private void add(long scheduleSeed, long timeInVenue, long traceHash) {
+            maxTimeInVenue.add(timeInVenue);
+            traces.add(traceHash);
+            if (timeInVenue > worstTimeInVenue) {
+                worstTimeInVenue = timeInVenue;
+                worstScheduleSeed = scheduleSeed;
+            }
+            if (timeInVenue < bestTimeInVenue) {
+                bestTimeInVenue = timeInVenue;
+                bestScheduleSeed = scheduleSeed;
+            }
+        }
+
+        /** Ties go to the lower seed, so the result doesn't depend on how the work was split. */
+        private void merge(Result other) {
+            maxTimeInVenue.merge(other.maxTimeInVenue);
+            traces.addAll(other.traces);
+            if (other.worstTimeInVenue > worstTimeInVenue
+                    || (other.worstTimeInVenue == worstTimeInVenue && other.worstScheduleSeed < worstScheduleSeed)) {
+                worstTimeInVenue = other.worstTimeInVenue;
+                worstScheduleSeed = other.worstScheduleSeed;
+            }
+            if (other.bestTimeInVenue < bestTimeInVenue
+                    || (other.bestTimeInVenue == bestTimeInVenue && other.bestScheduleSeed < bestScheduleSeed)) {
+                bestTimeInVenue = other.bestTimeInVenue;
+                bestScheduleSeed = other.bestScheduleSeed;
+            }
+        }
+
+        public long getSchedules() {
+            return maxTimeInVenue.getCount();
+        }
+
+        public int getDistinctTraces() {
+            return traces.size();
+        }
+
+        public RunningStatistics getMaxTimeInVenue() {
+            return maxTimeInVenue;
+        }
+
+        public long getWorstScheduleSeed() {
+            return worstScheduleSeed;
+        }
+
+        public long getWorstTimeInVenue() {
+            return worstTimeInVenue;
+        }
+
+        public long getBestScheduleSeed() {
+            return bestScheduleSeed;
+        }
+
+        public long getBestTimeInVenue() {
+            return bestTimeInVenue;
+        }
+    }
+
+    public InterleavingExplorer(int numClients, VenuePolicy policy, long arrivalSeed) {
+        this.numClients = numClients;
+        this.policy = policy;
+        this.arrivalSeed = arrivalSeed;
+    }
+
+    public InterleavingExplorer setConfig(VenueConfig config) {
+        this.config = config;
+        return this;
+    }
+
+    /** Schedule seeds 0 to {@code schedules - 1} are explored. */
+    public InterleavingExplorer setSchedules(int schedules) {
+        this.schedules = schedules;
+        return this;
+    }
+
+    public InterleavingExplorer setParallelism(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+        return this;
+    }
+
+    public long getArrivalSeed() {
+        return arrivalSeed;
+    }
+
+    public Result explore() {
+        return pool.invoke(new Schedules(0, schedules));
+    }
+
+    /**
+     * Runs one schedule.
+     *
+     * @param scheduleSeed null for the default FIFO schedule
+     * @return the simulation after it ended
+     */
+    public DiscreteEventSimulation runSchedule(Long scheduleSeed) {
+        DiscreteEventSimulation simulation = new DiscreteEventSimulation(numClients, new SplittableRandom(arrivalSeed), policy, config);
+        if (scheduleSeed != null) {
+            simulation.setScheduleSeed(scheduleSeed);
+        }
+        simulation.run();
+        return simulation;
+    }
+
+    /** @return longest time in venue of any Client in milliseconds, -1 if nobody went home */
+    public static long getMaxTimeInVenue(DiscreteEventSimulation simulation) {
+        long max = -1;
+        for (int i = 0; i < simulation.getNumClients(); i++) {
+            max = Math.max(max, simulation.getTimeInVenue(i));
+        }
+        return max;
+    }
+
+    /** Schedule seeds {@code from} (inclusive) to {@code to} (exclusive), split in halves until they are small enough. */
+    private class Schedules extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        private Schedules(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= BATCH_SIZE) {
+                Result result = new Result();
+                for (long scheduleSeed = from; scheduleSeed < to; scheduleSeed++) {
+                    DiscreteEventSimulation simulation = runSchedule(scheduleSeed);
+                    result.add(scheduleSeed, getMaxTimeInVenue(simulation), simulation.getTraceHash());
+                }
+                return result;
+            }
+
+            int middle = (from + to) >>> 1;
+            Schedules lower = new Schedules(from, middle);
+            lower.fork();
+            Result result = new Schedules(middle, to).compute();
+            result.merge(lower.join());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package simulation;
+
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Several venues of a chain in one city, each one a {@link DiscreteEventSimulation} with its own
+ * stations, Clients and {@link EventScheduler}. The venues share nothing, so they are simulated
+ * on different threads at the same time.
+ *
+ * They run side by side in windows of {@link #MIGRATION_INTERVAL} milliseconds of virtual time:
+ * every venue handles the Events of a window on its own, then all of them wait for each other.
+ * Between two windows the coordinator looks at all venues and redirects complete Groups that
+ * are waiting for a BowlingAlley to a venue with a BowlingAlley nobody plays on and nobody waits
+ * for. A redirected Group drops its ShoePairs, travels for {@link #TRAVEL_TIME} and then borrows
+ * shoes again at the other venue. Since Groups only move between windows and arrive later than
+ * the end of the window, no venue ever gets an Event in its past, and the results don't depend on
+ * the number of threads.
+ *
+ * The Clients don't arrive evenly: venue i gets a share proportional to 1 / (i + 1), so the first
+ * venue is the busiest one.
+ */
+public class MultiVenueSimulation {
+    /** Virtual time in milliseconds between two decisions of the coordinator. */
+    public static int MIGRATION_INTERVAL = 1000;
+
+    /** Virtual time in milliseconds a redirected Group needs to get to the other venue. */
+    public static int TRAVEL_TIME = 2000;
+
+    private final List<DiscreteEventSimulation> venues;
+
+    /** Whether the coordinator redirects Groups at all. */
+    private boolean migration = true;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /** Groups redirected from and to each venue, and the Clients in the Groups redirected to it. */
+    private final int[] groupsSentAway;
+    private final int[] groupsAdmitted;
+    private final int[] clientsAdmitted;
+
+    /** Virtual times at which the Groups redirected to each venue get there. */
+    private final List<List<Long>> groupsTravelling;
+
+    /** Number of windows the venues ran. */
+    private long windows;
+
+    public MultiVenueSimulation(int numVenues, int numClients, long seed, VenuePolicy policy) {
+        this(numVenues, numClients, seed, policy, new VenueConfig());
+    }
+
+    /**
+     * @param numClients Clients of all venues together
+     * @param seed       venue i draws its arrivals from a seed derived from this one, like a replication
+     */
+    public MultiVenueSimulation(int numVenues, int numClients, long seed, VenuePolicy policy, VenueConfig config) {
+        venues = new ArrayList<>(numVenues);
+        groupsSentAway = new int[numVenues];
+        groupsAdmitted = new int[numVenues];
+        clientsAdmitted = new int[numVenues];
+        groupsTravelling = new ArrayList<>(numVenues);
+        int[] clientsPerVenue = splitClients(numClients, numVenues, config.getGroupSize());
+        for (int i = 0; i < numVenues; i++) {
+            SplittableRandom random = new SplittableRandom(seed + i * 0x9E3779B97F4A7C15L);
+            venues.add(new DiscreteEventSimulation(clientsPerVenue[i], random, policy, config));
+            groupsTravelling.add(new ArrayList<Long>());
+        }
+    }
+
+    /**
+     * Splits the Clients proportionally to 1 / (i + 1) over the venues, in whole Groups so that
+     * every Group formed at a RegistrationDesk gets complete.
+     *
+     * @return number of Clients per venue
+     */
+    static int[] splitClients(int numClients, int numVenues, int groupSize) {
+        double totalWeight = 0;
+        for (int i = 0; i < numVenues; i++) {
+            totalWeight += 1.0 / (i + 1);
+        }
+        int numGroups = numClients / groupSize;
+        int[] clientsPerVenue = new int[numVenues];
+        double cumulativeShare = 0;
+        for (int i = 0; i < numVenues; i++) {
+            long before = Math.round(cumulativeShare * numGroups);
+            cumulativeShare += 1.0 / (i + 1) / totalWeight;
+            clientsPerVenue[i] = (int) (Math.round(cumulativeShare * numGroups) - before) * groupSize;
+        }
+        clientsPerVenue[0] += numClients - numGroups * groupSize;
+        return clientsPerVenue;
+    }
+
+    public MultiVenueSimulation setMigration(boolean migration) {
+        this.migration = migration;
+        return this;
+    }
+
+    /** Runs the venues on {@code parallelism} threads instead of the common pool. */
+    public MultiVenueSimulation setParallelism(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+        return this;
+    }
+
+    /**
+     * Runs all venues until every Client went home and prints a summary per venue and for the
+     * whole chain.
+     *
+     * @return the virtual time in milliseconds at which the last Client left
+     */
+    public long start() {
+        System.out.println("Multi-venue simulation started.\n-------------------------------");
+        long startNanos = System.nanoTime();
+
+        long endTime = run();
+
+        long wallMillis = (System.nanoTime() - startNanos) / 1000000;
+        System.out.println("------------------------------\nMulti-venue simulation ended.\n");
+        System.out.print(report(endTime));
+        System.out.println("Wall-clock time: " + wallMillis + "ms (" + windows + " windows on " + pool.getParallelism() + " threads)");
+        return endTime;
+    }
+
+    /**
+     * Runs all venues until every Client went home, without printing anything.
+     *
+     * @return the virtual time in milliseconds at which the last Client left
+     */
+    public long run() {
+        for (DiscreteEventSimulation venue : venues) {
+            venue.scheduleArrivals();
+        }
+
+        List<Callable<Boolean>> tasks = new ArrayList<>(venues.size());
+        long windowEnd = 0;
+        boolean eventsLeft = true;
+        while (eventsLeft) {
+            windowEnd += MIGRATION_INTERVAL;
+            final long time = windowEnd;
+            tasks.clear();
+            for (final DiscreteEventSimulation venue : venues) {
+                tasks.add(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        return venue.runUntil(time);
+                    }
+                });
+            }
+
+            eventsLeft = false;
+            for (Future<Boolean> result : pool.invokeAll(tasks)) {
+                eventsLeft |= getResult(result);
+            }
+            windows++;
+
+            if (migration && redirectGroups(windowEnd)) {
+                eventsLeft = true;
+            }
+        }
+
+        long endTime = 0;
+        for (DiscreteEventSimulation venue : venues) {
+            endTime = Math.max(endTime, venue.getLastEventTime());
+        }
+        return endTime;
+    }
+
+    private static boolean getResult(Future<Boolean> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("A venue failed", e);
+        }
+    }
+
+    /**
+     * Redirects one Group at a time from the venue with the most complete Groups waiting beyond
+     * its free BowlingAlleys to the venue with the most spare BowlingAlleys: free ones that neither
+     * a waiting Group nor a Group on its way will take. (With FIFO order of Groups a complete Group
+     * may wait behind an incomplete one while BowlingAlleys are free; it will get one soon.) A
+     * Group on its way counts against the spare BowlingAlleys of its venue until it gets there,
+     * and again once it is complete in the DancingRoom there.
+     *
+     * @param now virtual time at the end of the window
+     * @return true if a Group was redirected
+     */
+    private boolean redirectGroups(long now) {
+        int numVenues = venues.size();
+        int[] excess = new int[numVenues];
+        int[] spare = new int[numVenues];
+        for (int i = 0; i < numVenues; i++) {
+            DiscreteEventSimulation venue = venues.get(i);
+            List<Long> travelling = groupsTravelling.get(i);
+            for (int j = travelling.size() - 1; j >= 0; j--) {
+                if (travelling.get(j) <= now) {
+                    travelling.remove(j);
+                }
+            }
+            int freeAlleys = venue.getNumFreeAlleys();
+            int waiting = venue.getNumGroupsWaiting();
+            excess[i] = Math.max(0, waiting - freeAlleys);
+            spare[i] = Math.max(0, freeAlleys - waiting - travelling.size());
+        }
+
+        boolean redirected = false;
+        while (true) {
+            int from = indexOfMax(excess);
+            int to = indexOfMax(spare);
+            if (excess[from] == 0 || spare[to] == 0) {
+                return redirected;
+            }
+            long[] arrivalTimes = venues.get(from).sendGroupAway();
+            venues.get(to).admitGroup(arrivalTimes, TRAVEL_TIME);
+            groupsTravelling.get(to).add(now + TRAVEL_TIME);
+            groupsSentAway[from]++;
+            groupsAdmitted[to]++;
+            clientsAdmitted[to] += arrivalTimes.length;
+            excess[from]--;
+            spare[to]--;
+            redirected = true;
+        }
+    }
+
+    /** @return index of the largest value, the lowest index if several are equal */
+    private static int indexOfMax(int[] values) {
+        int max = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[max]) {
+                max = i;
+            }
+        }
+        return max;
+    }
+
+    public List<DiscreteEventSimulation> getVenues() {
+        return venues;
+    }
+
+    public int getGroupsSentAway(int venue) {
+        return groupsSentAway[venue];
+    }
+
+    public int getGroupsAdmitted(int venue) {
+        return groupsAdmitted[venue];
+    }
+
+    /** @return Clients that went home, over all venues */
+    public int countClientsLeft() {
+        int left = 0;
+        for (DiscreteEventSimulation venue : venues) {
+            left += venue.countClientsLeft();
+        }
+        return left;
+    }
+
+    /** @return mean virtual time in milliseconds the Clients that went home spent in the venues, including travelling */
+    public long getMeanTimeInVenue() {
+        long total = 0;
+        int left = 0;
+        for (DiscreteEventSimulation venue : venues) {
+            for (int i = 0; i < venue.getNumClients(); i++) {
+                long timeInVenue = venue.getTimeInVenue(i);
+                if (timeInVenue >= 0) {
+                    total += timeInVenue;
+                    left++;
+                }
+            }
+        }
+        return left == 0 ? 0 : total / left;
+    }
+
+    /** @return a table with one row per venue and a row for the whole chain */
+    public String report(long endTime) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-6s | %8s | %8s | %8s | %10s | %12s | %12s%n",
+                "Venue", "Clients", "Sent", "Admitted", "Went home", "Mean time (s)", "Alleys busy"));
+        long totalGroupsSent = 0;
+        for (int i = 0; i < venues.size(); i++) {
+            DiscreteEventSimulation venue = venues.get(i);
+            table.append(String.format("%-6d | %8d | %8d | %8d | %10d | %12.1f | %11.1f%%%n", i,
+                    venue.getNumClients() - clientsAdmitted[i], groupsSentAway[i], groupsAdmitted[i],
+                    venue.countClientsLeft(), venue.getClients().getMeanTimeInVenue() / 1000.0,
+                    100 * venue.getAlleyUtilization(endTime)));
+            totalGroupsSent += groupsSentAway[i];
+        }
+        int left = countClientsLeft();
+        table.append(String.format("%-6s | %8d | %8d | %8d | %10d | %12.1f |%n", "all",
+                getNumClients(), totalGroupsSent, totalGroupsSent, left, getMeanTimeInVenue() / 1000.0));
+        table.append(String.format("Throughput: %.0f Clients/hour, simulated time: %.1fs%n",
+                endTime == 0 ? 0 : left * 3600000.0 / endTime, endTime / 1000.0));
+        return table.toString();
+    }
+
+    /**
+     * Redirected Clients are appended to the {@link ClientTable} of the venue that admitted them.
+     *
+     * @return Clients that arrived at one of the venues, not counting redirected ones twice
+     */
+    public int getNumClients() {
+        int clients = 0;
+        for (int i = 0; i < venues.size(); i++) {
+            clients += venues.get(i).getNumClients() - clientsAdmitted[i];
+        }
+        return clients;
+    }
+}
@@ -0,0 +1,106 @@
+package simulation;
+
+import utils.VenueConfig;
+import utils.VenuePolicy;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Answers capacity questions statistically: instead of a single run, many independent
+ * replications of the {@link DiscreteEventSimulation} are run, each with its own stations and its
+ * own seeded source of random arrivals. The replications are spread over the cores with a
+ * {@link ForkJoinPool} and their results are combined into a {@link ReplicationSummary}.
+ *
+ * The discrete-event mode is used because a threaded {@link BowlingSimulation} sleeps through
+ * its delays; the virtual clock simulates a whole day in a venue in well below a millisecond.
+ *
+ * The results only depend on the seed and the number of replications, not on the number of
+ * threads: replication i always uses the same seed, derived from the seed of the runner.
+ */
+public class ReplicationRunner {
+    /** Number of replications a task runs itself instead of splitting them up further. */
+    private static final int BATCH_SIZE = 16;
+
+    private final int numClients;
+    private final VenuePolicy policy;
+    private VenueConfig config = new VenueConfig();
+
+    private int replications = 1000;
+    private long seed = System.nanoTime();
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    public ReplicationRunner(int numClients, VenuePolicy policy) {
+        this.numClients = numClients;
+        this.policy = policy;
+    }
+
+    public ReplicationRunner setReplications(int replications) {
+        this.replications = replications;
+        return this;
+    }
+
+    /** Size of the simulated venue, the values of the static fields by default. */
+    public ReplicationRunner setConfig(VenueConfig config) {
+        this.config = config;
+        return this;
+    }
+
+    public ReplicationRunner setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /** Runs the replications on {@code parallelism} threads instead of the common pool. */
+    public ReplicationRunner setParallelism(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+        return this;
+    }
+
+    public ReplicationSummary run() {
+        return pool.invoke(new Replications(0, replications));
+    }
+
+    /**
+     * Runs a single replication. The seed is spread with the golden-ratio constant, so
+     * neighbouring replications don't get similar seeds.
+     */
+    private void runReplication(int replication, ReplicationSummary summary) {
+        SplittableRandom random = new SplittableRandom(seed + replication * 0x9E3779B97F4A7C15L);
+        DiscreteEventSimulation simulation = new DiscreteEventSimulation(numClients, random, policy, config);
+        long endTime = simulation.run();
+        summary.add(simulation, endTime);
+    }
+
+    /** Replications {@code from} (inclusive) to {@code to} (exclusive), split in halves until they are small enough. */
+    private class Replications extends RecursiveTask<ReplicationSummary> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        private Replications(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ReplicationSummary compute() {
+            if (to - from <= BATCH_SIZE) {
+                ReplicationSummary summary = new ReplicationSummary();
+                for (int i = from; i < to; i++) {
+                    runReplication(i, summary);
+                }
+                return summary;
+            }
+
+            int middle = (from + to) >>> 1;
+            Replications lower = new Replications(from, middle);
+            lower.fork();
+            ReplicationSummary summary = new Replications(middle, to).compute();
+            summary.merge(lower.join());
+            return summary;
+        }
+    }
+}
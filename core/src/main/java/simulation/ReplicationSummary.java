@@ -0,0 +1,134 @@
+package simulation;
+
+import actors.Client;
+
+import java.util.Arrays;
+
+/**
+ * The results of many independent replications of a {@link DiscreteEventSimulation}. Every
+ * replication contributes one value to each statistic, so the confidence intervals describe how
+ * much the results of a venue vary from one day (one set of random arrivals) to the next.
+ */
+public class ReplicationSummary {
+    /** Clients that went home per simulated hour. */
+    private final RunningStatistics throughput = new RunningStatistics();
+
+    /** Mean and 95th percentile of the time the Clients of one replication spent in the venue, in seconds. */
+    private final RunningStatistics meanTimeInVenue = new RunningStatistics();
+    private final RunningStatistics p95TimeInVenue = new RunningStatistics();
+
+    /**
+     * Mean time in seconds a Client of one replication spent waiting, which is his time in the
+     * venue without the time he was served or bowled.
+     */
+    private final RunningStatistics meanWait = new RunningStatistics();
+
+    /** Share of the simulated time the BowlingAlleys were occupied, in percent. */
+    private final RunningStatistics alleyUtilization = new RunningStatistics();
+
+    /** Share of the seats on all BowlingAlleys that were occupied, in percent. */
+    private final RunningStatistics seatUtilization = new RunningStatistics();
+
+    /** Replications in which not every Client went home. */
+    private long incompleteReplications;
+
+    /**
+     * Adds the results of one finished replication.
+     *
+     * @param simulation the replication, after {@link DiscreteEventSimulation#run()} returned
+     * @param endTime    what {@link DiscreteEventSimulation#run()} returned
+     */
+    public void add(DiscreteEventSimulation simulation, long endTime) {
+        int left = simulation.countClientsLeft();
+        if (left < simulation.getNumClients()) {
+            incompleteReplications++;
+        }
+
+        long[] timesInVenue = new long[left];
+        int next = 0;
+        long total = 0;
+        for (int i = 0; i < simulation.getNumClients(); i++) {
+            long timeInVenue = simulation.getTimeInVenue(i);
+            if (timeInVenue >= 0) {
+                timesInVenue[next++] = timeInVenue;
+                total += timeInVenue;
+            }
+        }
+
+        if (endTime > 0) {
+            throughput.add(left * 3600000.0 / endTime);
+        }
+        if (left > 0) {
+            Arrays.sort(timesInVenue);
+            int p95Index = (int) Math.ceil(0.95 * left) - 1;
+            long serviceTime = 2 * Client.REGISTER_PAY_TIME + 2 * simulation.getPolicy().getBorrowReturnShoesTime() + Client.BOWLING_TIME;
+            meanTimeInVenue.add((double) total / left / 1000);
+            p95TimeInVenue.add((double) timesInVenue[p95Index] / 1000);
+            meanWait.add(((double) total / left - serviceTime) / 1000);
+        }
+        alleyUtilization.add(100 * simulation.getAlleyUtilization(endTime));
+        seatUtilization.add(100 * simulation.getSeatUtilization(endTime));
+    }
+
+    /** Adds all replications {@code other} saw. */
+    public void merge(ReplicationSummary other) {
+        throughput.merge(other.throughput);
+        meanTimeInVenue.merge(other.meanTimeInVenue);
+        p95TimeInVenue.merge(other.p95TimeInVenue);
+        meanWait.merge(other.meanWait);
+        alleyUtilization.merge(other.alleyUtilization);
+        seatUtilization.merge(other.seatUtilization);
+        incompleteReplications += other.incompleteReplications;
+    }
+
+    public long getReplications() {
+        return alleyUtilization.getCount();
+    }
+
+    public long getIncompleteReplications() {
+        return incompleteReplications;
+    }
+
+    public RunningStatistics getThroughput() {
+        return throughput;
+    }
+
+    public RunningStatistics getMeanTimeInVenue() {
+        return meanTimeInVenue;
+    }
+
+    public RunningStatistics getP95TimeInVenue() {
+        return p95TimeInVenue;
+    }
+
+    public RunningStatistics getMeanWait() {
+        return meanWait;
+    }
+
+    public RunningStatistics getAlleyUtilization() {
+        return alleyUtilization;
+    }
+
+    public RunningStatistics getSeatUtilization() {
+        return seatUtilization;
+    }
+
+    /** One row per statistic with its mean, 95% confidence interval and range over all replications. */
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-30s | %10s | %10s | %10s | %10s%n", "Statistic", "Mean", "95% CI +-", "Min", "Max"));
+        appendRow(table, "Throughput (Clients/hour)", throughput);
+        appendRow(table, "Mean time in venue (s)", meanTimeInVenue);
+        appendRow(table, "p95 time in venue (s)", p95TimeInVenue);
+        appendRow(table, "Mean wait (s)", meanWait);
+        appendRow(table, "BowlingAlley utilization (%)", alleyUtilization);
+        appendRow(table, "Seat utilization (%)", seatUtilization);
+        return table.toString();
+    }
+
+    private static void appendRow(StringBuilder table, String name, RunningStatistics statistics) {
+        table.append(String.format("%-30s | %10.3f | %10.3f | %10.3f | %10.3f%n", name, statistics.getMean(),
+                statistics.getConfidenceHalfWidth(), statistics.getMin(), statistics.getMax()));
+    }
+}
@@ -0,0 +1,72 @@
+package simulation;
+
+/**
+ * Mean and variance of a series of values, updated one value at a time (Welford's algorithm).
+ * Two instances that saw different values can be merged, so every fork-join task of a
+ * {@link ReplicationRunner} keeps its own instance and the results are combined afterwards.
+ */
+public class RunningStatistics {
+    /** Quantile of the standard normal distribution for a two-sided 95% confidence interval. */
+    private static final double Z_95 = 1.96;
+
+    private long count;
+    private double mean;
+
+    /** Sum of the squared differences from the current mean. */
+    private double squaredDeviations;
+
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /** Adds all values {@code other} saw, as if they had been added to this instance. */
+    public void merge(RunningStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        squaredDeviations += other.squaredDeviations + delta * delta * count * other.count / total;
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /** @return sample standard deviation, 0 for less than two values */
+    public double getStandardDeviation() {
+        return count < 2 ? 0 : Math.sqrt(squaredDeviations / (count - 1));
+    }
+
+    /**
+     * Half the width of the 95% confidence interval of the mean. Uses the normal approximation,
+     * which is fine for the hundreds or thousands of replications this is meant for.
+     */
+    public double getConfidenceHalfWidth() {
+        return count < 2 ? 0 : Z_95 * getStandardDeviation() / Math.sqrt(count);
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+}
@@ -0,0 +1,40 @@
+package simulation;
+
+/**
+ * The steps of a Client's lifecycle in the order he goes through them. Corresponds to the
+ * sequence of calls in {@link actors.Client#run()}.
+ */
+public enum Stage {
+    ARRIVING,
+    REGISTERING,
+    BORROWING_SHOES,
+    DANCING,
+    BOWLING,
+    PAYING,
+    RETURNING_SHOES,
+    LEFT,
+
+    /**
+     * A Client who left without bowling: turned away at the RegistrationDesk, or gone home with his
+     * Group that gave up waiting. Nothing follows these steps.
+     */
+    TURNED_AWAY,
+    RENEGED;
+
+    private static final Stage[] STAGES = values();
+
+    /** @return the step following this one */
+    public Stage next() {
+        return STAGES[ordinal() + 1];
+    }
+
+    /** @return true if a Client in this step got a BowlingAlley, he may have left since */
+    public boolean gotAlley() {
+        return ordinal() >= BOWLING.ordinal() && ordinal() <= LEFT.ordinal();
+    }
+
+    /** @return the step with the given {@link #ordinal()} */
+    static Stage of(int ordinal) {
+        return STAGES[ordinal];
+    }
+}
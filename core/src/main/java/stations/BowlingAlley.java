@@ -0,0 +1,158 @@
+package stations;
+
+import actors.Client;
+import logging.EventKind;
+import logging.EventLog;
+import logging.Station;
+import utils.AlleyAssignment;
+import utils.Group;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * BowlingAlley can be assigned to one Group at a time that will then play on it. With
+ * {@link AlleyAssignment#BIN_PACKING} several small Groups share it, each playing its own game.
+ *
+ * It is managed by an instance of {@link BowlingArea}.
+ */
+public class BowlingAlley {
+    /** Id of a BowlingAlley. */
+    private int id;
+
+    /** Number of Clients of each Group assigned to this BowlingAlley that arrived here. */
+    private Map<Group, Integer> clientsReadyToPlay;
+
+    /** Instance of BowlingArea which manages all BowlingAlleys. */
+    private BowlingArea bowlingArea;
+
+    /**
+     * Used instead of the monitor of {@code this} so that Clients on virtual threads don't pin
+     * their carrier thread while waiting (see {@link utils.ExecutionMode#VIRTUAL}).
+     */
+    private final ReentrantLock lock;
+    private final Condition groupComplete;
+
+    public BowlingAlley(int id, BowlingArea bowlingArea) {
+        this.id = id;
+        this.bowlingArea = bowlingArea;
+        clientsReadyToPlay = new HashMap<>();
+        lock = new ReentrantLock();
+        groupComplete = lock.newCondition();
+    }
+
+    /**
+     * Although a BowlingAlley is only meant for one Group, we need to eliminate the possibility that
+     * multiple Clients of this one Group enter this method to the same time. Therefore we need to
+     * hold {@code lock} because instance variables are shared in this method.
+     *
+     * We don't need to make use of {@link utils.GroupSynchronizer} because only few Groups (one
+     * unless they share the BowlingAlley) are assigned to a BowlingAlley at any point of time.
+     * Counting the arrived Clients per Group and waking up all waiting Clients is cheap enough.
+     * The while() is needed because Clients of another Group might be woken up, too.
+     *
+     * @param client every Client will call this method and will wait for other Clients in his Group
+     *               if it isn't complete yet.
+     */
+    public void waitAtAlleyForGroup(Client client) {
+        long arrivalNanos = System.nanoTime();
+        lock.lock();
+        try {
+            Group group = client.getGroup();
+            Integer arrived = clientsReadyToPlay.get(group);
+            int readyToPlay = arrived == null ? 1 : arrived + 1;
+            clientsReadyToPlay.put(group, readyToPlay);
+
+            if (readyToPlay == group.getMaxSize()) {
+                EventLog.publish(Station.BOWLING_ALLEY, EventKind.GROUP_AT_ALLEY, client.getId(), group.getId(), id, 0);
+                groupComplete.signalAll();
+            } else {
+                EventLog.publish(Station.BOWLING_ALLEY, EventKind.WAITING_AT_ALLEY, client.getId(), group.getId(), id, 0);
+                bowlingArea.clientsAssembling.enter();
+                while (!isGroupComplete(group)) {
+                    try {
+                        groupComplete.await();
+                    } catch (InterruptedException e) {
+                    }
+                }
+                bowlingArea.clientsAssembling.leave();
+            }
+            bowlingArea.assemblyWait.recordSince(arrivalNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Only called while holding {@code lock}.
+     *
+     * @return true if every Client of the Group arrived here, or if its game is even over already
+     */
+    private boolean isGroupComplete(Group group) {
+        Integer arrived = clientsReadyToPlay.get(group);
+        return arrived == null || arrived == group.getMaxSize();
+    }
+
+    /**
+     * Client can finally start bowling. Every Client of a Group plays to the same time, so this method
+     * is not allowed to be synchronized. This is okay because we don't read or write shared variables here.
+     *
+     * @param client Client that will start bowling
+     */
+    public void play(Client client) {
+        EventLog.publish(Station.BOWLING_ALLEY, EventKind.BOWLING, client.getId(), client.getGroup().getId(), id, 0);
+
+        /** Client plays the bowling match of his life... */
+        client.bowl();
+
+        gameEnded(client);
+    }
+
+    /**
+     * Here we make sure that only one Client (as asked in the exercise) reports to the
+     * BowlingArea a new BowlingAlley is free now (= game has ended).
+     *
+     * Holding {@code lock} is only needed to decide which Client is the first one: he clears
+     * the BowlingAlley of his Group, all other Clients see it cleared and don't re-notify the
+     * BowlingArea. The BowlingArea is notified after {@code lock} is released, so no lock is held
+     * while it signals the DancingRoom.
+     *
+     * @param client Every Client of a Group enters this method
+     */
+    public void gameEnded(Client client) {
+        Group group = client.getGroup();
+        boolean releases = false;
+        lock.lock();
+        try {
+            if(group.getBowlingAlley() != null) {
+                EventLog.publish(Station.BOWLING_ALLEY, EventKind.GAME_OVER, client.getId(), group.getId());
+                clientsReadyToPlay.remove(group);
+                group.forgetBowlingAlley();
+                releases = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (releases) {
+            bowlingArea.gameEnded(this, BowlingArea.seatsNeeded(group.getMaxSize()));
+        }
+    }
+
+    /**
+     * The Id never changes after construction, so no lock is needed here.
+     *
+     * @return the Id of the BowlingAlley
+     */
+    public int getId() {
+        return id;
+    }
+
+    /** @return estimated number of Clients waiting to acquire {@code lock} */
+    public int getLockQueueLength() {
+        return lock.getQueueLength();
+    }
+}
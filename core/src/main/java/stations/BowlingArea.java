@@ -0,0 +1,235 @@
+package stations;
+
+import logging.EventKind;
+import logging.EventLog;
+import logging.Station;
+import metrics.LatencyHistogram;
+import metrics.QueueDepthGauge;
+import metrics.StationMetrics;
+import utils.AlleyAssignment;
+import utils.Contended;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A BowlingArea has no direct interaction with the Clients. It is only responsible to inform
+ * the DancingRoom that a BowlingAlley is free. Clients then work directly with the passed
+ * object of a BowlingAlley.
+ */
+public class BowlingArea implements Contended {
+    /**
+     * Total number of BowlingAlleys the BowlingArea consists of.
+     */
+    public static int NUM_ALLEYS = 3;
+
+    /** Number of Clients that can play on one BowlingAlley at the same time. */
+    public static int SEATS_PER_ALLEY = 8;
+
+    /**
+     * Seats a Group of the given size takes on a BowlingAlley with {@link AlleyAssignment#BIN_PACKING}.
+     * A Group larger than a BowlingAlley takes all of its seats, i.e. a whole empty BowlingAlley,
+     * and its Clients take turns on them. Taking and giving back seats both use this, so a Group
+     * never gives back more seats than it took.
+     *
+     * @param groupSize number of Clients in the Group
+     * @return seats needed, at most {@link #SEATS_PER_ALLEY}
+     */
+    public static int seatsNeeded(int groupSize) {
+        return Math.min(groupSize, SEATS_PER_ALLEY);
+    }
+
+    /** Decides if Groups get BowlingAlleys of their own or share them. */
+    public static AlleyAssignment ALLEY_ASSIGNMENT = AlleyAssignment.FIFO;
+
+    /**
+     * Reference to the DancingRoom to inform him that BowlingAlley is free'd up after
+     * a Group finished playing.
+     */
+    DancingRoom dancingRoom;
+
+    /** All BowlingAlleys, indexed by their Id. */
+    private final BowlingAlley[] alleys;
+
+    /**
+     * Keeps track of the available BowlingAlleys without a lock: bit {@code i % 64} of word
+     * {@code i / 64} is set while the BowlingAlley with Id i is free. A BowlingAlley is taken by
+     * clearing its bit with a compare-and-set, so two Groups can never get the same BowlingAlley.
+     */
+    private final AtomicLongArray freeAlleys;
+
+    /**
+     * Free seats of every BowlingAlley, only used with {@link AlleyAssignment#BIN_PACKING}
+     * instead of {@code freeAlleys}. Seats are taken and given back with compare-and-set as well.
+     */
+    private final AtomicIntegerArray freeSeats;
+
+    /**
+     * Shared by all BowlingAlleys: how long Clients wait at their BowlingAlley until their whole
+     * Group arrived there.
+     */
+    private final StationMetrics metrics;
+    final LatencyHistogram assemblyWait;
+    final QueueDepthGauge clientsAssembling;
+
+    /**
+     * Construct BowlingArea with NUM_ALLEYS BowlingAlleys.
+     */
+    public BowlingArea(DancingRoom dancingRoom) {
+        this.dancingRoom = dancingRoom;
+        metrics = new StationMetrics(Station.BOWLING_ALLEY);
+        assemblyWait = metrics.newHistogram("assembly wait");
+        clientsAssembling = metrics.newGauge("waiting for group");
+
+        alleys = new BowlingAlley[NUM_ALLEYS];
+        freeAlleys = new AtomicLongArray((NUM_ALLEYS + 63) / 64);
+        freeSeats = new AtomicIntegerArray(NUM_ALLEYS);
+
+        for (int i = 0; i < NUM_ALLEYS; i++) {
+            alleys[i] = new BowlingAlley(i, this);
+            setFree(i);
+            freeSeats.set(i, SEATS_PER_ALLEY);
+        }
+    }
+
+    /**
+     * Takes a free BowlingAlley if there is one. Doesn't block and doesn't hold a lock: the
+     * bit of a free BowlingAlley is cleared with a compare-and-set. If another Group took the
+     * same BowlingAlley in the meantime, the next free one is tried.
+     *
+     * The search starts at a word that depends on the calling thread, so many Group leaders
+     * looking at the same time don't all compete for the same word.
+     *
+     * @return free BowlingAlley on which Client's Group can play on, null if all are occupied
+     */
+    public BowlingAlley tryAcquireAlley() {
+        int words = freeAlleys.length();
+        int firstWord = (int) (Thread.currentThread().getId() % words);
+
+        for (int i = 0; i < words; i++) {
+            int word = (firstWord + i) % words;
+            long free = freeAlleys.get(word);
+            while (free != 0) {
+                long lowestFree = Long.lowestOneBit(free);
+                if (freeAlleys.compareAndSet(word, free, free & ~lowestFree)) {
+                    BowlingAlley alley = alleys[word * 64 + Long.numberOfTrailingZeros(lowestFree)];
+                    EventLog.publish(Station.BOWLING_AREA, EventKind.ALLEY_ASSIGNED, -1, -1, countFreeAlleys(), NUM_ALLEYS);
+                    return alley;
+                }
+                free = freeAlleys.get(word);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes {@code seats} seats on the BowlingAlley with the fewest free seats that are still
+     * enough (best fit), see {@link AlleyAssignment#BIN_PACKING}. Like {@link #tryAcquireAlley()}
+     * it doesn't block: if another Group took seats of the chosen BowlingAlley in the meantime,
+     * the search starts again.
+     *
+     * @param seats number of seats needed, see {@link #seatsNeeded(int)}
+     * @return BowlingAlley on which Client's Group can play on, null if none has enough free seats
+     */
+    public BowlingAlley tryAcquireSeats(int seats) {
+        while (true) {
+            int bestFit = -1;
+            int bestFree = 0;
+            for (int i = 0; i < NUM_ALLEYS; i++) {
+                int free = freeSeats.get(i);
+                if (free >= seats && (bestFit < 0 || free < bestFree)) {
+                    bestFit = i;
+                    bestFree = free;
+                }
+            }
+            if (bestFit < 0) {
+                return null;
+            }
+            if (freeSeats.compareAndSet(bestFit, bestFree, bestFree - seats)) {
+                EventLog.publish(Station.BOWLING_AREA, EventKind.ALLEY_ASSIGNED, -1, -1, countFreeAlleys(), NUM_ALLEYS);
+                return alleys[bestFit];
+            }
+        }
+    }
+
+    /**
+     * Only a snapshot: by the time the caller acts on it, another Group might have taken the
+     * BowlingAlley. Use {@link #tryAcquireAlley()} to actually get one.
+     *
+     * @return true if at least one BowlingAlley is free
+     */
+    public boolean isAlleyFree() {
+        for (int i = 0; i < freeAlleys.length(); i++) {
+            if (freeAlleys.get(i) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return number of free BowlingAlleys (nobody plays on them), only a snapshot like {@link #isAlleyFree()} */
+    public int countFreeAlleys() {
+        int free = 0;
+        if (ALLEY_ASSIGNMENT == AlleyAssignment.BIN_PACKING) {
+            for (int i = 0; i < NUM_ALLEYS; i++) {
+                if (freeSeats.get(i) == SEATS_PER_ALLEY) {
+                    free++;
+                }
+            }
+            return free;
+        }
+        for (int i = 0; i < freeAlleys.length(); i++) {
+            free += Long.bitCount(freeAlleys.get(i));
+        }
+        return free;
+    }
+
+    /**
+     * Called by the BowlingAlley on which a game just ended. Makes the BowlingAlley available
+     * again without any lock and then notifies the DancingRoom.
+     * <p>
+     * No lock is held while notifying, so there is no lock ordering between this BowlingArea and
+     * the DancingRoom. No notification gets lost: a dancing Client that didn't see the released
+     * alley yet still holds the lock of the DancingRoom, so the notification has to wait until he
+     * awaits it.
+     *
+     * @param releasedAlley the BowlingAlley object on which a game just ended
+     * @param seats         number of seats the Group took (see {@link #seatsNeeded(int)}), only used with {@link AlleyAssignment#BIN_PACKING}
+     */
+    public void gameEnded(BowlingAlley releasedAlley, int seats) {
+        if (ALLEY_ASSIGNMENT == AlleyAssignment.BIN_PACKING) {
+            freeSeats.addAndGet(releasedAlley.getId(), seats);
+        } else {
+            setFree(releasedAlley.getId());
+        }
+
+        EventLog.publish(Station.BOWLING_AREA, EventKind.ALLEY_RELEASED, -1, -1, countFreeAlleys(), NUM_ALLEYS);
+
+        /** Notify DancingRoom that game has ended. */
+        dancingRoom.gameEnded();
+    }
+
+    /** The BowlingArea itself has no lock, so these are the Clients queueing at the BowlingAlleys. */
+    @Override
+    public int getLockQueueLength() {
+        int queueLength = 0;
+        for (BowlingAlley alley : alleys) {
+            queueLength += alley.getLockQueueLength();
+        }
+        return queueLength;
+    }
+
+    /** Sets the bit of a BowlingAlley, retrying if other BowlingAlleys of the same word change meanwhile. */
+    private void setFree(int alleyId) {
+        int word = alleyId / 64;
+        long bit = 1L << (alleyId % 64);
+        long free;
+        do {
+            free = freeAlleys.get(word);
+        } while (!freeAlleys.compareAndSet(word, free, free | bit));
+    }
+
+    public StationMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -1,6 +1,9 @@
 package stations;
 
 import actors.Client;
+import logging.EventKind;
+import logging.EventLog;
+import logging.Station;
 import utils.Group;
 
 /**
@@ -32,16 +35,13 @@ public class Cashier {
         /** Registering takes some time... */
         client.waitAtRegistrationDesk();
 
-        /**
-         * Register the Client independent of a Group. {@code clients} is not used at another
-         * place in code, might make sense though in reality to keep track of all Clients.
-         */
+        /** Register the Client independent of a Group, which counts him as in the venue. */
         registrationDesk.addClient(client);
 
         /** Assign Client to a Group and let Client know about his Group. */
-        Group group = registrationDesk.getAssignedGroupForClient();
+        Group group = registrationDesk.getAssignedGroupForClient(client);
         client.setGroup(group);
-        //System.out.println("Client(" + client.getId() + ") got assigned to Group(" + group.getId() + ").");
+        EventLog.publish(Station.REGISTRATION_DESK, EventKind.REGISTERED, client.getId(), group.getId(), id, 0);
 
         /** Notify the RegistrationDesk that this Cashier is now available again. */
         cashierGotAvailable();
@@ -61,13 +61,9 @@ public class Cashier {
         /** Paying takes some time... */
         client.waitAtRegistrationDesk();
 
-        /**
-         * Remove Client from {@code clients}. This can be removed if variable {@code clients}
-         * is supposed to even keep track of Clients after they left the venue. If it's removed
-         * this method doesn't have to be {@code synchronized}.
-         */
+        /** Remove Client from the registered Clients, he's about to leave the venue. */
         registrationDesk.removeClient(client);
-        System.out.println("Client(" + client.getId() + ") just paid.");
+        EventLog.publish(Station.REGISTRATION_DESK, EventKind.PAID, client.getId(), -1);
 
         /** Notify the RegistrationDesk that this Cashier is now available again. */
         cashierGotAvailable();
@@ -0,0 +1,300 @@
+package stations;
+
+import actors.Client;
+import logging.EventKind;
+import logging.EventLog;
+import logging.Station;
+import metrics.ClientCounter;
+import metrics.LatencyHistogram;
+import metrics.QueueDepthGauge;
+import utils.AlleyAssignment;
+import utils.Group;
+import utils.GroupScheduler;
+import utils.GroupSynchronizer;
+import utils.SchedulingPolicy;
+import utils.VenuePolicy;
+
+/**
+ * DancingRoom is a room every Client has to pass. It is entered after the ShoesRoom
+ * and before going to a BowlingAlley
+ * <p>
+ * It makes use of Group synchronization by extending {@link GroupSynchronizer}. Its own state
+ * is guarded by the {@code lock} inherited from there.
+ * <p>
+ * With {@link Client#PATIENCE} a complete Group that danced that long without a BowlingAlley
+ * gives up and goes home.
+ */
+public class DancingRoom extends GroupSynchronizer {
+    /** Order in which Groups get BowlingAlleys from Part 2 on. */
+    public static SchedulingPolicy SCHEDULING_POLICY = SchedulingPolicy.FIFO;
+
+    /**
+     * BowlingArea which notifies DancingRoom about newly released BowlingAlleys.
+     */
+    private BowlingArea bowlingArea;
+
+    /**
+     * Arrived Groups that have no BowlingAlley yet. Order is important because we want to
+     * provide a priority of Groups in Part 2, which order is decided by {@link #SCHEDULING_POLICY}.
+     */
+    private GroupScheduler arrivedGroups;
+
+    /** Decides if Groups get BowlingAlleys in order of arrival. */
+    private VenuePolicy policy;
+
+    /**
+     * How often the first Group in {@code arrivedGroups} was overtaken by a smaller Group, see
+     * {@link AlleyAssignment#BIN_PACKING}. Reset whenever the first Group changes.
+     */
+    private int headBypasses;
+
+    /** How long complete Groups dance until they get a BowlingAlley. */
+    private final LatencyHistogram alleyWait;
+    private final QueueDepthGauge alleyWaiters;
+
+    /** Clients whose Group gave up waiting for a BowlingAlley, only counted with {@link Client#PATIENCE}. */
+    private ClientCounter reneged;
+
+    /** {@link Client#PATIENCE} when the DancingRoom was built, later changes don't affect the Groups here. */
+    private final int patience;
+
+    public DancingRoom() {
+        this(VenuePolicy.PART3);
+    }
+
+    public DancingRoom(VenuePolicy policy) {
+        super(Station.DANCING_ROOM);
+        this.policy = policy;
+        bowlingArea = new BowlingArea(this);
+        arrivedGroups = SCHEDULING_POLICY.newScheduler();
+        alleyWait = metrics.newHistogram("alley wait");
+        alleyWaiters = metrics.newGauge("waiting for alley");
+        patience = Client.PATIENCE;
+        if (patience > 0) {
+            reneged = metrics.newCounter("reneged");
+        }
+    }
+
+    /**
+     * Every Client has to wait for his Group in the DancingRoom and dance. Must hold
+     * {@code lock} because shared instance variables are accessed in this method.
+     *
+     * @param client Client that enters DancingRoom.
+     * @return the BowlingAlley that Client eventually got assigned to, null if his Group gave up waiting.
+     */
+    public BowlingAlley danceAndRequestAlley(Client client) {
+        lock.lock();
+        try {
+            return danceUntilAlleyAssigned(client);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Body of {@link #danceAndRequestAlley(Client)}, only called while holding {@code lock}. */
+    private BowlingAlley danceUntilAlleyAssigned(Client client) {
+        //System.out.println("Client(" + client.getId() + ") arrived in DancingRoom.");
+        Group group = client.getGroup();
+
+        /**
+         * If the Client's Group hasn't been seen until now in the DanceRoom, add it to the
+         * {@code arrivedGroups}. This is used to determine which Group is allowed to play
+         * next, based on the order of arrival (FIFO) unless another scheduling policy is chosen.
+         */
+        updateGroupOrder(group);
+
+        /**
+         * Check if Client's Group is complete now.
+         * If not, wait for the remaining Clients for that Group.
+         * If yes, go on with the whole Group.
+         */
+        super.waitForWholeGroup(client);
+        long completeNanos = System.nanoTime();
+        long deadline = completeNanos + Client.scaledNanos(patience);
+        boolean waits = false;
+
+        /**
+         * If Client's Group already has a BowlingAlley assigned, skip the while() and return the BowlingAlley.
+         * If there is no BowlingAlley assigned, we first check if the Group is the next one to have access
+         * and try to take a free BowlingAlley. If not we wait.
+         *
+         * If we got a free BowlingAlley, we reserve that for the Group and return it.
+         * When a game ended (see below), all waiting threads are woken up and one Client will take the
+         * lock of this method. This first Client will book the BowlingAlley that just free'd up for his Group.
+         * All other Clients in his Group that are woken up, will eventually get the lock too and
+         * see in the while() that a BowlingAlley has already booked for their team. With that they
+         * won't re-request a BowlingAlley. Therefore, the re-checking of the condition is essential and an if()
+         * is not enough here. Because of a very similar reason we have to put an if() inside the while() (and not
+         * a second while()) so that the first step for each woken up Client is that he checks if his Group has
+         * already a BowlingAlley assigned.
+         *
+         * The first Client of a Group that runs out of patience gives up for the whole Group. The
+         * others see that when they wake up and leave with him.
+         */
+        while (!group.hasAlleyAssigned() && !group.hasReneged()) {
+            BowlingAlley freeAlley = mayTakeAlley(group) ? acquireAlley(group) : null;
+            if (freeAlley == null) {
+                EventLog.publish(Station.DANCING_ROOM, EventKind.NO_ALLEY_FOR_GROUP, client.getId(), group.getId());
+                if (!waits) {
+                    waits = true;
+                    alleyWaiters.enter();
+                }
+                long remaining = deadline - System.nanoTime();
+                if (patience > 0 && remaining <= 0) {
+                    renege(group);
+                    continue;
+                }
+                try {
+                    /** Dance... */
+                    if (patience == 0) {
+                        condition.await();
+                    } else {
+                        condition.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                }
+
+                EventLog.publish(Station.DANCING_ROOM, EventKind.RETRYING_FOR_ALLEY, client.getId(), group.getId());
+            } else {
+                group.setBowlingAlley(freeAlley);
+
+                /** It is important to remove the Group who got access from {@code arrivedGroups}. */
+                removeGroupFromArrivedGroups(group);
+
+                /**
+                 * Now another Group is next and there might still be a free BowlingAlley for it.
+                 * Dancing Clients used to be woken up by every Group that got complete in
+                 * {@link GroupSynchronizer}. Since Groups now only wake up their own Clients,
+                 * we wake up the dancing Clients here.
+                 */
+                condition.signalAll();
+            }
+        }
+
+        if (waits) {
+            alleyWaiters.leave();
+        }
+        if (group.hasReneged()) {
+            EventLog.publish(Station.DANCING_ROOM, EventKind.RENEGED, client.getId(), group.getId(),
+                    (int) ((System.nanoTime() - completeNanos) / 1000000), 0);
+            reneged.increment();
+            return null;
+        }
+        alleyWait.recordSince(completeNanos);
+
+        EventLog.publish(Station.DANCING_ROOM, EventKind.ALLEY_GRANTED, client.getId(), group.getId(), group.getBowlingAlley().getId(), 0);
+
+        return group.getBowlingAlley();
+    }
+
+    /**
+     * Adds the Client's Group to {@code arrivedGroups} unless it is there already (the scheduler
+     * checks this without scanning). Without FIFO order of Groups (Part 1) the order isn't needed
+     * and nothing is added.
+     *
+     * The time of arrival is passed in scaled milliseconds, the same unit as {@link Client#BOWLING_TIME}.
+     *
+     * @param group that might be added to the arrived Groups.
+     */
+    private void updateGroupOrder(Group group) {
+        if (!policy.isGroupOrderFifo()) {
+            return;
+        }
+        arrivedGroups.add(group, (long) (System.nanoTime() / 1e6 * Client.TIME_SCALE));
+    }
+
+    /**
+     * Checks if a Group is given the next free BowlingAlley. Only called while holding
+     * {@code lock} because we work on a shared variable here. Without FIFO order of Groups
+     * (Part 1) every complete Group may take the next free BowlingAlley.
+     *
+     * @param group to be checked
+     * @return true if Group is next. False if not next.
+     */
+    private boolean isGroupNext(Group group) {
+        if (!policy.isGroupOrderFifo()) {
+            return true;
+        }
+        /**
+         * No need to check for null because this method is only called while the Group of the calling
+         * Client is in {@code arrivedGroups}. Therefore, {@code peek()} always returns a valid Group.
+         */
+        return arrivedGroups.peek().getId() == group.getId();
+    }
+
+    /**
+     * With {@link AlleyAssignment#BIN_PACKING} a Group that is not next may still take seats, as long
+     * as the next Group wasn't overtaken too often. Only called while holding {@code lock}.
+     *
+     * @param group to be checked
+     * @return true if the Group may try to get a BowlingAlley now
+     */
+    private boolean mayTakeAlley(Group group) {
+        if (isGroupNext(group)) {
+            return true;
+        }
+        return BowlingArea.ALLEY_ASSIGNMENT == AlleyAssignment.BIN_PACKING && headBypasses < AlleyAssignment.MAX_BYPASSES;
+    }
+
+    /** @return a whole free BowlingAlley or seats on a shared one, depending on the assignment; null if there is none */
+    private BowlingAlley acquireAlley(Group group) {
+        if (BowlingArea.ALLEY_ASSIGNMENT == AlleyAssignment.BIN_PACKING) {
+            return bowlingArea.tryAcquireSeats(BowlingArea.seatsNeeded(group.getMaxSize()));
+        }
+        return bowlingArea.tryAcquireAlley();
+    }
+
+    /**
+     * After a Group got a BowlingAlley, we need to make sure that this Group is removed from the list
+     * {@code arrivedGroups}. This method is only called by the Client that got the BowlingAlley for his
+     * Group. Usually this Group is the next one. With {@link AlleyAssignment#BIN_PACKING} it may also have
+     * overtaken the next Group, which is counted.
+     *
+     * @param group to be removed from the arrived Groups
+     */
+    private void removeGroupFromArrivedGroups(Group group) {
+        if (!policy.isGroupOrderFifo()) {
+            return;
+        }
+        headBypasses = isGroupNext(group) ? 0 : headBypasses + 1;
+        arrivedGroups.remove(group);
+    }
+
+    /**
+     * The Group gives up waiting for a BowlingAlley. It no longer holds back the Groups behind it,
+     * so all dancing Clients are woken up: those of this Group go home, the others may take a free
+     * BowlingAlley now. Only called while holding {@code lock}.
+     */
+    private void renege(Group group) {
+        group.renege();
+        if (policy.isGroupOrderFifo()) {
+            if (isGroupNext(group)) {
+                headBypasses = 0;
+            }
+            arrivedGroups.remove(group);
+        }
+        condition.signalAll();
+    }
+
+    /**
+     * This method is called from {@code bowlingArea} that informs about a released/free BowlingAlley.
+     * {@code signal()} alone would be enough to ensure that the selection is anarchic/random.
+     * However, we also need to make sure that the other Clients in the Group of the selected Client
+     * are woken up in order to advance to the BowlingAlley. Therefore, a {@code signalAll()} is needed.
+     * <p>
+     * {@code signalAll()} must be called while holding {@code lock}.
+     */
+    public void gameEnded() {
+        lock.lock();
+        try {
+            EventLog.publish(Station.DANCING_ROOM, EventKind.ALLEY_FREED_NOTIFIED, -1, -1);
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public BowlingArea getBowlingArea() {
+        return bowlingArea;
+    }
+}
@@ -0,0 +1,507 @@
+package stations;
+
+import actors.Client;
+import logging.EventKind;
+import logging.EventLog;
+import logging.Station;
+import metrics.ClientCounter;
+import metrics.LatencyHistogram;
+import metrics.QueueDepthGauge;
+import metrics.StationMetrics;
+import utils.ClientRegistry;
+import utils.Contended;
+import utils.Group;
+import utils.VenuePolicy;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * RegistrationDesk is a room every Client has to pass. It is entered as a first step
+ * so that the Client can register himself and gets assigned to a Group with which
+ * he will play a bowling game.
+ *
+ * With admission control ({@link #MAX_CLIENTS_IN_VENUE}, {@link #MAX_ESTIMATED_WAIT}) the desk
+ * turns parties away under overload instead of letting every queue in the venue grow.
+ */
+public class RegistrationDesk implements Contended {
+    public static int NUM_CASHIERS = 3;
+
+    /**
+     * Admission control for parties (see {@link Group#VARIABLE_SIZE}): an arriving party is turned
+     * away if it would bring more than MAX_CLIENTS_IN_VENUE Clients into the venue, or if the
+     * estimated wait for a BowlingAlley (see {@link #estimateWait(int, int, int)}) is longer than
+     * MAX_ESTIMATED_WAIT milliseconds. 0 for no limit. An empty venue admits any party.
+     */
+    public static int MAX_CLIENTS_IN_VENUE = 0;
+    public static int MAX_ESTIMATED_WAIT = 0;
+
+    /**
+     * Ids of all Clients that are registered and didn't pay yet. Needs no lock, so paying
+     * Clients don't hold up registering ones.
+     */
+    private final ClientRegistry clients;
+
+    /**
+     * This counter is used to initialize new Groups. It is incremented every
+     * time a new Group is created.
+     */
+    private int groupCounter = 1;
+
+    /**
+     * This object holds the only incomplete Group that exists at any given point of time.
+     * When this Group is filled, the next Client renews this variable. Complete Groups are only
+     * known to their Clients, so the RegistrationDesk keeps no Group after it was formed.
+     */
+    private Group currentGroup;
+
+    /**
+     * Replaces the monitor of {@code this} so that Clients on virtual threads don't pin their
+     * carrier thread (see {@link utils.ExecutionMode#VIRTUAL}). Guards the assignment of Groups.
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * Free Cashiers and the Clients waiting for one, in order of their arrival. A Client can
+     * only wait if no Cashier is free, so at least one of both is always empty. Both are guarded
+     * by {@code cashierLock}.
+     */
+    private final Deque<Cashier> availableCashiers;
+    private final Deque<CashierRequest> clientsWaitingForCashier;
+    private final ReentrantLock cashierLock;
+
+    /**
+     * Clients waiting for their Group wait on a Condition of their Group, so only the Clients
+     * of a Group that got complete are woken up. Guarded by {@code groupLock}, which has nothing
+     * to do with the Cashiers.
+     */
+    private final Map<Group, Condition> groupComplete;
+    private final ReentrantLock groupLock;
+
+    /**
+     * Number of Clients served by a Cashier and how often a Client waiting for a Cashier was
+     * woken up. Only modified while holding {@code cashierLock}.
+     */
+    private long services;
+    private long cashierWakeUps;
+
+    /** How long Clients wait for a Cashier and for their Group, and how many wait right now. */
+    private final StationMetrics metrics;
+    private final LatencyHistogram cashierWait;
+    private final QueueDepthGauge cashierWaiters;
+    private final LatencyHistogram groupWait;
+    private final QueueDepthGauge groupWaiters;
+
+    /** Number of Clients in {@code clients}, i.e. in the venue between registering and paying. */
+    private final QueueDepthGauge clientsInVenue;
+
+    /**
+     * Whether parties are admitted or turned away. Clients admitted and not gone home yet,
+     * including those still waiting for a Cashier, and the most there ever were. Clients turned
+     * away are only counted with admission control.
+     */
+    private final boolean admissionControl;
+    private final AtomicInteger admittedClients;
+    private final AtomicInteger peakAdmittedClients;
+    private ClientCounter turnedAway;
+
+    /**
+     * A Client waiting for a Cashier. The Client that frees a Cashier hands him directly to the
+     * first waiting Client and wakes up only this one.
+     */
+    private static class CashierRequest {
+        /** Only the waiting Client waits on this Condition. */
+        private final Condition handedOver;
+
+        /** Set once a Cashier was handed over to the waiting Client. */
+        private Cashier cashier;
+
+        private CashierRequest(Condition handedOver) {
+            this.handedOver = handedOver;
+        }
+    }
+
+    public RegistrationDesk() {
+        this(VenuePolicy.PART3);
+    }
+
+    /**
+     * @param policy decides how many Cashiers there are: {@link VenuePolicy#PART1} has a single
+     *               desk that serves one Client at a time, which is the same as one Cashier.
+     */
+    public RegistrationDesk(VenuePolicy policy) {
+        lock = new ReentrantLock();
+        clients = new ClientRegistry();
+        availableCashiers = new ArrayDeque<>();
+        clientsWaitingForCashier = new ArrayDeque<>();
+        cashierLock = new ReentrantLock();
+        groupComplete = new HashMap<>();
+        groupLock = new ReentrantLock();
+
+        metrics = new StationMetrics(Station.REGISTRATION_DESK);
+        cashierWait = metrics.newHistogram("cashier wait");
+        cashierWaiters = metrics.newGauge("waiting for cashier");
+        groupWait = metrics.newHistogram("group fill wait");
+        groupWaiters = metrics.newGauge("waiting for group");
+        clientsInVenue = metrics.newGauge("in venue");
+
+        /**
+         * Without parties Groups are formed here, and a Client turned away would leave his Group
+         * incomplete. So only parties are admitted or turned away.
+         */
+        admissionControl = Group.VARIABLE_SIZE && (MAX_CLIENTS_IN_VENUE > 0 || MAX_ESTIMATED_WAIT > 0);
+        admittedClients = new AtomicInteger();
+        peakAdmittedClients = new AtomicInteger();
+        if (admissionControl) {
+            turnedAway = metrics.newCounter("turned away");
+        }
+
+        for (int i = 0; i < policy.getNumCashiers(); i++) {
+            availableCashiers.add(new Cashier(i, this));
+        }
+    }
+
+    /**
+     * Top-level method that is invoked when Client wants to register.
+     * Only methods {@code getCashier} and {@code waitForCompleteGroup} hold
+     * a lock because they work with shared variables.
+     * <p>
+     * With this split in multiple methods, we make sure that the lock of the
+     * RegistrationDesk and the Cashier instances are used
+     * the most efficiently (somewhat independent of each other).
+     *
+     * @param client Client that wants to register
+     * @return false if the Client was turned away and went home
+     */
+    public boolean register(Client client) {
+        EventLog.publish(Station.REGISTRATION_DESK, EventKind.ARRIVED, client.getId(), -1);
+        if (!admit(client)) {
+            EventLog.publish(Station.REGISTRATION_DESK, EventKind.WENT_HOME, client.getId(), -1);
+            return false;
+        }
+        Cashier cashier = getCashier(client);
+        cashier.register(client);
+
+        waitForCompleteGroup(client);
+        return true;
+    }
+
+    /**
+     * Decides whether the party of an arriving Client may enter. The first Client of a party to
+     * arrive decides for all of them, so a party is never split. Holds {@code lock} so parties
+     * arriving at the same time are counted one after the other.
+     *
+     * @param client Client that arrived at the desk
+     * @return true if the Client may register
+     */
+    private boolean admit(Client client) {
+        if (!admissionControl) {
+            peakAdmittedClients.accumulateAndGet(admittedClients.incrementAndGet(), Math::max);
+            return true;
+        }
+        Group party = client.getGroup();
+        lock.lock();
+        try {
+            int inVenue = admittedClients.get();
+            long estimatedWait = estimateWait(inVenue, BowlingArea.NUM_ALLEYS, Group.MAX_SIZE);
+            if (party.getAdmission() == null) {
+                boolean fits = MAX_CLIENTS_IN_VENUE == 0 || inVenue + party.getMaxSize() <= MAX_CLIENTS_IN_VENUE;
+                boolean shortWait = MAX_ESTIMATED_WAIT == 0 || estimatedWait <= MAX_ESTIMATED_WAIT;
+                boolean admitted = inVenue == 0 || fits && shortWait;
+                party.setAdmitted(admitted);
+                if (admitted) {
+                    peakAdmittedClients.accumulateAndGet(admittedClients.addAndGet(party.getMaxSize()), Math::max);
+                }
+            }
+            if (party.getAdmission()) {
+                return true;
+            }
+            EventLog.publish(Station.REGISTRATION_DESK, EventKind.TURNED_AWAY, client.getId(), party.getId(), inVenue, (int) estimatedWait);
+            turnedAway.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A rough estimate of how long an arriving Client waits for a BowlingAlley: the venue bowls at
+     * most {@code numAlleys * groupSize} Clients per {@link Client#BOWLING_TIME}, so the Clients
+     * already in it need at least this long. Also used by the discrete-event mode.
+     *
+     * @return estimated wait in milliseconds
+     */
+    public static long estimateWait(int clientsInVenue, int numAlleys, int groupSize) {
+        return (long) clientsInVenue * Client.BOWLING_TIME / ((long) numAlleys * groupSize);
+    }
+
+    /**
+     * A Client whose Group gave up waiting (see {@link Client#PATIENCE}) leaves the venue without
+     * paying. Like {@link #removeClient(Client)} it takes no lock.
+     *
+     * @param client
+     */
+    public void leave(Client client) {
+        removeClient(client);
+    }
+
+    /**
+     * Top-level method that is invoked when Client wants to pay.
+     * It's analogous to {@link RegistrationDesk#register(Client)}.
+     *
+     * @param client Client that wants to pay
+     */
+    public void chargeFee(Client client) {
+        Cashier cashier = getCashier(client);
+        cashier.chargeFee(client);
+    }
+
+    /**
+     * Returns an object of a free Cashier once it is free.
+     *
+     * Clients get Cashiers in the order of their arrival. If no Cashier is free, the Client
+     * waits until a Cashier is handed over to him in {@link #cashierGotAvailable(Cashier)}.
+     * A Client arriving in the meantime can't take that Cashier away from him.
+     *
+     * @param client Client who wants to get to the Cashier
+     * @return free Cashier instance
+     */
+    public Cashier getCashier(Client client) {
+        long arrivalNanos = System.nanoTime();
+        cashierLock.lock();
+        try {
+            Cashier freeCashier = availableCashiers.poll();
+            if (freeCashier != null) {
+                services++;
+                cashierWait.recordSince(arrivalNanos);
+                return freeCashier;
+            }
+
+            //System.out.println("Client(" + client.getId() + ") has to wait because no Cashier is free.");
+            CashierRequest request = new CashierRequest(cashierLock.newCondition());
+            clientsWaitingForCashier.add(request);
+            cashierWaiters.enter();
+
+            /** The while() is needed because a Condition may wake up a thread spuriously. */
+            while (request.cashier == null) {
+                try {
+                    request.handedOver.await();
+                } catch (InterruptedException e) {
+                }
+                cashierWakeUps++;
+            }
+            cashierWaiters.leave();
+            cashierWait.recordSince(arrivalNanos);
+            return request.cashier;
+        } finally {
+            cashierLock.unlock();
+        }
+    }
+
+    /**
+     * Method in which Clients wait until their Group is complete.
+     *
+     * @param client Client who awaits his Group
+     */
+    public void waitForCompleteGroup(Client client) {
+        long arrivalNanos = System.nanoTime();
+        groupLock.lock();
+        try {
+            /** Get a reference to the assigned Group. */
+            Group group = client.getGroup();
+
+            /**
+             * When Group is full, notify all Group members ({@code signalAll()})
+             * that they can advance. If Group is not full, {@code await()} until last
+             * arriving Client of a Group arrives and wakes up waiting Clients.
+             *
+             * Every Group has its own Condition, so only the members of this Group are
+             * woken up. Clients waiting for a Cashier wait somewhere else and aren't
+             * woken up either. We still need a while() because a Condition may wake up
+             * a thread spuriously.
+             */
+            if (group.isFull()) {
+                EventLog.publish(Station.REGISTRATION_DESK, EventKind.GROUP_COMPLETE, client.getId(), group.getId());
+                Condition membersWaiting = groupComplete.remove(group);
+                if (membersWaiting != null) {
+                    membersWaiting.signalAll();
+                }
+            }
+            boolean waits = !group.isFull();
+            if (waits) {
+                groupWaiters.enter();
+            }
+            while (!group.isFull()) {
+                //System.out.println("Group(" + group.getId() + ") isn't complete yet.");
+                Condition membersWaiting = groupComplete.get(group);
+                if (membersWaiting == null) {
+                    membersWaiting = groupLock.newCondition();
+                    groupComplete.put(group, membersWaiting);
+                }
+                try {
+                    membersWaiting.await();
+                } catch (InterruptedException e) {
+                }
+            }
+            if (waits) {
+                groupWaiters.leave();
+            }
+            groupWait.recordSince(arrivalNanos);
+        } finally {
+            groupLock.unlock();
+        }
+    }
+
+    /**
+     * A convenience helper method to check if there is at least one free Cashier.
+     *
+     * @return true if there is at least one free Cashier. False otherwise.
+     */
+    public boolean isCashierFree() {
+        cashierLock.lock();
+        try {
+            return !availableCashiers.isEmpty();
+        } finally {
+            cashierLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the Group that an arriving Client got assigned to. Holds {@code lock}
+     * because this method works with shared variables and is called by several
+     * Cashiers to the same time.
+     *
+     * A Client that arrived with his party (see {@link Group#VARIABLE_SIZE}) already knows his
+     * Group and is only counted in.
+     *
+     * @param client the registering Client
+     * @return the assigned Group object.
+     */
+    public Group getAssignedGroupForClient(Client client) {
+        lock.lock();
+        try {
+            Group party = client.getGroup();
+            if (party != null) {
+                party.addClient(client.getShoeSize());
+                return party;
+            }
+
+            if (currentGroup == null || currentGroup.isFull()) {
+                currentGroup = new Group(groupCounter);
+            }
+
+            /** Add a Client to this not-null and not-full Group (see previous code). */
+            currentGroup.addClient(client.getShoeSize());
+
+            /** If Group is full with last Client, increment {@code groupCounter}. */
+            if (currentGroup.isFull()) {
+                groupCounter++;
+            }
+
+            return currentGroup;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Invoked by a Cashier. No lock is needed although there might be multiple Cashiers,
+     * because {@code clients} is a {@link ClientRegistry}.
+     *
+     * @param client
+     */
+    public void addClient(Client client) {
+        if (clients.add(client.getId())) {
+            clientsInVenue.enter();
+        }
+    }
+
+    /**
+     * Invoked by a Cashier. Like {@link #addClient(Client)} it takes constant time and no lock.
+     *
+     * @param client
+     */
+    public void removeClient(Client client) {
+        if (clients.remove(client.getId())) {
+            clientsInVenue.leave();
+            admittedClients.decrementAndGet();
+        }
+    }
+
+    public boolean isRegistered(Client client) {
+        return clients.contains(client.getId());
+    }
+
+    /** @return number of Clients that registered and didn't pay yet */
+    public int getClientsInVenue() {
+        return clientsInVenue.getDepth();
+    }
+
+    /**
+     * Clients turned away are not counted, a party admitted as a whole is counted as soon as its
+     * first Client got in.
+     *
+     * @return the most Clients that were admitted and didn't pay (or give up) yet at once
+     */
+    public int getPeakAdmittedClients() {
+        return peakAdmittedClients.get();
+    }
+
+    /**
+     * Is called from a Cashier and informs the RegistrationDesk that he is now available
+     * to process the next Client. If Clients are waiting, the Cashier is handed over to
+     * the first of them and only this Client is woken up. Otherwise the Cashier is free.
+     *
+     * @param cashier Cashier that just got free.
+     */
+    public void cashierGotAvailable(Cashier cashier) {
+        cashierLock.lock();
+        try {
+            //System.out.println("Cashier(" + cashier.getId() + ") is free now!");
+            CashierRequest nextRequest = clientsWaitingForCashier.poll();
+            if (nextRequest == null) {
+                availableCashiers.add(cashier);
+                return;
+            }
+            services++;
+            nextRequest.cashier = cashier;
+            nextRequest.handedOver.signal();
+        } finally {
+            cashierLock.unlock();
+        }
+    }
+
+    @Override
+    public int getLockQueueLength() {
+        return lock.getQueueLength() + cashierLock.getQueueLength() + groupLock.getQueueLength();
+    }
+
+    public StationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /** @return number of Clients a Cashier was given to so far */
+    public long getServices() {
+        cashierLock.lock();
+        try {
+            return services;
+        } finally {
+            cashierLock.unlock();
+        }
+    }
+
+    /** @return how often a Client waiting for a Cashier was woken up so far */
+    public long getCashierWakeUps() {
+        cashierLock.lock();
+        try {
+            return cashierWakeUps;
+        } finally {
+            cashierLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,509 @@
+package stations;
+
+import actors.Client;
+import logging.EventKind;
+import logging.EventLog;
+import logging.Station;
+import metrics.ClientCounter;
+import metrics.LatencyHistogram;
+import metrics.QueueDepthGauge;
+import utils.Group;
+import utils.GroupSynchronizer;
+import utils.ShoeInventory;
+import utils.ShoePair;
+import utils.VenuePolicy;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+
+/**
+ * ShoesRoom is a room every Client has to pass. It is entered after the RegistrationDesk
+ * and before the DancingRoom.
+ *
+ * It makes use of Group synchronization by extending {@link GroupSynchronizer}. Its own state
+ * is guarded by the {@code lock} inherited from there. Only the ShoePairs themselves aren't,
+ * they are in a lock-free {@link ShoeInventory}.
+ *
+ * With limited shoes (Part 3) {@link #NUM_EMPLOYEES} employees serve the Clients. Borrowers and
+ * returners queue in a FIFO queue each and are handed an employee by {@link #dispatch()}; each
+ * waits on a {@link Condition} of its own, so handing out an employee wakes exactly the Client
+ * that got it. The service itself takes place without holding {@code lock}, so the employees work
+ * at the same time.
+ *
+ * With {@link Client#PATIENCE} a Group whose borrowers waited that long for an employee gives up
+ * and goes home, unless it is partially served already.
+ */
+public class ShoesRoom extends GroupSynchronizer {
+    public static int MAX_SHOES = Group.MAX_SIZE * BowlingArea.NUM_ALLEYS;
+
+    /** Number of employees serving borrowers and returners (Part 3). */
+    public static int NUM_EMPLOYEES = 1;
+
+    /**
+     * The ShoePairs which are available for borrowers, in pools per size. Needs no lock.
+     */
+    private final ShoeInventory shoes;
+
+    /** Number of employees that aren't serving anybody right now. */
+    private int freeEmployees;
+
+    /**
+     * Atomic so accesses are guaranteed to be correct.
+     * This is needed because this value is incremented without holding
+     * {@code lock} ({@link ShoesRoom#requestReturningShoes(Client)}). With a volatile int,
+     * two returners arriving at once could lose an increment.
+     * It counts the returners that arrived and didn't get an employee yet, including those
+     * not in {@code returnerQueue} yet.
+     */
+    private final AtomicInteger numReturnersWaiting = new AtomicInteger();
+
+    /** Returners and borrowers waiting for an employee, in the order of their arrival. */
+    private final Deque<ServiceRequest> returnerQueue;
+    private final Deque<ServiceRequest> borrowerQueue;
+
+    /**
+     * Data structure to keep track of partially served Groups and the ShoePairs reserved for
+     * their Clients (borrowers) that weren't served yet. The first borrower of a Group reserves
+     * ShoePairs for the whole Group at once, so a Group never holds some ShoePairs while waiting
+     * for a size that is out of stock. At most {@link #NUM_EMPLOYEES} Groups are partially served
+     * at once, with one employee that is a single Group like before.
+     */
+    private Map<Group, List<ShoePair>> reservedShoes;
+
+    /**
+     * A Client waiting for an employee. Guarded by {@code lock} like the rest of the ShoesRoom.
+     */
+    private static class ServiceRequest {
+        private final Client client;
+        private final Condition served;
+        private final long arrivalNanos;
+
+        /** Set by {@link #dispatch()} when an employee serves this Client. */
+        private boolean hasEmployee;
+
+        /** When the Group of a borrower first couldn't get its sizes, 0 if it never happened. */
+        private long stockOutNanos;
+
+        /** The ShoePair a borrower gets, taken from {@code reservedShoes} when he gets an employee. */
+        private ShoePair shoePair;
+
+        private ServiceRequest(Client client, Condition served) {
+            this.client = client;
+            this.served = served;
+            arrivalNanos = System.nanoTime();
+        }
+    }
+
+    /** Decides if ShoePairs are limited and handed out by employees. */
+    private VenuePolicy policy;
+
+    /**
+     * A waiting borrower waits either because the employees are busy (or serve someone else first)
+     * or because no ShoePair is left. Its waiting time is split up accordingly.
+     */
+    private final LatencyHistogram employeeWait;
+    private final LatencyHistogram shoeWait;
+    private final QueueDepthGauge borrowersWaiting;
+    private final LatencyHistogram returnerWait;
+    private final QueueDepthGauge returnersWaiting;
+
+    /** Borrowers whose Group gave up waiting, only counted with {@link Client#PATIENCE}. */
+    private ClientCounter reneged;
+
+    /** Patience of the borrowers, {@link Client#PATIENCE} as it was when the ShoesRoom was built. */
+    private final int patience;
+
+    public ShoesRoom() {
+        this(VenuePolicy.PART3);
+    }
+
+    public ShoesRoom(VenuePolicy policy) {
+        super(Station.SHOES_ROOM);
+        this.policy = policy;
+        shoes = new ShoeInventory(MAX_SHOES);
+        returnerQueue = new ArrayDeque<>();
+        borrowerQueue = new ArrayDeque<>();
+        reservedShoes = new HashMap<>();
+        freeEmployees = NUM_EMPLOYEES;
+
+        employeeWait = metrics.newHistogram("employee wait");
+        shoeWait = metrics.newHistogram("shoe availability wait");
+        borrowersWaiting = metrics.newGauge("borrowers waiting");
+        returnerWait = metrics.newHistogram("returner queue wait");
+        returnersWaiting = metrics.newGauge("returners waiting");
+        patience = Client.PATIENCE;
+        if (patience > 0 && policy.hasLimitedShoes()) {
+            reneged = metrics.newCounter("reneged");
+        }
+    }
+
+    /**
+     * Entry-method for every borrower. Since both called methods inside hold {@code lock},
+     * it might be more efficient to hold it in this method too. It is okay though, to not
+     * hold {@code lock} in this method.
+     *
+     * This method logically separates the two steps (1) borrowing shoes and (2) waiting
+     * for his Group.
+     *
+     * @param client who wants to borrow shoes (borrower)
+     * @return false if his Group gave up waiting and the Client goes home without shoes
+     */
+    public boolean requestBorrowingShoes(Client client) {
+        if (policy.hasLimitedShoes()) {
+            if (!borrowShoes(client)) {
+                return false;
+            }
+        } else {
+            giveNewShoes(client);
+        }
+        super.waitForWholeGroup(client);
+        return true;
+    }
+
+    /**
+     * Entry-method for every returner. This doesn't hold {@code lock} because we need to make sure
+     * that a returner can signal immediately that he arrived so he gets priority as fast as
+     * possible (this is done by incrementing {@code numReturnersWaiting} which is checked
+     * in {@link #dispatch()}).
+     *
+     * The other method {@link ShoesRoom#returnShoes(Client)} holds {@code lock} though.
+     *
+     * @param client who wants to return shoes (returner)
+     */
+    public void requestReturningShoes(Client client) {
+        /** Increment to announce the arrival of this returner. Is done here (outside of a
+         * method holding {@code lock}) so the announcement is made fast.
+         *
+         * While a returner Y waits for {@code lock}, an employee that gets free must not be
+         * handed to a borrower. It is crucial that Y incremented this variable before, so
+         * {@link #dispatch()} keeps the employee free for him instead.
+         *
+         * So the goal is to announce Y as early as possible.
+         */
+        if (!policy.hasLimitedShoes()) {
+            takeShoesBack(client);
+        } else {
+            numReturnersWaiting.incrementAndGet();
+            returnersWaiting.enter();
+
+            /** This one holds {@code lock}. */
+            returnShoes(client);
+        }
+        EventLog.publish(Station.SHOES_ROOM, EventKind.WENT_HOME, client.getId(), -1);
+    }
+
+    /**
+     * Queues the borrower until {@link #dispatch()} hands him an employee and a ShoePair, then
+     * lets the employee serve him without holding {@code lock}.
+     *
+     * @return false if the Group of the borrower gave up waiting
+     */
+    private boolean borrowShoes(Client client) {
+        Group group = client.getGroup();
+        ShoePair shoePair;
+        lock.lock();
+        try {
+            /** Another Client of his Group may have given up for all of them before he arrived. */
+            if (group.hasReneged()) {
+                leaveWithGroup(client, group, 0);
+                return false;
+            }
+            EventLog.publish(Station.SHOES_ROOM, EventKind.BORROW_REQUESTED, client.getId(), group.getId());
+
+            ServiceRequest request = new ServiceRequest(client, lock.newCondition());
+            borrowerQueue.add(request);
+            dispatch();
+
+            /**
+             * A while() in case of spurious wake-ups, only {@link #dispatch()} sets {@code hasEmployee}.
+             * The ShoePair of this borrower is taken out of {@code reservedShoes} there too, so the
+             * next Group can start as soon as the last Client of this one got an employee.
+             *
+             * Once the borrower ran out of patience, his Group gives up unless one of its Clients was
+             * served already. Then ShoePairs are reserved for the Group and it is served next anyway.
+             */
+            if (!request.hasEmployee) {
+                EventLog.publish(Station.SHOES_ROOM, EventKind.BORROW_WAITING, client.getId(), group.getId(), shoes.getAvailable(), shoes.getNumShoes());
+                borrowersWaiting.enter();
+                long deadline = request.arrivalNanos + Client.scaledNanos(patience);
+                while (!request.hasEmployee && !group.hasReneged()) {
+                    long remaining = deadline - System.nanoTime();
+                    try {
+                        if (patience == 0 || reservedShoes.containsKey(group)) {
+                            request.served.await();
+                        } else if (remaining > 0) {
+                            request.served.awaitNanos(remaining);
+                        } else {
+                            renege(group);
+                        }
+                    } catch (InterruptedException e) {
+                    }
+                }
+                borrowersWaiting.leave();
+                if (!request.hasEmployee) {
+                    leaveWithGroup(client, group, System.nanoTime() - request.arrivalNanos);
+                    return false;
+                }
+            }
+
+            /** Since the Group first lacked a size, the borrower waited for ShoePairs. */
+            long servedNanos = System.nanoTime();
+            long shoeWaitNanos = request.stockOutNanos == 0 ? 0 : servedNanos - request.stockOutNanos;
+            employeeWait.record(servedNanos - request.arrivalNanos - shoeWaitNanos);
+            shoeWait.record(shoeWaitNanos);
+
+            EventLog.publish(Station.SHOES_ROOM, EventKind.BORROWING, client.getId(), group.getId(), shoes.getAvailable(), shoes.getNumShoes());
+            shoePair = request.shoePair;
+        } finally {
+            lock.unlock();
+        }
+
+        /**
+         * As stated in the text: We need to make sure that we give every Client a
+         * separate ShoePair.
+         */
+        client.borrowShoes(shoePair);
+
+        /** Borrowing shoes takes some time... */
+        client.waitInShoesRoom();
+
+        releaseEmployee();
+        return true;
+    }
+
+    /**
+     * The Group gives up waiting for an employee. Its borrowers are taken out of {@code borrowerQueue}
+     * and woken up, so they go home too. Only called while holding {@code lock}, for a Group that
+     * isn't partially served.
+     */
+    private void renege(Group group) {
+        group.renege();
+        for (Iterator<ServiceRequest> it = borrowerQueue.iterator(); it.hasNext(); ) {
+            ServiceRequest request = it.next();
+            if (request.client.getGroup() == group) {
+                it.remove();
+                request.served.signal();
+            }
+        }
+        /** The Groups behind may be served now. */
+        dispatch();
+    }
+
+    /** A borrower goes home with his Group that gave up. Only called while holding {@code lock}. */
+    private void leaveWithGroup(Client client, Group group, long waitedNanos) {
+        EventLog.publish(Station.SHOES_ROOM, EventKind.RENEGED, client.getId(), group.getId(), (int) (waitedNanos / 1000000), 0);
+        EventLog.publish(Station.SHOES_ROOM, EventKind.WENT_HOME, client.getId(), -1);
+        reneged.increment();
+    }
+
+    /**
+     * A Client whose Group gave up waiting for a BowlingAlley leaves his ShoePair at the counter
+     * on the way out, without waiting for an employee. Waiting borrowers may get it right away.
+     */
+    public void dropShoes(Client client) {
+        if (policy.hasLimitedShoes()) {
+            lock.lock();
+            try {
+                shoes.giveBack(client.returnShoes());
+                dispatch();
+            } finally {
+                lock.unlock();
+            }
+        }
+        client.forgetShoes();
+        EventLog.publish(Station.SHOES_ROOM, EventKind.WENT_HOME, client.getId(), -1);
+    }
+
+    /**
+     * Clients return their shoes here. Their ShoePair gets added to {@code shoes}.
+     * Holds {@code lock} while waiting for an employee, but not while being served.
+     */
+    private void returnShoes(Client client) {
+        lock.lock();
+        try {
+            EventLog.publish(Station.SHOES_ROOM, EventKind.RETURNING, client.getId(), -1);
+
+            ServiceRequest request = new ServiceRequest(client, lock.newCondition());
+            returnerQueue.add(request);
+            dispatch();
+            while (!request.hasEmployee) {
+                try {
+                    request.served.await();
+                } catch (InterruptedException e) {
+                }
+            }
+            returnersWaiting.leave();
+            returnerWait.recordSince(request.arrivalNanos);
+
+            /** Client returns ShoePair which is added to {@code shoes} again. */
+            shoes.giveBack(client.returnShoes());
+            client.forgetShoes();
+        } finally {
+            lock.unlock();
+        }
+
+        /** Returning shoes takes some time... */
+        client.waitInShoesRoom();
+
+        /**
+         * If there is at least one more returner waiting, the employee serves him next.
+         * If not, a borrower (realizes priority for returners over borrowers).
+         */
+        int returnersWaiting = numReturnersWaiting.get();
+        if (returnersWaiting > 0) {
+            EventLog.publish(Station.SHOES_ROOM, EventKind.NEXT_RETURNER_NOTIFIED, client.getId(), -1, returnersWaiting, 0);
+        }
+        releaseEmployee();
+    }
+
+    /** An employee finished serving a Client and serves the next one, if there is any. */
+    private void releaseEmployee() {
+        lock.lock();
+        try {
+            freeEmployees++;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands the free employees to waiting Clients. Only called while holding {@code lock}.
+     * <ul>
+     *     <li>Returners are served first, in the order of their arrival. While a returner has
+     *     announced himself but isn't queued yet, no borrower is served.</li>
+     *     <li>Then the first borrower whose Group is partially served.</li>
+     *     <li>Then the first borrower whose Group can reserve a ShoePair of the right size for
+     *     every one of its Clients, if fewer than {@link #NUM_EMPLOYEES} Groups are partially
+     *     served. With one employee, a Group is served completely before another one starts.</li>
+     * </ul>
+     */
+    private void dispatch() {
+        while (freeEmployees > 0) {
+            ServiceRequest next = returnerQueue.poll();
+            if (next != null) {
+                numReturnersWaiting.decrementAndGet();
+            } else if (numReturnersWaiting.get() > 0) {
+                return;
+            } else {
+                next = nextBorrower();
+                if (next == null) {
+                    return;
+                }
+                next.shoePair = takeReservedShoePair(next.client.getGroup(), next.client.getShoeSize());
+            }
+            freeEmployees--;
+            next.hasEmployee = true;
+            next.served.signal();
+        }
+    }
+
+    /**
+     * Removes the next borrower to serve from {@code borrowerQueue}, see {@link #dispatch()}.
+     *
+     * @return the borrower, null if none can be served right now
+     */
+    private ServiceRequest nextBorrower() {
+        for (Iterator<ServiceRequest> it = borrowerQueue.iterator(); it.hasNext(); ) {
+            ServiceRequest request = it.next();
+            if (reservedShoes.containsKey(request.client.getGroup())) {
+                it.remove();
+                return request;
+            }
+        }
+        if (reservedShoes.size() >= NUM_EMPLOYEES) {
+            return null;
+        }
+        /** Every Group tries to reserve its sizes once, not once per waiting Client. */
+        Set<Group> outOfStock = new HashSet<>();
+        for (Iterator<ServiceRequest> it = borrowerQueue.iterator(); it.hasNext(); ) {
+            ServiceRequest request = it.next();
+            Group group = request.client.getGroup();
+            if (!outOfStock.contains(group) && (reservedShoes.containsKey(group) || reserveShoes(group))) {
+                it.remove();
+                return request;
+            }
+            outOfStock.add(group);
+            if (request.stockOutNanos == 0) {
+                request.stockOutNanos = System.nanoTime();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Without limited shoes (Part 1 and 2) there is no employee to wait for. Doesn't hold
+     * {@code lock} since instance variables are not touched here.
+     */
+    private void giveNewShoes(Client client) {
+        EventLog.publish(Station.SHOES_ROOM, EventKind.GIVEN_NEW_SHOES, client.getId(), client.getGroup().getId());
+
+        /** Borrowing shoes takes some time... */
+        client.waitInShoesRoom();
+
+        /** The supply of shoes is infinite, so each Client gets a 'new' pair of shoes. */
+        client.borrowShoes(new ShoePair(client.getShoeSize()));
+    }
+
+    /** Counterpart of {@link #giveNewShoes(Client)}, doesn't hold {@code lock} either. */
+    private void takeShoesBack(Client client) {
+        EventLog.publish(Station.SHOES_ROOM, EventKind.RETURNED_SHOES, client.getId(), -1);
+
+        /** Returning shoes takes some time... */
+        client.waitInShoesRoom();
+
+        client.forgetShoes();
+    }
+
+    /**
+     * Reserves a ShoePair for every Client of a Group that isn't served yet, all of them or none.
+     * Only called while holding {@code lock}, but the ShoePairs are taken without it.
+     *
+     * @return true if the ShoePairs are reserved. False if a size is out of stock.
+     */
+    private boolean reserveShoes(Group group) {
+        List<ShoePair> reserved = shoes.tryBorrowAll(group.getShoeSizes());
+        if (reserved == null) {
+            return false;
+        }
+        reservedShoes.put(group, reserved);
+        return true;
+    }
+
+    /**
+     * Removes the ShoePair of the given size from the ShoePairs reserved for a Group. Once the
+     * Group is completely served, it is removed from {@code reservedShoes}. This removal is
+     * important - it is not only there for memory optimization. It lets the next Group start.
+     *
+     * @return a ShoePair of the size, which was reserved when the Group got served first
+     */
+    private ShoePair takeReservedShoePair(Group group, int size) {
+        List<ShoePair> reserved = reservedShoes.get(group);
+        for (int i = 0; i < reserved.size(); i++) {
+            if (reserved.get(i).getSize() == size) {
+                ShoePair shoePair = reserved.remove(i);
+                if (reserved.isEmpty()) {
+                    reservedShoes.remove(group);
+                }
+                return shoePair;
+            }
+        }
+        throw new IllegalStateException("No ShoePair of size " + size + " reserved");
+    }
+
+    public ShoeInventory getShoes() {
+        return shoes;
+    }
+
+    public VenuePolicy getPolicy() {
+        return policy;
+    }
+}
@@ -0,0 +1,26 @@
+package utils;
+
+import stations.BowlingArea;
+
+/**
+ * How BowlingAlleys are given to the Groups dancing in the DancingRoom.
+ */
+public enum AlleyAssignment {
+    /**
+     * Every Group gets a BowlingAlley of its own, no matter how small it is. Groups get them in
+     * the order the {@link VenuePolicy} demands (in order of arrival from Part 2 on).
+     */
+    FIFO,
+
+    /**
+     * Groups share BowlingAlleys as long as seats are left (see {@link BowlingArea#SEATS_PER_ALLEY}).
+     * A Group takes the BowlingAlley with the fewest free seats it still fits on (best fit), so
+     * large gaps stay free for large Groups. If the first Group in line doesn't fit anywhere,
+     * smaller Groups behind it may go first, but only {@link #MAX_BYPASSES} times in a row.
+     * A Group larger than a BowlingAlley takes a whole one.
+     */
+    BIN_PACKING;
+
+    /** How often the first Group in line may be overtaken before everybody waits for it. */
+    public static int MAX_BYPASSES = 4;
+}
@@ -0,0 +1,130 @@
+package utils;
+
+import java.io.Serializable;
+import java.util.SplittableRandom;
+
+/**
+ * Open-loop arrivals following an {@link ArrivalProfile}: a Poisson process whose rate changes
+ * from step to step. Without it every Client of a run exists from the start and arrives within
+ * {@link actors.Client#MAX_DELAY_TIME}. These arrivals don't depend on how busy the venue is,
+ * so a profile with more arrivals than the venue can serve shows how its queues grow.
+ *
+ * With parties (see {@link Group#VARIABLE_SIZE}) every arrival is a party of a size drawn from
+ * the profile, otherwise a single Client. Groups are then formed at the RegistrationDesk, so
+ * when the profile ends the Clients missing in the last Group arrive, or it would never be
+ * complete.
+ *
+ * The gaps between arrivals are exponentially distributed with the rate of the current step.
+ * A gap that reaches into the next step is drawn again from its start, which is exact since
+ * exponential gaps don't remember how long they already lasted. Every arrival draws from its
+ * own {@link SplittableRandom}, seeded with the seed and the number of the arrival like
+ * {@link ShoeInventory#shoeSizeOf(int)}. The generator is therefore a few numbers that can be
+ * saved with a snapshot of the discrete-event mode.
+ */
+public class ArrivalGenerator implements ArrivalSource, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final ArrivalProfile profile;
+    private final long seed;
+
+    /** Whether arrivals are parties, and the size of a Group. */
+    private final boolean parties;
+    private final int groupSize;
+
+    /** Arrivals and Clients so far. */
+    private long arrivals;
+    private long clients;
+
+    /** Virtual time in milliseconds and size of the current arrival. */
+    private double time;
+    private int partySize;
+
+    public ArrivalGenerator(ArrivalProfile profile, long seed, boolean parties, int groupSize) {
+        this.profile = profile;
+        this.seed = new SplittableRandom(seed).nextLong();
+        this.parties = parties;
+        this.groupSize = groupSize;
+    }
+
+    @Override
+    public boolean next() {
+        long duration = profile.getDuration();
+        if (time < duration) {
+            SplittableRandom random = new SplittableRandom(seed ^ arrivals);
+            time = nextTime(random, duration);
+            if (time < duration) {
+                partySize = parties ? profile.drawPartySize(random, groupSize) : 1;
+                arrivals++;
+                clients += partySize;
+                return true;
+            }
+        }
+        if (!parties && clients % groupSize != 0) {
+            partySize = 1;
+            arrivals++;
+            clients++;
+            return true;
+        }
+        return false;
+    }
+
+    /** @return time of the arrival after the current one, {@code duration} if there is none */
+    private double nextTime(SplittableRandom random, long duration) {
+        double next = time;
+        long stepTime = profile.getStepTime();
+        while (next < duration) {
+            int step = (int) (next / stepTime);
+            double stepEnd = (step + 1) * (double) stepTime;
+            double ratePerMilli = profile.getRate(step) / 1000;
+            if (ratePerMilli > 0) {
+                double gap = -Math.log(1 - random.nextDouble()) / ratePerMilli;
+                if (next + gap < stepEnd) {
+                    return next + gap;
+                }
+            }
+            next = stepEnd;
+        }
+        return duration;
+    }
+
+    @Override
+    public long getTime() {
+        return (long) time;
+    }
+
+    @Override
+    public int getPartySize() {
+        return partySize;
+    }
+
+    /** Shoe sizes follow the Ids of the Clients. */
+    @Override
+    public int getShoeSize(int client) {
+        return -1;
+    }
+
+    /** Every Group bowls for the same time. */
+    @Override
+    public int getGameTime() {
+        return 0;
+    }
+
+    /** @return arrivals so far, including the current one */
+    public long getArrivals() {
+        return arrivals;
+    }
+
+    /** @return Clients that arrived so far, including the current arrival */
+    public long getClients() {
+        return clients;
+    }
+
+    public ArrivalProfile getProfile() {
+        return profile;
+    }
+
+    @Override
+    public String toString() {
+        return profile.toString();
+    }
+}
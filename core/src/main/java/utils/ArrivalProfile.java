@@ -0,0 +1,162 @@
+package utils;
+
+import java.io.Serializable;
+import java.util.SplittableRandom;
+
+/**
+ * How many parties (or single Clients) arrive at a venue per second over time, and how large
+ * the parties are. The rate is constant within each of a number of steps of equal length and
+ * changes from one step to the next; after the last step nobody arrives anymore. See
+ * {@link ArrivalGenerator} for the arrivals it describes.
+ *
+ * Party sizes are uniformly distributed between 1 and the group size like in
+ * {@link Group#newParties(int, int, SplittableRandom)}, unless weights are given with
+ * {@link #setPartySizes(double...)}.
+ */
+public class ArrivalProfile implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Share of the peak rate in each half hour of a Friday night from 6pm to midnight. */
+    private static final double[] FRIDAY_NIGHT = {0.15, 0.25, 0.4, 0.6, 0.85, 1.0, 1.0, 0.9, 0.7, 0.5, 0.3, 0.15};
+
+    /** Arrivals per second of virtual time, one rate per step. */
+    private final double[] rates;
+
+    /** Length of every step in virtual milliseconds. */
+    private final long stepTime;
+
+    /** Cumulative probabilities of the party sizes 1, 2, ..., null for uniform sizes. */
+    private double[] partySizes;
+
+    /**
+     * @param rates    arrivals per second in each step
+     * @param stepTime length of a step in virtual milliseconds
+     */
+    public ArrivalProfile(double[] rates, long stepTime) {
+        if (rates.length == 0 || stepTime <= 0) {
+            throw new IllegalArgumentException("An arrival profile needs at least one step of positive length");
+        }
+        for (double rate : rates) {
+            if (rate < 0) {
+                throw new IllegalArgumentException("Negative arrival rate: " + rate);
+            }
+        }
+        this.rates = rates.clone();
+        this.stepTime = stepTime;
+    }
+
+    /** @return a profile with the same rate for {@code duration} virtual milliseconds */
+    public static ArrivalProfile constant(double rate, long duration) {
+        return new ArrivalProfile(new double[] {rate}, duration);
+    }
+
+    /**
+     * A Friday night at a bowling venue: few arrivals in the early evening, a peak around 9pm and
+     * fewer again towards midnight, in 12 steps.
+     *
+     * @param peakRate arrivals per second at the peak
+     */
+    public static ArrivalProfile fridayNight(double peakRate, long stepTime) {
+        double[] rates = new double[FRIDAY_NIGHT.length];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = FRIDAY_NIGHT[i] * peakRate;
+        }
+        return new ArrivalProfile(rates, stepTime);
+    }
+
+    /**
+     * Parses a profile given on the command line: either {@code friday-night:P} with P arrivals
+     * per second at the peak, or the rates of the steps like {@code 1,2.5,4,2}.
+     */
+    public static ArrivalProfile parse(String profile, long stepTime) {
+        if (profile.startsWith("friday-night:")) {
+            return fridayNight(Double.parseDouble(profile.substring("friday-night:".length())), stepTime);
+        }
+        return new ArrivalProfile(parseNumbers(profile), stepTime);
+    }
+
+    /** Parses comma-separated numbers like {@code 1,3,4,2,1}. */
+    public static double[] parseNumbers(String numbers) {
+        String[] parts = numbers.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Double.parseDouble(parts[i].trim());
+        }
+        return values;
+    }
+
+    /**
+     * Lets parties of size i + 1 arrive with a probability proportional to {@code weights[i]}.
+     * Sizes above the group size of the venue are never drawn.
+     */
+    public ArrivalProfile setPartySizes(double... weights) {
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative party-size weight: " + weight);
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one party size needs a positive weight");
+        }
+        partySizes = new double[weights.length];
+        double cumulative = 0;
+        for (int i = 0; i < weights.length; i++) {
+            cumulative += weights[i] / total;
+            partySizes[i] = cumulative;
+        }
+        return this;
+    }
+
+    /** @return the size of a party between 1 and {@code maxSize} */
+    int drawPartySize(SplittableRandom random, int maxSize) {
+        if (partySizes == null) {
+            return 1 + random.nextInt(maxSize);
+        }
+        int sizes = Math.min(maxSize, partySizes.length);
+        double value = random.nextDouble() * partySizes[sizes - 1];
+        for (int i = 0; i < sizes - 1; i++) {
+            if (value < partySizes[i]) {
+                return i + 1;
+            }
+        }
+        return sizes;
+    }
+
+    /** @return arrivals per second in the given step */
+    public double getRate(int step) {
+        return rates[step];
+    }
+
+    public int getNumSteps() {
+        return rates.length;
+    }
+
+    public long getStepTime() {
+        return stepTime;
+    }
+
+    /** @return virtual time in milliseconds after which nobody arrives anymore */
+    public long getDuration() {
+        return rates.length * stepTime;
+    }
+
+    /** @return the number of arrivals expected over the whole profile */
+    public double getExpectedArrivals() {
+        double arrivals = 0;
+        for (double rate : rates) {
+            arrivals += rate * stepTime / 1000;
+        }
+        return arrivals;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder steps = new StringBuilder();
+        for (double rate : rates) {
+            steps.append(steps.length() == 0 ? "" : ", ").append(String.format("%.2f", rate));
+        }
+        return "arrivals per second [" + steps + "] in steps of " + stepTime / 1000.0 + "s";
+    }
+}
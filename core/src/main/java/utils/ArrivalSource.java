@@ -0,0 +1,33 @@
+package utils;
+
+/**
+ * Where the Clients of a run come from when they are created as they arrive instead of up front:
+ * synthetic arrivals of an {@link ArrivalGenerator} or the records of a {@link ReservationLog}.
+ *
+ * An ArrivalSource is a cursor over the arrivals in the order of their time. {@link #next()}
+ * moves on to the next arrival, the getters describe the current one. Nothing is allocated per
+ * arrival, so a source can stream millions of them.
+ */
+public interface ArrivalSource {
+    /**
+     * Moves on to the next arrival.
+     *
+     * @return false if nobody arrives anymore
+     */
+    boolean next();
+
+    /** @return virtual time in milliseconds of the current arrival, never before the previous one */
+    long getTime();
+
+    /** @return number of Clients arriving together at the current arrival */
+    int getPartySize();
+
+    /**
+     * @param client index of the Client within the current arrival, below {@link #getPartySize()}
+     * @return his shoe size, -1 to derive it from his Id (see {@link ShoeInventory#shoeSizeOf(int)})
+     */
+    int getShoeSize(int client);
+
+    /** @return milliseconds the current party bowls, 0 for {@link actors.Client#BOWLING_TIME} */
+    int getGameTime();
+}
@@ -0,0 +1,59 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Set of Client Ids that is safe to use from many threads without a lock. Ids are bits in a
+ * bitset, which is split into segments of {@link #SEGMENT_BITS} bits that are only created once
+ * an Id in their range is added. Adding and removing an Id is a compare-and-set on one word, so
+ * Clients registering and paying at the same time only contend if their Ids share a word.
+ * <p>
+ * Client Ids are dense, starting at 0, so the bitset takes about one bit per Client.
+ */
+public class ClientRegistry {
+    /** Bits per segment, a power of 2. */
+    private static final int SEGMENT_BITS = 1 << 16;
+    private static final int SEGMENT_SHIFT = 16;
+
+    /** Segments of the bitset, null until an Id in their range was added. */
+    private final AtomicReferenceArray<AtomicLongArray> segments;
+
+    public ClientRegistry() {
+        segments = new AtomicReferenceArray<>((Integer.MAX_VALUE >> SEGMENT_SHIFT) + 1);
+    }
+
+    /**
+     * @param clientId must not be negative
+     * @return true if the Id wasn't in the registry before
+     */
+    public boolean add(int clientId) {
+        AtomicLongArray segment = segments.get(clientId >> SEGMENT_SHIFT);
+        if (segment == null) {
+            /** Two threads may create the same segment, only the first one is kept. */
+            segments.compareAndSet(clientId >> SEGMENT_SHIFT, null, new AtomicLongArray(SEGMENT_BITS / 64));
+            segment = segments.get(clientId >> SEGMENT_SHIFT);
+        }
+        int word = (clientId & (SEGMENT_BITS - 1)) >> 6;
+        long bit = 1L << clientId;
+        long old = segment.getAndAccumulate(word, bit, (current, mask) -> current | mask);
+        return (old & bit) == 0;
+    }
+
+    /** @return true if the Id was in the registry */
+    public boolean remove(int clientId) {
+        AtomicLongArray segment = segments.get(clientId >> SEGMENT_SHIFT);
+        if (segment == null) {
+            return false;
+        }
+        int word = (clientId & (SEGMENT_BITS - 1)) >> 6;
+        long bit = 1L << clientId;
+        long old = segment.getAndAccumulate(word, bit, (current, mask) -> current & ~mask);
+        return (old & bit) != 0;
+    }
+
+    public boolean contains(int clientId) {
+        AtomicLongArray segment = segments.get(clientId >> SEGMENT_SHIFT);
+        return segment != null && (segment.get((clientId & (SEGMENT_BITS - 1)) >> 6) & (1L << clientId)) != 0;
+    }
+}
@@ -0,0 +1,12 @@
+package utils;
+
+/**
+ * A station whose locks Clients might have to queue for. Used by the {@link ContentionSampler}.
+ */
+public interface Contended {
+    /**
+     * @return estimated number of threads currently waiting to acquire one of the locks of the
+     * station (not counting threads waiting on a Condition)
+     */
+    int getLockQueueLength();
+}
@@ -0,0 +1,84 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Samples how many threads queue for the locks of the stations while a simulation runs. A
+ * daemon thread reads {@link Contended#getLockQueueLength()} of every station once per period
+ * and sums the results up, so the mean queue length per station can be reported at the end.
+ */
+public class ContentionSampler {
+    /** Time between two samples in nanoseconds. */
+    private final long periodNanos;
+
+    private final List<String> names;
+    private final List<Contended> stations;
+
+    /** Sum of the sampled queue lengths per station. Only written by the sampling thread. */
+    private long[] queueLengthSums;
+    private volatile long samples;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public ContentionSampler(long periodNanos) {
+        this.periodNanos = periodNanos;
+        names = new ArrayList<>();
+        stations = new ArrayList<>();
+    }
+
+    /** Adds a station to sample. Must be called before {@link #start()}. */
+    public ContentionSampler add(String name, Contended station) {
+        names.add(name);
+        stations.add(station);
+        return this;
+    }
+
+    public void start() {
+        queueLengthSums = new long[stations.size()];
+        samples = 0;
+        running = true;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (running) {
+                    for (int i = 0; i < queueLengthSums.length; i++) {
+                        queueLengthSums[i] += stations.get(i).getLockQueueLength();
+                    }
+                    samples++;
+                    LockSupport.parkNanos(periodNanos);
+                }
+            }
+        }, "contention-sampler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Stops sampling and waits until the last sample is taken. */
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.join();
+    }
+
+    /** @return mean number of threads queueing for the locks of the i-th added station */
+    public double getMeanQueueLength(int station) {
+        return samples == 0 ? 0 : (double) queueLengthSums[station] / samples;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    /** @return e.g. "RegistrationDesk 0.12, ShoesRoom 1.50" */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        for (int i = 0; i < names.size(); i++) {
+            report.append(i == 0 ? "" : ", ").append(names.get(i)).append(' ')
+                    .append(String.format("%.2f", getMeanQueueLength(i)));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package utils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Decides on which kind of thread a Client runs in the threaded simulation.
+ *
+ * Virtual threads only exist since Java 21. The project itself is compiled for Java 8,
+ * so they are created via reflection and {@link #VIRTUAL} fails with an
+ * {@link UnsupportedOperationException} on older JVMs.
+ */
+public enum ExecutionMode {
+    /** One operating system thread per Client (the default). */
+    PLATFORM {
+        @Override
+        public Thread newThread(Runnable runnable, String name) {
+            return new Thread(runnable, name);
+        }
+    },
+
+    /**
+     * One virtual thread per Client. The stations only block on {@link java.util.concurrent.locks.Lock}s
+     * and {@link java.util.concurrent.locks.Condition}s, which release the carrier thread while waiting.
+     */
+    VIRTUAL {
+        @Override
+        public Thread newThread(Runnable runnable, String name) {
+            if (VirtualThreads.UNSTARTED == null) {
+                throw new UnsupportedOperationException("Virtual threads need Java 21 or newer.");
+            }
+            try {
+                Object builder = VirtualThreads.OF_VIRTUAL.invoke(null);
+                builder = VirtualThreads.NAME.invoke(builder, name);
+                return (Thread) VirtualThreads.UNSTARTED.invoke(builder, runnable);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not create a virtual thread.", e);
+            }
+        }
+    };
+
+    /**
+     * Creates a thread that is not started yet.
+     *
+     * @param runnable what the thread executes
+     * @param name     name of the thread
+     * @return the unstarted thread
+     */
+    public abstract Thread newThread(Runnable runnable, String name);
+
+    /**
+     * Looks the methods of {@code Thread.ofVirtual()} up only once, when the first virtual
+     * thread is created. All of them stay null if the JVM doesn't know virtual threads.
+     */
+    private static class VirtualThreads {
+        private static Method OF_VIRTUAL;
+        private static Method NAME;
+        private static Method UNSTARTED;
+
+        static {
+            try {
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                OF_VIRTUAL = Thread.class.getMethod("ofVirtual");
+                NAME = builderClass.getMethod("name", String.class);
+                UNSTARTED = builderClass.getMethod("unstarted", Runnable.class);
+            } catch (ReflectiveOperationException e) {
+                UNSTARTED = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Groups in the order in which their first Client arrived. Every operation takes constant time:
+ * the order is kept in a deque, and a Group removed from the middle (because it overtook others)
+ * is only dropped from the set of queued Groups and skipped once it reaches the head.
+ */
+public class FifoGroupScheduler implements GroupScheduler {
+    private static final long serialVersionUID = 1L;
+
+    private final Deque<Group> order = new ArrayDeque<>();
+    private final Set<Group> queued = new HashSet<>();
+
+    @Override
+    public void add(Group group, long now) {
+        if (queued.add(group)) {
+            order.add(group);
+        }
+    }
+
+    @Override
+    public boolean contains(Group group) {
+        return queued.contains(group);
+    }
+
+    @Override
+    public Group peek() {
+        Group head = order.peek();
+        while (head != null && !queued.contains(head)) {
+            order.poll();
+            head = order.peek();
+        }
+        return head;
+    }
+
+    @Override
+    public void remove(Group group) {
+        if (queued.remove(group) && order.peek() == group) {
+            order.poll();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queued.isEmpty();
+    }
+}
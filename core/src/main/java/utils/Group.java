@@ -0,0 +1,186 @@
+package utils;
+
+import actors.Client;
+import stations.BowlingAlley;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Represents a Group that Clients can be assigned to. The Group object doesn't know its belonging
+ * Clients but each Client knows his Group once it is assigned.
+ *
+ * Since a Group object is shared by more than one Client (if group size > 1), we need to treat it
+ * as monitor. Because of that every method is {@code syncronized}.
+ */
+public class Group implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** The amount of Clients that be assigned to a Group at most. */
+    public static int MAX_SIZE = 5;
+
+    /**
+     * If true, Groups are parties of 1 to MAX_SIZE Clients that arrive at the venue together (see
+     * {@link #newParties(int, int, SplittableRandom)}). Otherwise Groups of exactly MAX_SIZE are
+     * filled at the RegistrationDesk in the order the Clients register.
+     */
+    public static boolean VARIABLE_SIZE = false;
+
+    /** Every VIP_INTERVAL-th Group (by Id) is a VIP Group, see {@link SchedulingPolicy}. 0 for none. */
+    public static int VIP_INTERVAL = 5;
+
+    /** Id of the Group. */
+    private int id;
+    /** The maximum number of Clients this Group holds. Is MAX_SIZE by default. */
+    private int maxSize;
+    /** The number of Clients currently assigned to this Group. */
+    private int numClients;
+    /** The shoe sizes of the assigned Clients, see {@link ShoeInventory}. Null until a size is added. */
+    private int[] shoeSizes;
+    /**
+     * The BowlingAlley that the Group is supposed to play one. This information
+     * will be provided during runtime. Only used by the threaded mode, so it isn't part of a
+     * snapshot of the discrete-event mode.
+     */
+    private transient BowlingAlley bowlingAlley;
+    /** Milliseconds the Group bowls, 0 for {@link Client#BOWLING_TIME}. */
+    private int gameTime;
+    /**
+     * Whether the RegistrationDesk let the party into the venue, decided when its first Client
+     * arrives so the party is admitted or turned away as a whole. Null until then.
+     */
+    private Boolean admitted;
+    /** Set once the Group gave up waiting (see {@link Client#PATIENCE}), its Clients go home. */
+    private boolean reneged;
+
+    public Group(int id) {
+        this.id = id;
+        this.maxSize = MAX_SIZE;
+        numClients = 0;
+    }
+
+    /** Enables creation of variable Group sizes, used for parties. */
+    public Group(int id, int maxSize) {
+        this(id);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Splits {@code numClients} Clients into parties of uniformly random size between 1 and
+     * {@code maxSize}. The last party is cut to the Clients left. Clients 0 to n-1 belong to
+     * the first party of size n, the following ones to the second and so on.
+     *
+     * @return the parties with Ids starting at 1, none of them has a Client added yet
+     */
+    public static List<Group> newParties(int numClients, int maxSize, SplittableRandom random) {
+        List<Group> parties = new ArrayList<>();
+        int clientsLeft = numClients;
+        while (clientsLeft > 0) {
+            int size = Math.min(clientsLeft, 1 + random.nextInt(maxSize));
+            parties.add(new Group(parties.size() + 1, size));
+            clientsLeft -= size;
+        }
+        return parties;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * A Group object doesn't need to know its Clients, however it needs to
+     * know the number of Clients assigned to it. By assigning a new Client
+     * to this Group, this method is called to keep track of that number.
+     */
+    public synchronized void addClient() {
+        numClients++;
+    }
+
+    /**
+     * Like {@link #addClient()}, but the Group also remembers the shoe size of the Client, so
+     * the ShoesRoom can reserve ShoePairs for the whole Group at once.
+     */
+    public synchronized void addClient(int shoeSize) {
+        if (shoeSizes == null) {
+            shoeSizes = new int[maxSize];
+        }
+        shoeSizes[numClients++] = shoeSize;
+    }
+
+    /** @return the shoe sizes of the Clients assigned so far, all 0 if they were added without one */
+    public synchronized int[] getShoeSizes() {
+        return shoeSizes == null ? new int[numClients] : Arrays.copyOf(shoeSizes, numClients);
+    }
+
+    public synchronized boolean isFull() {
+        return numClients == maxSize;
+    }
+
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /** The Id never changes, so no lock is needed here. */
+    public boolean isVip() {
+        return VIP_INTERVAL > 0 && id % VIP_INTERVAL == 0;
+    }
+
+    /** @return milliseconds the Group bowls, {@link Client#BOWLING_TIME} unless a party brought its own */
+    public synchronized int getGameTime() {
+        return gameTime > 0 ? gameTime : Client.BOWLING_TIME;
+    }
+
+    /** Lets the Group bowl for the given milliseconds, 0 for {@link Client#BOWLING_TIME}. */
+    public synchronized Group setGameTime(int gameTime) {
+        this.gameTime = gameTime;
+        return this;
+    }
+
+    /** @return true if the party was admitted, false if it was turned away, null if that isn't decided yet */
+    public synchronized Boolean getAdmission() {
+        return admitted;
+    }
+
+    public synchronized void setAdmitted(boolean admitted) {
+        this.admitted = admitted;
+    }
+
+    public synchronized boolean hasReneged() {
+        return reneged;
+    }
+
+    /** The Group gives up waiting, every Client of it goes home without bowling. */
+    public synchronized void renege() {
+        reneged = true;
+    }
+
+    public synchronized BowlingAlley getBowlingAlley() {
+        return bowlingAlley;
+    }
+
+    /**
+     * This method is called once it is decided during runtime on which BowlingAlley
+     * the Clients of this Group will be playing on.
+     *
+     * @param bowlingAlley the Clients of this Group will be playing on
+     */
+    public synchronized void setBowlingAlley(BowlingAlley bowlingAlley) {
+        this.bowlingAlley = bowlingAlley;
+    }
+
+    /**
+     * In {@link BowlingAlley#gameEnded(Client)} we make sure that this method is only called
+     * once per Group object. So a synchronized is not really needed here. But we program
+     * defensively so we put it.
+     */
+    public synchronized void forgetBowlingAlley() {
+        bowlingAlley = null;
+    }
+
+    public synchronized boolean hasAlleyAssigned() {
+        return bowlingAlley != null;
+    }
+}
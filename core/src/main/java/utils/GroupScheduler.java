@@ -0,0 +1,33 @@
+package utils;
+
+import java.io.Serializable;
+
+/**
+ * Decides which of the Groups in the DancingRoom gets the next free BowlingAlley. A Group is
+ * added when its first Client arrives in the DancingRoom and removed once it got a BowlingAlley.
+ * Only the Group returned by {@link #peek()} may take a BowlingAlley (unless it is overtaken, see
+ * {@link AlleyAssignment#BIN_PACKING}).
+ *
+ * Implementations are not thread-safe, the DancingRoom only calls them while holding its lock.
+ * Which implementation is used is decided by a {@link SchedulingPolicy}. They are Serializable
+ * because they are part of a snapshot of the discrete-event mode.
+ */
+public interface GroupScheduler extends Serializable {
+    /**
+     * Adds a Group unless it is queued already.
+     *
+     * @param group the Group of a Client that arrived in the DancingRoom
+     * @param now   time of the arrival in milliseconds (virtual or scaled real time)
+     */
+    void add(Group group, long now);
+
+    boolean contains(Group group);
+
+    /** @return the Group that gets the next free BowlingAlley, null if no Group is queued */
+    Group peek();
+
+    /** Removes a queued Group, usually the one {@link #peek()} returned. Does nothing if it isn't queued. */
+    void remove(Group group);
+
+    boolean isEmpty();
+}
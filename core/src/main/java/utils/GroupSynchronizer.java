@@ -0,0 +1,213 @@
+package utils;
+
+import actors.Client;
+import logging.EventKind;
+import logging.EventLog;
+import logging.Station;
+import metrics.LatencyHistogram;
+import metrics.QueueDepthGauge;
+import metrics.StationMetrics;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * This abstract class provides a synchronization among Clients that belong to one Group.
+ * It provides this synchronization also in the presence of different Groups and Clients.
+ * Extending classes (ShoesRoom, DancingRoom) only need to make a call to
+ * waitForWholeGroup(Client) in order to synchronize at a certain point of code.
+ *
+ * This implementation is in an abstract class to reuse code.
+ *
+ * Instead of the intrinsic monitor of {@code this} ({@code synchronized}, {@code wait()},
+ * {@code notifyAll()}) an explicit {@link ReentrantLock} is used, so a Client running on a
+ * virtual thread releases its carrier thread while it waits (see {@link ExecutionMode#VIRTUAL}).
+ * Every Group that has waiting Clients gets its own {@link GroupBarrier}, so a completing Group
+ * only wakes up its own Clients and not the waiting Clients of every other Group.
+ */
+public abstract class GroupSynchronizer implements Contended {
+    /**
+     * Replaces the monitor of {@code this}. Extending classes (ShoesRoom, DancingRoom) guard their
+     * own state with the same lock and wait on {@code condition}, just like they shared the monitor
+     * of {@code this} before. Waiting for the Group doesn't use {@code condition} but the
+     * Condition of a {@link GroupBarrier}.
+     */
+    protected final ReentrantLock lock;
+    protected final Condition condition;
+
+    /** The station extending this class, used when publishing events. */
+    private final Station station;
+
+    /** Maps each Group G with waiting Clients to the barrier these Clients wait at. */
+    private Map<Group, GroupBarrier> groupBarriers;
+
+    /**
+     * Number of times a waiting Client was woken up and the number of Groups that got
+     * complete so far. Only modified while holding {@code lock}.
+     */
+    private long wakeUps;
+    private long groupCompletions;
+
+    /**
+     * Waiting times and queue depths of the extending station, which adds its own histograms
+     * and gauges. Time spent waiting for the Group is recorded here.
+     */
+    protected final StationMetrics metrics;
+    private final LatencyHistogram groupWait;
+    private final QueueDepthGauge groupWaiters;
+
+    /**
+     * The Clients of one Group that wait for the rest of their Group, together with the
+     * Condition they wait on.
+     */
+    private static class GroupBarrier {
+        /** Clients of the Group that are waiting at this barrier. */
+        private final Set<Client> clientsWaiting;
+
+        /** Becomes true once the Group is complete. Clients of this Group will be able to advance. */
+        private boolean hasAccess;
+
+        /** Only Clients of this Group wait on this Condition. */
+        private final Condition groupComplete;
+
+        private GroupBarrier(Condition groupComplete) {
+            this.clientsWaiting = new HashSet<>();
+            this.groupComplete = groupComplete;
+        }
+    }
+
+    protected GroupSynchronizer(Station station) {
+        this.station = station;
+        lock = new ReentrantLock();
+        condition = lock.newCondition();
+        groupBarriers = new HashMap<>();
+        metrics = new StationMetrics(station);
+        groupWait = metrics.newHistogram("group wait");
+        groupWaiters = metrics.newGauge("waiting for group");
+    }
+
+    /**
+     * Let's a Client wait for the other Clients in his Group.
+     *
+     * Holds {@code lock} because instance variables are are accessed in this method.
+     */
+    protected void waitForWholeGroup(Client client) {
+        lock.lock();
+        try {
+            awaitWholeGroup(client);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Body of {@link #waitForWholeGroup(Client)}, only called while holding {@code lock}. */
+    private void awaitWholeGroup(Client client) {
+        Group group = client.getGroup();
+        //System.out.print("Client(" + client.getId() + ") is waiting for his Group(" + group.getId() + ").");
+        GroupBarrier barrier = getBarrierForGroup(group);
+
+        /**
+         * Check if Group is complete with this arriving Client
+         * If it is, mark the barrier of Client's Group as 'having access' which means all
+         * Group members can advance. All other waiting Clients of this Group are woken up
+         * with a {@code signalAll()} on the Condition of their barrier. We chose
+         * {@code signalAll} because there are multiple Clients waiting for the Group if
+         * group size > 2. Clients of other Groups wait on other Conditions and therefore
+         * are not woken up.
+         */
+        if (barrier.clientsWaiting.size() + 1 == group.getMaxSize()) {
+            EventLog.publish(station, EventKind.GROUP_COMPLETE, client.getId(), group.getId());
+            barrier.hasAccess = true;
+            groupCompletions++;
+            barrier.groupComplete.signalAll();
+        }
+
+        /**
+         * If Client's Group has (still) no access, make sure he's added to the waiting
+         * Clients and suspend thread with {@code await()}. If Client's Group has access,
+         * its Group is complete and he can advance (leave this while()-loop).
+         *
+         * Only Clients of the same Group are woken up with the {@code signalAll()} above.
+         * We still need a while() instead of an if() because a Condition may wake up
+         * a thread spuriously.
+         */
+        long arrivalNanos = System.nanoTime();
+        boolean waits = !barrier.hasAccess;
+        if (waits) {
+            groupWaiters.enter();
+        }
+        while (!barrier.hasAccess) {
+            //System.out.print(" But Group isn't complete yet.\n");
+            barrier.clientsWaiting.add(client);
+
+            try {
+                barrier.groupComplete.await();
+            } catch (InterruptedException e) {
+            }
+            wakeUps++;
+        }
+        if (waits) {
+            groupWaiters.leave();
+        }
+        groupWait.recordSince(arrivalNanos);
+
+        /**
+         * Clean data structures accordingly so information that is not required
+         * anymore, is removed.
+         */
+        barrier.clientsWaiting.remove(client);
+        if (barrier.clientsWaiting.isEmpty()) {
+            groupBarriers.remove(group);
+        }
+    }
+
+    /**
+     * This method returns the barrier of a Group. If there is no Client waiting yet for
+     * the Group, a new barrier (with an own Condition of {@code lock}) is created.
+     *
+     * Works on shared instance variables and thus must only be called while holding
+     * {@code lock}, which the only calling method does.
+     */
+    private GroupBarrier getBarrierForGroup(Group group) {
+        GroupBarrier barrier = groupBarriers.get(group);
+        if (barrier == null) {
+            barrier = new GroupBarrier(lock.newCondition());
+            groupBarriers.put(group, barrier);
+        }
+        return barrier;
+    }
+
+    @Override
+    public int getLockQueueLength() {
+        return lock.getQueueLength();
+    }
+
+    public StationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /** @return how often a Client waiting for his Group was woken up so far */
+    public long getWakeUps() {
+        lock.lock();
+        try {
+            return wakeUps;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return how many Groups got complete so far */
+    public long getGroupCompletions() {
+        lock.lock();
+        try {
+            return groupCompletions;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package utils;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Groups ordered by a rank that is computed once, when a Group is added (see
+ * {@link SchedulingPolicy#rank(Group, long)}). The lowest rank comes first, equal ranks in order
+ * of arrival. The Groups are kept in a binary heap, so adding and removing take O(log n).
+ *
+ * A Group removed from the middle of the heap is only marked as removed and dropped once it
+ * reaches the top, which keeps removing at O(log n) amortized.
+ */
+public class HeapGroupScheduler implements GroupScheduler {
+    private static final long serialVersionUID = 1L;
+
+    private final SchedulingPolicy policy;
+
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>();
+    private final Map<Group, Entry> entries = new HashMap<>();
+
+    /** Number of Groups added so far, breaks ties between equal ranks. */
+    private long arrivals;
+
+    private static class Entry implements Comparable<Entry>, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Group group;
+        private final long rank;
+        private final long arrival;
+        private boolean removed;
+
+        private Entry(Group group, long rank, long arrival) {
+            this.group = group;
+            this.rank = rank;
+            this.arrival = arrival;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byRank = Long.compare(rank, other.rank);
+            return byRank != 0 ? byRank : Long.compare(arrival, other.arrival);
+        }
+    }
+
+    public HeapGroupScheduler(SchedulingPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public void add(Group group, long now) {
+        if (entries.containsKey(group)) {
+            return;
+        }
+        Entry entry = new Entry(group, policy.rank(group, now), arrivals++);
+        entries.put(group, entry);
+        heap.add(entry);
+    }
+
+    @Override
+    public boolean contains(Group group) {
+        return entries.containsKey(group);
+    }
+
+    @Override
+    public Group peek() {
+        Entry top = heap.peek();
+        while (top != null && top.removed) {
+            heap.poll();
+            top = heap.peek();
+        }
+        return top == null ? null : top.group;
+    }
+
+    @Override
+    public void remove(Group group) {
+        Entry entry = entries.remove(group);
+        if (entry == null) {
+            return;
+        }
+        entry.removed = true;
+        if (heap.peek() == entry) {
+            heap.poll();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+}
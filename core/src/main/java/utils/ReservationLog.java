@@ -0,0 +1,325 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Streams the arrivals of a reservation log, e.g. the check-ins of a whole season, so a real
+ * workload can be replayed against any venue. Every record is a party:
+ * <pre>
+ * timestamp | party Id | party size | shoe sizes | game time
+ * </pre>
+ * Timestamps are milliseconds (e.g. since the epoch) and must not decrease; the run starts with
+ * the first record at virtual time 0. Shoe sizes are sizes of the {@link ShoeInventory}, larger
+ * ones count as the largest size there is; without them the sizes follow the Ids of the Clients.
+ * The game time is in milliseconds, 0 or none for {@link actors.Client#BOWLING_TIME}.
+ *
+ * A file whose name ends with {@code .csv} is text, one record per line like
+ * {@code 1696010400000,4711,3,2;4;4,3600000}. The shoe sizes are separated by {@code ;}, they and
+ * the game time may be left out. Lines that don't start with a digit (a header or comments) are
+ * skipped. Any other file consists of fixed-width binary records of {@link #RECORD_SIZE} bytes
+ * written by a {@link ReservationLogWriter}:
+ * <pre>
+ * long timestamp | int party Id | int game time | byte party size | byte shoe size * MAX_PARTY_SIZE
+ * </pre>
+ *
+ * Like {@link logging.TraceReader} the file is read in one pass through memory-mapped windows,
+ * so a log of many gigabytes needs no more memory than one window. The fields are parsed right
+ * from the mapped bytes into this cursor, nothing is allocated per record.
+ *
+ * A party larger than a Group is split into Groups that arrive at the same time, like a venue
+ * puts a large party on several BowlingAlleys.
+ */
+public class ReservationLog implements ArrivalSource, Closeable {
+    /** Largest party a binary record holds, larger parties are written as several records. */
+    public static final int MAX_PARTY_SIZE = 8;
+
+    public static final int RECORD_SIZE = 8 + 4 + 4 + 1 + MAX_PARTY_SIZE;
+
+    /** Size of the mapped windows, in binary records. A CSV line must fit into one window. */
+    private static final int WINDOW_RECORDS = 1 << 21;
+
+    private final Path path;
+    private final boolean csv;
+    private final FileChannel channel;
+    private final long size;
+
+    /** Size of the largest Group, larger parties are split. */
+    private final int maxGroupSize;
+
+    /** Mapped part of the file and the position in the file at which it starts. */
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    /** Position in the file of the next record. */
+    private long position;
+
+    /** Index of the next character of the CSV line being parsed, in {@code window}. */
+    private int cursor;
+
+    /** Timestamp of the first record, the start of the virtual time. */
+    private long firstTimestamp = -1;
+
+    /** The current record. Shoe sizes are -1 where unknown. */
+    private long timestamp;
+    private long partyId;
+    private int recordPartySize;
+    private int gameTime;
+    private int[] shoeSizes = new int[MAX_PARTY_SIZE];
+
+    /** The Group of the current record that arrives now: its first Client and its size. */
+    private int partyOffset;
+    private int partySize;
+
+    /** Records and Groups read so far. */
+    private long records;
+    private long arrivals;
+
+    /**
+     * @param maxGroupSize parties larger than this are split into several Groups
+     */
+    public ReservationLog(Path path, int maxGroupSize) throws IOException {
+        this.path = path;
+        this.csv = path.getFileName().toString().toLowerCase().endsWith(".csv");
+        this.maxGroupSize = maxGroupSize;
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        long fileSize = channel.size();
+        size = csv ? fileSize : fileSize - fileSize % RECORD_SIZE;
+    }
+
+    @Override
+    public boolean next() {
+        if (partyOffset + partySize < recordPartySize) {
+            partyOffset += partySize;
+        } else {
+            if (!(csv ? readCsvRecord() : readBinaryRecord())) {
+                return false;
+            }
+            records++;
+            partyOffset = 0;
+        }
+        partySize = Math.min(maxGroupSize, recordPartySize - partyOffset);
+        arrivals++;
+        return true;
+    }
+
+    private boolean readBinaryRecord() {
+        if (position + RECORD_SIZE > size) {
+            return false;
+        }
+        mapWindow(RECORD_SIZE);
+        int start = (int) (position - windowStart);
+        long recordTimestamp = window.getLong(start);
+        partyId = window.getInt(start + 8);
+        gameTime = window.getInt(start + 12);
+        recordPartySize = window.get(start + 16);
+        if (recordPartySize < 1 || recordPartySize > MAX_PARTY_SIZE) {
+            throw malformed("party size " + recordPartySize);
+        }
+        for (int i = 0; i < recordPartySize; i++) {
+            shoeSizes[i] = window.get(start + 17 + i);
+        }
+        position += RECORD_SIZE;
+        setTimestamp(recordTimestamp);
+        return true;
+    }
+
+    private boolean readCsvRecord() {
+        while (position < size) {
+            int end = findLineEnd();
+            int start = (int) (position - windowStart);
+            position = windowStart + end + 1;
+            if (end > start && window.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end == start || !isDigit(window.get(start))) {
+                continue;
+            }
+
+            cursor = start;
+            long recordTimestamp = parseNumber(end);
+            skipSeparator(end);
+            partyId = parseNumber(end);
+            skipSeparator(end);
+            recordPartySize = (int) parseNumber(end);
+            if (recordPartySize < 1) {
+                throw malformed("party size " + recordPartySize);
+            }
+            if (recordPartySize > shoeSizes.length) {
+                shoeSizes = Arrays.copyOf(shoeSizes, recordPartySize);
+            }
+
+            int shoes = 0;
+            if (cursor < end && window.get(cursor) == ',') {
+                cursor++;
+                while (cursor < end && isDigit(window.get(cursor))) {
+                    if (shoes == recordPartySize) {
+                        throw malformed("more shoe sizes than Clients");
+                    }
+                    shoeSizes[shoes++] = (int) parseNumber(end);
+                    if (cursor < end && window.get(cursor) == ';') {
+                        cursor++;
+                    }
+                }
+                if (shoes > 0 && shoes < recordPartySize) {
+                    throw malformed(shoes + " shoe sizes for " + recordPartySize + " Clients");
+                }
+            }
+            Arrays.fill(shoeSizes, shoes, recordPartySize, -1);
+
+            gameTime = 0;
+            if (cursor < end && window.get(cursor) == ',') {
+                cursor++;
+                if (cursor < end) {
+                    gameTime = (int) parseNumber(end);
+                }
+            }
+            if (cursor != end) {
+                throw malformed("unexpected '" + (char) window.get(cursor) + "'");
+            }
+            setTimestamp(recordTimestamp);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Maps the window again if the line at {@code position} doesn't end in it.
+     *
+     * @return index of the newline in the window, or of the end of the file
+     */
+    private int findLineEnd() {
+        mapWindow(1);
+        int start = (int) (position - windowStart);
+        while (true) {
+            int limit = window.limit();
+            for (int i = start; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    return i;
+                }
+            }
+            if (windowStart + limit == size) {
+                return limit;
+            }
+            if (start == 0) {
+                throw malformed("line longer than " + limit + " bytes");
+            }
+            mapWindowAt(position);
+            start = 0;
+        }
+    }
+
+    /** Makes sure the window holds the {@code length} bytes at {@code position}. */
+    private void mapWindow(int length) {
+        if (window == null || position + length > windowStart + window.limit()) {
+            mapWindowAt(position);
+        }
+    }
+
+    private void mapWindowAt(long start) {
+        try {
+            windowStart = start;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min((long) WINDOW_RECORDS * RECORD_SIZE, size - start));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + path, e);
+        }
+    }
+
+    private long parseNumber(int end) {
+        if (cursor == end || !isDigit(window.get(cursor))) {
+            throw malformed("number expected");
+        }
+        long value = 0;
+        while (cursor < end && isDigit(window.get(cursor))) {
+            value = value * 10 + window.get(cursor++) - '0';
+        }
+        return value;
+    }
+
+    private void skipSeparator(int end) {
+        if (cursor == end || window.get(cursor) != ',') {
+            throw malformed("',' expected");
+        }
+        cursor++;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private void setTimestamp(long recordTimestamp) {
+        if (firstTimestamp < 0) {
+            firstTimestamp = recordTimestamp;
+        }
+        if (recordTimestamp < timestamp) {
+            throw malformed("timestamp " + recordTimestamp + " before the previous one");
+        }
+        timestamp = recordTimestamp;
+    }
+
+    private IllegalStateException malformed(String problem) {
+        return new IllegalStateException("Record " + (records + 1) + " of " + path + " is malformed: " + problem);
+    }
+
+    /** @return virtual time of the current arrival: milliseconds since the first record */
+    @Override
+    public long getTime() {
+        return timestamp - firstTimestamp;
+    }
+
+    @Override
+    public int getPartySize() {
+        return partySize;
+    }
+
+    @Override
+    public int getShoeSize(int client) {
+        int shoeSize = shoeSizes[partyOffset + client];
+        return shoeSize < 0 ? -1 : Math.min(shoeSize, ShoeInventory.NUM_SIZES - 1);
+    }
+
+    /** @return the shoe size as it is in the log, -1 if unknown */
+    int getRecordedShoeSize(int client) {
+        return shoeSizes[partyOffset + client];
+    }
+
+    @Override
+    public int getGameTime() {
+        return gameTime;
+    }
+
+    /** @return timestamp of the current record as it is in the log */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getPartyId() {
+        return partyId;
+    }
+
+    /** @return records read so far, a party split into several Groups counts once */
+    public long getRecords() {
+        return records;
+    }
+
+    /** @return Groups that arrived so far */
+    public long getArrivals() {
+        return arrivals;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "reservation log " + path;
+    }
+}
@@ -0,0 +1,123 @@
+package utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a reservation log that a {@link ReservationLog} reads, as CSV if the file name ends with
+ * {@code .csv} and in the binary format otherwise. Binary records are written into memory-mapped
+ * regions of the file like in {@link logging.BinaryFileSink}; when the writer is closed, the file
+ * is cut to the records actually written.
+ *
+ * {@link #convert(Path, Path)} turns a CSV log into a binary one, which reads several times faster.
+ */
+public class ReservationLogWriter implements Closeable {
+    /** Size of the mapped regions, in records. */
+    private static final int REGION_RECORDS = 1 << 20;
+
+    private final boolean csv;
+
+    private BufferedWriter writer;
+
+    private FileChannel channel;
+    private MappedByteBuffer region;
+    private long regionStart;
+
+    public ReservationLogWriter(Path path) throws IOException {
+        csv = path.getFileName().toString().toLowerCase().endsWith(".csv");
+        if (csv) {
+            writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII);
+            writer.write("timestamp,party,size,shoe sizes,game time\n");
+        } else {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            region = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) REGION_RECORDS * ReservationLog.RECORD_SIZE);
+        }
+    }
+
+    /**
+     * Appends a party. In the binary format a party may have at most {@link ReservationLog#MAX_PARTY_SIZE} Clients.
+     *
+     * @param shoeSizes the first {@code partySize} are the shoe sizes of the Clients, null if unknown
+     * @param gameTime  milliseconds the party bowls, 0 for the default
+     */
+    public void append(long timestamp, long partyId, int partySize, int[] shoeSizes, int gameTime) throws IOException {
+        if (csv) {
+            writer.write(Long.toString(timestamp));
+            writer.write(',');
+            writer.write(Long.toString(partyId));
+            writer.write(',');
+            writer.write(Integer.toString(partySize));
+            writer.write(',');
+            for (int i = 0; shoeSizes != null && i < partySize; i++) {
+                if (i > 0) {
+                    writer.write(';');
+                }
+                writer.write(Integer.toString(shoeSizes[i]));
+            }
+            writer.write(',');
+            if (gameTime > 0) {
+                writer.write(Integer.toString(gameTime));
+            }
+            writer.write('\n');
+            return;
+        }
+
+        if (partySize < 1 || partySize > ReservationLog.MAX_PARTY_SIZE) {
+            throw new IllegalArgumentException("A binary record holds parties of 1 to " + ReservationLog.MAX_PARTY_SIZE + " Clients, not " + partySize);
+        }
+        if (region.remaining() < ReservationLog.RECORD_SIZE) {
+            regionStart += region.position();
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, (long) REGION_RECORDS * ReservationLog.RECORD_SIZE);
+        }
+        region.putLong(timestamp);
+        region.putInt((int) partyId);
+        region.putInt(gameTime);
+        region.put((byte) partySize);
+        for (int i = 0; i < ReservationLog.MAX_PARTY_SIZE; i++) {
+            region.put((byte) (shoeSizes != null && i < partySize ? shoeSizes[i] : -1));
+        }
+    }
+
+    /**
+     * Writes every party of one log into another one, e.g. from CSV to binary. Parties larger than
+     * a binary record are written as several records.
+     *
+     * @return number of records written
+     */
+    public static long convert(Path from, Path to) throws IOException {
+        long written = 0;
+        int[] shoeSizes = new int[ReservationLog.MAX_PARTY_SIZE];
+        try (ReservationLog log = new ReservationLog(from, ReservationLog.MAX_PARTY_SIZE);
+             ReservationLogWriter writer = new ReservationLogWriter(to)) {
+            while (log.next()) {
+                boolean known = false;
+                for (int i = 0; i < log.getPartySize(); i++) {
+                    shoeSizes[i] = log.getRecordedShoeSize(i);
+                    known |= shoeSizes[i] >= 0;
+                }
+                writer.append(log.getTimestamp(), log.getPartyId(), log.getPartySize(), known ? shoeSizes : null, log.getGameTime());
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /** Cuts off the mapped but unused end of a binary file. */
+    @Override
+    public void close() throws IOException {
+        if (csv) {
+            writer.close();
+            return;
+        }
+        channel.truncate(regionStart + region.position());
+        channel.close();
+    }
+}
@@ -0,0 +1,55 @@
+package utils;
+
+/**
+ * The order in which Groups get BowlingAlleys from Part 2 on (see {@link VenuePolicy#isGroupOrderFifo()};
+ * in Part 1 any complete Group gets the next free BowlingAlley).
+ */
+public enum SchedulingPolicy {
+    /** In order of arrival in the DancingRoom, as demanded by the exercise. */
+    FIFO,
+
+    /**
+     * Groups with the shortest expected game first. Every player bowls every frame, so a game
+     * takes longer the larger the Group is: smaller Groups go first, equal ones in order of arrival.
+     * Large Groups may starve under heavy load.
+     */
+    SHORTEST_GAME_FIRST,
+
+    /** VIP Groups (see {@link Group#isVip()}) before all others, each class in order of arrival. Others may starve. */
+    PRIORITY,
+
+    /**
+     * In order of arrival, but VIP Groups are treated as if they arrived {@link #VIP_HEAD_START}
+     * earlier and every player of a Group as if it arrived {@link #PLAYER_HEAD_START} later. So
+     * VIP and small Groups are preferred, but a Group that waited longer than these head starts
+     * goes before any Group arriving after it: nobody starves.
+     */
+    AGING;
+
+    /** Head starts of {@link #AGING} in milliseconds. */
+    public static long VIP_HEAD_START = 60000;
+    public static long PLAYER_HEAD_START = 2000;
+
+    /** @return a new, empty scheduler following this policy */
+    public GroupScheduler newScheduler() {
+        return this == FIFO ? new FifoGroupScheduler() : new HeapGroupScheduler(this);
+    }
+
+    /**
+     * @param group Group that arrived
+     * @param now   time of the arrival in milliseconds
+     * @return rank of the Group, lower ranks get BowlingAlleys first
+     */
+    long rank(Group group, long now) {
+        switch (this) {
+            case SHORTEST_GAME_FIRST:
+                return group.getMaxSize();
+            case PRIORITY:
+                return group.isVip() ? 0 : 1;
+            case AGING:
+                return now + group.getMaxSize() * PLAYER_HEAD_START - (group.isVip() ? VIP_HEAD_START : 0);
+            default:
+                return now;
+        }
+    }
+}
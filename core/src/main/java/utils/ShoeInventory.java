@@ -0,0 +1,184 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The ShoePairs of a ShoesRoom, one pool per size. Nothing in here takes a lock: every pool is
+ * a counter of the ShoePairs that may still be taken plus a lock-free queue holding them. A
+ * ShoePair is only taken from a queue after its counter was decremented, so the queue never runs
+ * empty for somebody who got past the counter.
+ * <p>
+ * Clients and ShoePairs have one of {@link #NUM_SIZES} sizes. Sizes are spread like the sizes
+ * of people: the middle sizes are common and the extreme ones rare (binomially). Each size is
+ * stocked in proportion to how common it is, but with at least {@link Group#MAX_SIZE} ShoePairs
+ * so that even a Group of one size gets its shoes eventually. A size can still be out of stock
+ * while the others are not.
+ */
+public class ShoeInventory {
+    /** Number of different sizes. With 1 every ShoePair fits every Client. */
+    public static int NUM_SIZES = 1;
+
+    /** ShoePairs that are in the ShoesRoom, and how many of them are not reserved yet, per size. */
+    private final List<ConcurrentLinkedQueue<ShoePair>> pools;
+    private final AtomicIntegerArray available;
+
+    /** Number of ShoePairs of each size, whether available or borrowed. */
+    private final int[] stock;
+    private final int numShoes;
+
+    /** How often a borrow failed because a size was out of stock. */
+    private final AtomicLong stockOuts;
+
+    public ShoeInventory(int numShoes) {
+        this(numShoes, NUM_SIZES);
+    }
+
+    public ShoeInventory(int numShoes, int numSizes) {
+        pools = new ArrayList<>(numSizes);
+        available = new AtomicIntegerArray(numSizes);
+        stock = new int[numSizes];
+        stockOuts = new AtomicLong();
+
+        /** Rounding the cumulative shares keeps the total at {@code numShoes} before the minimum is applied. */
+        double cumulativeShare = 0;
+        int total = 0;
+        for (int size = 0; size < numSizes; size++) {
+            long before = Math.round(cumulativeShare * numShoes);
+            cumulativeShare += share(size, numSizes);
+            stock[size] = (int) (Math.round(cumulativeShare * numShoes) - before);
+            if (numSizes > 1) {
+                stock[size] = Math.max(stock[size], Group.MAX_SIZE);
+            }
+
+            ConcurrentLinkedQueue<ShoePair> pool = new ConcurrentLinkedQueue<>();
+            for (int i = 0; i < stock[size]; i++) {
+                pool.add(new ShoePair(size));
+            }
+            pools.add(pool);
+            available.set(size, stock[size]);
+            total += stock[size];
+        }
+        this.numShoes = total;
+    }
+
+    /** @return the share of Clients (and ShoePairs) of the given size, binomially distributed */
+    private static double share(int size, int numSizes) {
+        double share = Math.pow(0.5, numSizes - 1);
+        for (int i = 0; i < size; i++) {
+            share = share * (numSizes - 1 - i) / (i + 1);
+        }
+        return share;
+    }
+
+    /**
+     * The size of a Client only depends on his Id, so every run with the same Clients has the
+     * same sizes, whatever the seed of the arrivals.
+     *
+     * @return the size of the Client with the given Id
+     */
+    public static int shoeSizeOf(int clientId) {
+        if (NUM_SIZES == 1) {
+            return 0;
+        }
+        SplittableRandom random = new SplittableRandom(clientId);
+        int size = 0;
+        for (int i = 1; i < NUM_SIZES; i++) {
+            if (random.nextBoolean()) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Takes a ShoePair of the given size without waiting.
+     *
+     * @return the ShoePair, null if the size is out of stock
+     */
+    public ShoePair tryBorrow(int size) {
+        if (!tryReserve(size)) {
+            stockOuts.incrementAndGet();
+            return null;
+        }
+        return pools.get(size).poll();
+    }
+
+    /**
+     * Takes a ShoePair for each of the given sizes, or none at all if one of them is out of stock.
+     * The sizes are reserved one after another and given back on failure, so a concurrent borrower
+     * may see a size out of stock for a moment that is actually available.
+     *
+     * @param sizes size of each ShoePair, a size may occur several times
+     * @return the ShoePairs in the order of {@code sizes}, null if one size is out of stock
+     */
+    public List<ShoePair> tryBorrowAll(int[] sizes) {
+        for (int i = 0; i < sizes.length; i++) {
+            if (!tryReserve(sizes[i])) {
+                for (int j = 0; j < i; j++) {
+                    available.incrementAndGet(sizes[j]);
+                }
+                stockOuts.incrementAndGet();
+                return null;
+            }
+        }
+        List<ShoePair> shoePairs = new ArrayList<>(sizes.length);
+        for (int size : sizes) {
+            shoePairs.add(pools.get(size).poll());
+        }
+        return shoePairs;
+    }
+
+    /** Decrements the counter of the size unless it's 0. */
+    private boolean tryReserve(int size) {
+        int current;
+        do {
+            current = available.get(size);
+            if (current == 0) {
+                return false;
+            }
+        } while (!available.compareAndSet(size, current, current - 1));
+        return true;
+    }
+
+    /** Puts a returned ShoePair back into its pool, where it can be taken right away. */
+    public void giveBack(ShoePair shoePair) {
+        pools.get(shoePair.getSize()).add(shoePair);
+        available.incrementAndGet(shoePair.getSize());
+    }
+
+    public boolean isAvailable(int size) {
+        return available.get(size) > 0;
+    }
+
+    /** @return number of ShoePairs that can be borrowed right now, over all sizes */
+    public int getAvailable() {
+        int total = 0;
+        for (int size = 0; size < available.length(); size++) {
+            total += available.get(size);
+        }
+        return total;
+    }
+
+    /** @return number of ShoePairs of all sizes, whether available or borrowed */
+    public int getNumShoes() {
+        return numShoes;
+    }
+
+    public int getStock(int size) {
+        return stock[size];
+    }
+
+    public int getNumSizes() {
+        return stock.length;
+    }
+
+    /** @return how often a borrow failed because a size was out of stock */
+    public long getStockOuts() {
+        return stockOuts.get();
+    }
+}
@@ -0,0 +1,22 @@
+package utils;
+
+/**
+ * Instances represent ShoePairs borrowed and returned by Clients. A ShoePair only fits Clients
+ * of its size, see {@link ShoeInventory}.
+ */
+public class ShoePair {
+    /** Index of the size, between 0 and {@link ShoeInventory#NUM_SIZES} - 1. */
+    private final int size;
+
+    public ShoePair() {
+        this(0);
+    }
+
+    public ShoePair(int size) {
+        this.size = size;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,187 @@
+package utils;
+
+import actors.Client;
+import stations.BowlingArea;
+import stations.DancingRoom;
+import stations.RegistrationDesk;
+import stations.ShoesRoom;
+
+import java.io.Serializable;
+
+/**
+ * The size of a venue: how many BowlingAlleys, Cashiers, ShoePairs and shoe-room employees it
+ * has, how large the Groups are and how they are put on BowlingAlleys. Also whom it turns away
+ * and how long Groups wait. The threaded stations read these numbers from their public static
+ * fields. The discrete-event stations take them from a VenueConfig instead, so many differently
+ * sized venues can be simulated at the same time (see {@link simulation.CapacityPlanner}).
+ *
+ * A new VenueConfig starts with the values of the static fields.
+ */
+public class VenueConfig implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int numAlleys;
+    private int numCashiers;
+    private int numShoes;
+    private int numShoeEmployees;
+    private int groupSize;
+    private boolean variableGroupSizes;
+    private int seatsPerAlley;
+    private AlleyAssignment alleyAssignment;
+    private SchedulingPolicy schedulingPolicy;
+    private int maxClientsInVenue;
+    private int maxEstimatedWait;
+    private int patience;
+
+    public VenueConfig() {
+        numAlleys = BowlingArea.NUM_ALLEYS;
+        numCashiers = RegistrationDesk.NUM_CASHIERS;
+        numShoes = ShoesRoom.MAX_SHOES;
+        numShoeEmployees = ShoesRoom.NUM_EMPLOYEES;
+        groupSize = Group.MAX_SIZE;
+        variableGroupSizes = Group.VARIABLE_SIZE;
+        seatsPerAlley = BowlingArea.SEATS_PER_ALLEY;
+        alleyAssignment = BowlingArea.ALLEY_ASSIGNMENT;
+        schedulingPolicy = DancingRoom.SCHEDULING_POLICY;
+        maxClientsInVenue = RegistrationDesk.MAX_CLIENTS_IN_VENUE;
+        maxEstimatedWait = RegistrationDesk.MAX_ESTIMATED_WAIT;
+        patience = Client.PATIENCE;
+    }
+
+    public VenueConfig setNumAlleys(int numAlleys) {
+        this.numAlleys = numAlleys;
+        return this;
+    }
+
+    public VenueConfig setNumCashiers(int numCashiers) {
+        this.numCashiers = numCashiers;
+        return this;
+    }
+
+    public VenueConfig setNumShoes(int numShoes) {
+        this.numShoes = numShoes;
+        return this;
+    }
+
+    public VenueConfig setNumShoeEmployees(int numShoeEmployees) {
+        this.numShoeEmployees = numShoeEmployees;
+        return this;
+    }
+
+    public VenueConfig setGroupSize(int groupSize) {
+        this.groupSize = groupSize;
+        return this;
+    }
+
+    /** See {@link Group#VARIABLE_SIZE}, the group size is then the size of the largest party. */
+    public VenueConfig setVariableGroupSizes(boolean variableGroupSizes) {
+        this.variableGroupSizes = variableGroupSizes;
+        return this;
+    }
+
+    public VenueConfig setSeatsPerAlley(int seatsPerAlley) {
+        this.seatsPerAlley = seatsPerAlley;
+        return this;
+    }
+
+    public VenueConfig setAlleyAssignment(AlleyAssignment alleyAssignment) {
+        this.alleyAssignment = alleyAssignment;
+        return this;
+    }
+
+    public VenueConfig setSchedulingPolicy(SchedulingPolicy schedulingPolicy) {
+        this.schedulingPolicy = schedulingPolicy;
+        return this;
+    }
+
+    /** See {@link RegistrationDesk#MAX_CLIENTS_IN_VENUE}, 0 for no limit. Only parties are turned away. */
+    public VenueConfig setMaxClientsInVenue(int maxClientsInVenue) {
+        this.maxClientsInVenue = maxClientsInVenue;
+        return this;
+    }
+
+    /** See {@link RegistrationDesk#MAX_ESTIMATED_WAIT}, 0 for no limit. */
+    public VenueConfig setMaxEstimatedWait(int maxEstimatedWait) {
+        this.maxEstimatedWait = maxEstimatedWait;
+        return this;
+    }
+
+    /** See {@link Client#PATIENCE}, 0 to wait as long as it takes. */
+    public VenueConfig setPatience(int patience) {
+        this.patience = patience;
+        return this;
+    }
+
+    public int getNumAlleys() {
+        return numAlleys;
+    }
+
+    /** @return number of Cashiers if the policy has Cashiers at all, see {@link VenuePolicy#getNumCashiers(VenueConfig)} */
+    public int getNumCashiers() {
+        return numCashiers;
+    }
+
+    public int getNumShoes() {
+        return numShoes;
+    }
+
+    /** @return number of employees in the ShoesRoom if ShoePairs are limited, see {@link VenuePolicy#hasLimitedShoes()} */
+    public int getNumShoeEmployees() {
+        return numShoeEmployees;
+    }
+
+    public int getGroupSize() {
+        return groupSize;
+    }
+
+    public boolean isVariableGroupSizes() {
+        return variableGroupSizes;
+    }
+
+    public int getSeatsPerAlley() {
+        return seatsPerAlley;
+    }
+
+    public AlleyAssignment getAlleyAssignment() {
+        return alleyAssignment;
+    }
+
+    public SchedulingPolicy getSchedulingPolicy() {
+        return schedulingPolicy;
+    }
+
+    public int getMaxClientsInVenue() {
+        return maxClientsInVenue;
+    }
+
+    public int getMaxEstimatedWait() {
+        return maxEstimatedWait;
+    }
+
+    /** @return true if parties may be turned away at the RegistrationDesk */
+    public boolean hasAdmissionControl() {
+        return variableGroupSizes && (maxClientsInVenue > 0 || maxEstimatedWait > 0);
+    }
+
+    public int getPatience() {
+        return patience;
+    }
+
+    /**
+     * @return seats a Group of the given size takes on a BowlingAlley with {@link AlleyAssignment#BIN_PACKING},
+     *         a Group larger than a BowlingAlley takes a whole one like in {@link stations.BowlingArea#seatsNeeded(int)}
+     */
+    public int getSeatsNeeded(int groupSize) {
+        return Math.min(groupSize, seatsPerAlley);
+    }
+
+    @Override
+    public String toString() {
+        return numAlleys + " BowlingAlleys, " + numCashiers + " Cashiers, " + numShoes + " ShoePairs, "
+                + (numShoeEmployees > 1 ? numShoeEmployees + " shoe-room employees, " : "") + "Groups of "
+                + (variableGroupSizes ? "1 to " : "") + groupSize + ", " + alleyAssignment + " assignment, " + schedulingPolicy + " scheduling"
+                + (maxClientsInVenue > 0 ? ", at most " + maxClientsInVenue + " Clients" : "")
+                + (maxEstimatedWait > 0 ? ", estimated wait at most " + maxEstimatedWait + "ms" : "")
+                + (patience > 0 ? ", patience " + patience + "ms" : "");
+    }
+}
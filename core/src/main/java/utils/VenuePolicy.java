@@ -0,0 +1,83 @@
+package utils;
+
+import stations.RegistrationDesk;
+import stations.ShoesRoom;
+
+/**
+ * The rules of the venue. The exercise was solved in three parts, each adding rules to the
+ * previous one. All of them run on the same stations, the policy decides which rules apply.
+ */
+public enum VenuePolicy {
+    /**
+     * Part 1: one RegistrationDesk serving one Client at a time, BowlingAlleys are given to
+     * any complete Group and every Client gets new shoes right away. Borrowing or returning
+     * shoes takes a second.
+     */
+    PART1(false, false, false, 1000),
+
+    /**
+     * Part 2: {@link RegistrationDesk#NUM_CASHIERS} Cashiers and Groups get BowlingAlleys in order
+     * of arrival. Borrowing or returning shoes takes a second.
+     */
+    PART2(true, true, false, 1000),
+
+    /**
+     * Part 3: like Part 2, but only {@link ShoesRoom#MAX_SHOES} ShoePairs exist and
+     * {@link ShoesRoom#NUM_EMPLOYEES} employees (one by default) serve borrowers and returners,
+     * returners first. Borrowing or returning shoes takes half a second.
+     */
+    PART3(true, true, true, 500);
+
+    private final boolean hasCashiers;
+    private final boolean isGroupOrderFifo;
+    private final boolean hasLimitedShoes;
+    private int borrowReturnShoesTime;
+
+    VenuePolicy(boolean hasCashiers, boolean isGroupOrderFifo, boolean hasLimitedShoes, int borrowReturnShoesTime) {
+        this.hasCashiers = hasCashiers;
+        this.isGroupOrderFifo = isGroupOrderFifo;
+        this.hasLimitedShoes = hasLimitedShoes;
+        this.borrowReturnShoesTime = borrowReturnShoesTime;
+    }
+
+    /** @return number of Clients the RegistrationDesk serves at the same time */
+    public int getNumCashiers() {
+        return hasCashiers ? RegistrationDesk.NUM_CASHIERS : 1;
+    }
+
+    /** @return number of Clients the RegistrationDesk of a venue of the given size serves at the same time */
+    public int getNumCashiers(VenueConfig config) {
+        return hasCashiers ? config.getNumCashiers() : 1;
+    }
+
+    /** @return true if Groups get BowlingAlleys in the order in which they arrived in the DancingRoom */
+    public boolean isGroupOrderFifo() {
+        return isGroupOrderFifo;
+    }
+
+    /**
+     * @return true if the ShoesRoom only has {@link ShoesRoom#MAX_SHOES} ShoePairs and {@link ShoesRoom#NUM_EMPLOYEES} employees.
+     * Otherwise every Client gets new shoes without waiting for anybody.
+     */
+    public boolean hasLimitedShoes() {
+        return hasLimitedShoes;
+    }
+
+    /** @return milliseconds a Client needs to borrow or to return a ShoePair, like the times of {@link actors.Client} */
+    public int getBorrowReturnShoesTime() {
+        return borrowReturnShoesTime;
+    }
+
+    /** Changes the time to borrow or to return a ShoePair, e.g. to 0 in benchmarks. */
+    public void setBorrowReturnShoesTime(int borrowReturnShoesTime) {
+        this.borrowReturnShoesTime = borrowReturnShoesTime;
+    }
+
+    /**
+     * @param part 1, 2 or 3
+     * @return the policy of that part of the exercise
+     */
+    public static VenuePolicy ofPart(int part) {
+        return valueOf("PART" + part);
+    }
+}
@@ -0,0 +1,86 @@
+package simulation;
+
+import org.junit.Test;
+import utils.VenuePolicy;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CapacityPlannerTest {
+    /** Four Groups, so more than four BowlingAlleys can't help them. */
+    private static CapacityPlanner planner() {
+        return new CapacityPlanner(20, VenuePolicy.PART2).setReplications(4).setSeed(1);
+    }
+
+    private static int[] alleysOf(List<CapacityPlanner.Candidate> candidates) {
+        int[] alleys = new int[candidates.size()];
+        for (int i = 0; i < alleys.length; i++) {
+            alleys[i] = candidates.get(i).getConfig().getNumAlleys();
+        }
+        return alleys;
+    }
+
+    @Test
+    public void parsesRanges() {
+        assertArrayEquals(new int[]{5}, CapacityPlanner.parseRange("5"));
+        assertArrayEquals(new int[]{1, 2, 3, 4}, CapacityPlanner.parseRange("1-4"));
+        assertArrayEquals(new int[]{10, 15, 20}, CapacityPlanner.parseRange("10-20/5"));
+        assertArrayEquals(new int[]{2, 3, 5}, CapacityPlanner.parseRange("2, 3,5"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsDescendingRanges() {
+        CapacityPlanner.parseRange("8-1");
+    }
+
+    @Test
+    public void alleysAreSimulatedInAscendingOrder() {
+        CapacityPlanner planner = planner().setAlleys(3, 1, 2, 3).setPruning(false);
+        assertArrayEquals(new int[]{1, 2, 3}, alleysOf(planner.run()));
+        assertEquals(0, planner.getPruned());
+    }
+
+    @Test
+    public void pruningStopsAtTheFirstAlleyThatDoesNotPayOff() {
+        List<CapacityPlanner.Candidate> all = planner().setAlleys(CapacityPlanner.parseRange("1-8")).setPruning(false).run();
+        CapacityPlanner planner = planner().setAlleys(8, 7, 6, 5, 4, 3, 2, 1);
+        List<CapacityPlanner.Candidate> pruned = planner.run();
+
+        assertTrue(planner.getPruned() > 0);
+        assertEquals(all.size(), pruned.size() + planner.getPruned());
+        /** The same seed gives the same results, pruning only leaves out the largest venues. */
+        for (int i = 0; i < pruned.size(); i++) {
+            assertEquals(i + 1, pruned.get(i).getConfig().getNumAlleys());
+            assertEquals(all.get(i).getThroughput(), pruned.get(i).getThroughput(), 0);
+        }
+    }
+
+    @Test
+    public void frontierHoldsTheUndominatedCandidatesCheapestFirst() {
+        List<CapacityPlanner.Candidate> candidates = planner().setAlleys(1, 2, 3).setCashiers(1, 2).setPruning(false).run();
+        List<CapacityPlanner.Candidate> frontier = CapacityPlanner.paretoFrontier(candidates);
+
+        assertFalse(frontier.isEmpty());
+        for (int i = 0; i < frontier.size(); i++) {
+            for (CapacityPlanner.Candidate candidate : candidates) {
+                assertFalse(candidate.dominates(frontier.get(i)));
+            }
+            if (i > 0) {
+                assertTrue(frontier.get(i - 1).getCost() <= frontier.get(i).getCost());
+            }
+        }
+        for (CapacityPlanner.Candidate candidate : candidates) {
+            if (!frontier.contains(candidate)) {
+                boolean dominated = false;
+                for (CapacityPlanner.Candidate other : frontier) {
+                    dominated |= other.dominates(candidate);
+                }
+                assertTrue(dominated);
+            }
+        }
+    }
+}
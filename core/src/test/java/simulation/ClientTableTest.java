@@ -0,0 +1,82 @@
+package simulation;
+
+import org.junit.Test;
+import utils.Group;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ClientTableTest {
+    @Test
+    public void newClientsHaveNoGroupAndNoShoes() {
+        ClientTable clients = new ClientTable(3);
+        assertEquals(3, clients.size());
+        for (int i = 0; i < clients.size(); i++) {
+            assertNull(clients.getGroup(i));
+            assertEquals(ClientTable.NONE, clients.getShoeId(i));
+            assertEquals(Stage.ARRIVING, clients.getStage(i));
+        }
+    }
+
+    @Test
+    public void addedClientsKeepTheExistingOnes() {
+        ClientTable clients = new ClientTable(2);
+        Group group = new Group(1);
+        clients.setGroup(1, group);
+        clients.setShoeId(1, 7);
+        clients.setStage(1, Stage.DANCING);
+
+        for (int i = 2; i < 40; i++) {
+            assertEquals(i, clients.addClient());
+            assertNull(clients.getGroup(i));
+            assertEquals(ClientTable.NONE, clients.getShoeId(i));
+        }
+        assertEquals(40, clients.size());
+        assertSame(group, clients.getGroup(1));
+        assertEquals(7, clients.getShoeId(1));
+        assertEquals(Stage.DANCING, clients.getStage(1));
+    }
+
+    @Test
+    public void groupIdsComeAfterThoseOfParties() {
+        ClientTable clients = new ClientTable(2);
+        assertEquals(1, clients.newGroupId());
+        clients.setGroup(0, new Group(5));
+        assertEquals(6, clients.newGroupId());
+        assertEquals(7, clients.newGroupId());
+    }
+
+    @Test
+    public void onlyClientsThatLeftCountForTheTimeInVenue() {
+        ClientTable clients = new ClientTable(3);
+        for (int i = 0; i < clients.size(); i++) {
+            clients.setArrivalTime(i, 100 * i);
+        }
+        clients.setStage(0, Stage.LEFT);
+        clients.setDepartureTime(0, 1000);
+        clients.setStage(1, Stage.LEFT);
+        clients.setDepartureTime(1, 3100);
+        clients.setStage(2, Stage.RENEGED);
+        clients.setDepartureTime(2, 5000);
+
+        assertEquals(1000, clients.getTimeInVenue(0));
+        assertEquals(-1, clients.getTimeInVenue(2));
+        assertEquals(2, clients.countClientsLeft());
+        assertEquals(1, clients.countClients(Stage.RENEGED));
+        assertEquals(2000, clients.getMeanTimeInVenue());
+        assertEquals(5000, clients.getLastDepartureTime());
+    }
+
+    @Test
+    public void alleyWaitIsKnownOnceTheGroupBowls() {
+        ClientTable clients = new ClientTable(1);
+        clients.setStage(0, Stage.DANCING);
+        clients.startedDancing(0, 400);
+        assertEquals(-1, clients.getAlleyWait(0));
+
+        clients.setStage(0, Stage.BOWLING);
+        clients.startedBowling(0, 1500);
+        assertEquals(1100, clients.getAlleyWait(0));
+    }
+}
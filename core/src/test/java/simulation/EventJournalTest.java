@@ -0,0 +1,105 @@
+package simulation;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import utils.VenuePolicy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+
+public class EventJournalTest {
+    private static final int NUM_CLIENTS = 100;
+    private static final long SNAPSHOT_INTERVAL = 200;
+
+    /** The process "dies" after this many Events, the last snapshot was taken at Event 400. */
+    private static final long CRASH_AT = 500;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static DiscreteEventSimulation newSimulation() {
+        return new DiscreteEventSimulation(NUM_CLIENTS, new SplittableRandom(1), VenuePolicy.PART3);
+    }
+
+    /**
+     * Journals a simulation up to {@link #CRASH_AT} Events and leaves it there, as if the process
+     * died right after the last batch was written.
+     */
+    private Path journalUntilCrash() throws IOException {
+        Path directory = folder.newFolder().toPath();
+        EventJournal journal = new EventJournal(directory).setSnapshotInterval(SNAPSHOT_INTERVAL).setBatchSize(64);
+        newSimulation().setJournal(journal).getScheduler().runEvents(CRASH_AT);
+        journal.close();
+        return directory;
+    }
+
+    private static void write(Path journal, long position, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+
+    private static void flipByte(Path journal, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            buffer.put(0, (byte) ~buffer.get(0));
+            buffer.rewind();
+            channel.write(buffer, position);
+        }
+    }
+
+    @Test
+    public void restoreContinuesLikeAnUninterruptedRun() throws IOException {
+        DiscreteEventSimulation reference = newSimulation();
+        reference.run();
+
+        EventJournal journal = EventJournal.restore(journalUntilCrash());
+        assertEquals(CRASH_AT, journal.getSimulation().getScheduler().getEventsHandled());
+        journal.getSimulation().run();
+        journal.close();
+
+        assertEquals(reference.getTraceHash(), journal.getSimulation().getTraceHash());
+        assertEquals(reference.countClientsLeft(), journal.getSimulation().countClientsLeft());
+    }
+
+    @Test
+    public void tornLastRecordIsCutOff() throws IOException {
+        Path directory = journalUntilCrash();
+        Path file = directory.resolve(EventJournal.JOURNAL_FILE);
+        write(file, CRASH_AT * EventJournal.RECORD_SIZE, new byte[]{1, 2, 3});
+
+        EventJournal journal = EventJournal.restore(directory);
+        assertEquals(CRASH_AT, journal.getRecords());
+        assertEquals(CRASH_AT * EventJournal.RECORD_SIZE, Files.size(file));
+        journal.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tamperedRecordIsRejected() throws IOException {
+        Path directory = journalUntilCrash();
+        /** Changes the time of an Event after the snapshot. */
+        long record = CRASH_AT - 50;
+        flipByte(directory.resolve(EventJournal.JOURNAL_FILE), record * EventJournal.RECORD_SIZE + 7);
+
+        EventJournal.restore(directory);
+    }
+
+    @Test(expected = IOException.class)
+    public void journalShorterThanSnapshotIsRejected() throws IOException {
+        Path directory = journalUntilCrash();
+        try (FileChannel channel = FileChannel.open(directory.resolve(EventJournal.JOURNAL_FILE), StandardOpenOption.WRITE)) {
+            channel.truncate((CRASH_AT - 2 * SNAPSHOT_INTERVAL) * EventJournal.RECORD_SIZE);
+        }
+
+        EventJournal.restore(directory);
+    }
+}
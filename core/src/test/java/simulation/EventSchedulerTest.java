@@ -0,0 +1,173 @@
+package simulation;
+
+import org.junit.Test;
+import utils.VenuePolicy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+public class EventSchedulerTest {
+    /** Writes down every Event it handles as "time:type:clientId". */
+    private static class Recorder implements EventHandler {
+        private static final long serialVersionUID = 1L;
+
+        protected final EventScheduler scheduler;
+        private final List<String> handled = new ArrayList<>();
+
+        Recorder(EventScheduler scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void handleEvent(int type, int clientId) {
+            handled.add(scheduler.now() + ":" + type + ":" + clientId);
+        }
+    }
+
+    @Test
+    public void eventsAreHandledInTimeOrder() {
+        EventScheduler scheduler = new EventScheduler();
+        Recorder recorder = new Recorder(scheduler);
+        scheduler.schedule(30, recorder, 0, 1);
+        scheduler.schedule(10, recorder, 0, 2);
+        scheduler.schedule(20, recorder, 0, 3);
+
+        assertEquals(30, scheduler.run());
+        assertEquals(Arrays.asList("10:0:2", "20:0:3", "30:0:1"), recorder.handled);
+        assertEquals(3, scheduler.getEventsHandled());
+        assertFalse(scheduler.hasEvents());
+    }
+
+    @Test
+    public void simultaneousEventsAreHandledInTheOrderTheyWereScheduled() {
+        EventScheduler scheduler = new EventScheduler();
+        Recorder recorder = new Recorder(scheduler);
+        scheduler.schedule(10, recorder, 1, 5);
+        scheduler.schedule(10, recorder, 0, 3);
+        scheduler.schedule(10, recorder, 2, 4);
+        scheduler.schedule(10, recorder, 0, 1);
+
+        scheduler.run();
+        assertEquals(Arrays.asList("10:1:5", "10:0:3", "10:2:4", "10:0:1"), recorder.handled);
+    }
+
+    @Test
+    public void eventWithoutDelayComesAfterTheCurrentOnes() {
+        final EventScheduler scheduler = new EventScheduler();
+        final Recorder recorder = new Recorder(scheduler);
+        EventHandler first = new EventHandler() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void handleEvent(int type, int clientId) {
+                recorder.handleEvent(type, clientId);
+                scheduler.schedule(0, recorder, 1, clientId);
+            }
+        };
+        scheduler.schedule(10, first, 0, 1);
+        scheduler.schedule(10, recorder, 0, 2);
+
+        scheduler.run();
+        assertEquals(Arrays.asList("10:0:1", "10:0:2", "10:1:1"), recorder.handled);
+    }
+
+    /** Every arriving Client is followed by a second Event 0 to 2 ms later, which ties with other arrivals. */
+    private static class Arrivals extends Recorder {
+        private static final long serialVersionUID = 1L;
+
+        Arrivals(EventScheduler scheduler) {
+            super(scheduler);
+        }
+
+        @Override
+        public void handleEvent(int type, int clientId) {
+            super.handleEvent(type, clientId);
+            if (type == 0) {
+                scheduler.schedule(clientId % 3, this, 1, clientId);
+            }
+        }
+    }
+
+    private static void assertScheduleAllEqualsSchedule(int numClients, IntToLongFunction timeOf) {
+        EventScheduler streamed = new EventScheduler();
+        Recorder streamedRecorder = new Arrivals(streamed);
+        streamed.scheduleAll(numClients, timeOf, streamedRecorder, 0);
+        streamed.run();
+
+        EventScheduler oneByOne = new EventScheduler();
+        Recorder oneByOneRecorder = new Arrivals(oneByOne);
+        for (int i = 0; i < numClients; i++) {
+            oneByOne.schedule(timeOf.applyAsLong(i), oneByOneRecorder, 0, i);
+        }
+        oneByOne.run();
+
+        assertEquals(oneByOneRecorder.handled, streamedRecorder.handled);
+        assertEquals(oneByOne.getTraceHash(), streamed.getTraceHash());
+    }
+
+    @Test
+    public void scheduleAllStreamsArrivalsInTheOrderOfSchedule() {
+        long[] times = new long[500];
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < times.length; i++) {
+            times[i] = random.nextInt(100);
+        }
+        assertScheduleAllEqualsSchedule(times.length, clientId -> times[clientId]);
+    }
+
+    @Test
+    public void scheduleAllWithSparseTimes() {
+        /** Further apart than the scheduler counts, so they are scheduled one by one. */
+        assertScheduleAllEqualsSchedule(50, clientId -> (clientId % 5) * 10000000L);
+    }
+
+    private static long traceHash(long seed, Long scheduleSeed) {
+        DiscreteEventSimulation simulation = new DiscreteEventSimulation(100, new SplittableRandom(seed), VenuePolicy.PART3);
+        if (scheduleSeed != null) {
+            simulation.setScheduleSeed(scheduleSeed);
+        }
+        simulation.run();
+        return simulation.getTraceHash();
+    }
+
+    @Test
+    public void equalSeedsGiveEqualTraces() {
+        assertEquals(traceHash(1, null), traceHash(1, null));
+        assertEquals(traceHash(1, 7L), traceHash(1, 7L));
+    }
+
+    @Test
+    public void otherSeedsGiveOtherTraces() {
+        assertNotEquals(traceHash(1, null), traceHash(2, null));
+        assertNotEquals(traceHash(1, 7L), traceHash(1, 8L));
+        assertNotEquals(traceHash(1, null), traceHash(1, 7L));
+    }
+
+    @Test
+    public void wakeUpOrderIsKeptWithoutScheduleSeed() {
+        List<Integer> clientIds = new ArrayList<>(Arrays.asList(4, 2, 7, 1));
+        new EventScheduler().chooseWakeUpOrder(clientIds);
+        assertEquals(Arrays.asList(4, 2, 7, 1), clientIds);
+    }
+
+    @Test
+    public void scheduleSeedShufflesTheWakeUpOrderReproducibly() {
+        List<Integer> arrivals = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            arrivals.add(i);
+        }
+        List<Integer> first = new ArrayList<>(arrivals);
+        List<Integer> second = new ArrayList<>(arrivals);
+        new EventScheduler().setScheduleSeed(3).chooseWakeUpOrder(first);
+        new EventScheduler().setScheduleSeed(3).chooseWakeUpOrder(second);
+        assertEquals(first, second);
+        assertNotEquals(arrivals, first);
+    }
+}
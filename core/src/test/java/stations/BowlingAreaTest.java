@@ -0,0 +1,60 @@
+package stations;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import utils.AlleyAssignment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class BowlingAreaTest {
+    private int numAlleys;
+    private int seatsPerAlley;
+    private AlleyAssignment alleyAssignment;
+
+    @Before
+    public void setUp() {
+        numAlleys = BowlingArea.NUM_ALLEYS;
+        seatsPerAlley = BowlingArea.SEATS_PER_ALLEY;
+        alleyAssignment = BowlingArea.ALLEY_ASSIGNMENT;
+        BowlingArea.NUM_ALLEYS = 2;
+        BowlingArea.SEATS_PER_ALLEY = 4;
+        BowlingArea.ALLEY_ASSIGNMENT = AlleyAssignment.BIN_PACKING;
+    }
+
+    @After
+    public void tearDown() {
+        BowlingArea.NUM_ALLEYS = numAlleys;
+        BowlingArea.SEATS_PER_ALLEY = seatsPerAlley;
+        BowlingArea.ALLEY_ASSIGNMENT = alleyAssignment;
+    }
+
+    @Test
+    public void groupsLargerThanABowlingAlleyTakeAllOfItsSeats() {
+        assertEquals(3, BowlingArea.seatsNeeded(3));
+        assertEquals(4, BowlingArea.seatsNeeded(4));
+        assertEquals(4, BowlingArea.seatsNeeded(5));
+    }
+
+    @Test
+    public void largeGroupGetsAWholeEmptyBowlingAlley() {
+        BowlingArea bowlingArea = new BowlingArea(null);
+        BowlingAlley shared = bowlingArea.tryAcquireSeats(BowlingArea.seatsNeeded(1));
+        assertNotNull(shared);
+        assertEquals(1, bowlingArea.countFreeAlleys());
+
+        BowlingAlley whole = bowlingArea.tryAcquireSeats(BowlingArea.seatsNeeded(5));
+        assertNotNull(whole);
+        assertNotSame(shared, whole);
+        assertEquals(0, bowlingArea.countFreeAlleys());
+
+        /** No BowlingAlley is empty anymore, but the shared one still has room for small Groups. */
+        assertNull(bowlingArea.tryAcquireSeats(BowlingArea.seatsNeeded(5)));
+        assertSame(shared, bowlingArea.tryAcquireSeats(BowlingArea.seatsNeeded(3)));
+        assertNull(bowlingArea.tryAcquireSeats(BowlingArea.seatsNeeded(1)));
+    }
+}
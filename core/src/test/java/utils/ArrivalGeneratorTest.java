@@ -0,0 +1,92 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ArrivalGeneratorTest {
+    /** @return "time:partySize" of every arrival */
+    private static List<String> arrivals(ArrivalGenerator generator) {
+        List<String> arrivals = new ArrayList<>();
+        while (generator.next()) {
+            arrivals.add(generator.getTime() + ":" + generator.getPartySize());
+        }
+        return arrivals;
+    }
+
+    @Test
+    public void lastGroupIsCompletedAfterTheProfileEnds() {
+        ArrivalProfile profile = ArrivalProfile.constant(2, 10000);
+        for (long seed = 0; seed < 20; seed++) {
+            ArrivalGenerator generator = new ArrivalGenerator(profile, seed, false, 5);
+            long previous = 0;
+            while (generator.next()) {
+                assertEquals(1, generator.getPartySize());
+                assertTrue(generator.getTime() >= previous);
+                assertTrue(generator.getTime() <= profile.getDuration());
+                previous = generator.getTime();
+            }
+            assertEquals(0, generator.getClients() % 5);
+            assertEquals(generator.getArrivals(), generator.getClients());
+        }
+    }
+
+    @Test
+    public void missingClientsArriveWhenTheProfileEnds() {
+        ArrivalProfile profile = ArrivalProfile.constant(1, 3000);
+        for (long seed = 0; seed < 20; seed++) {
+            ArrivalGenerator generator = new ArrivalGenerator(profile, seed, false, 5);
+            int inProfile = 0;
+            int tail = 0;
+            while (generator.next()) {
+                if (generator.getTime() < profile.getDuration()) {
+                    assertEquals(0, tail);
+                    inProfile++;
+                } else {
+                    assertEquals(profile.getDuration(), generator.getTime());
+                    tail++;
+                }
+            }
+            assertEquals((5 - inProfile % 5) % 5, tail);
+        }
+    }
+
+    @Test
+    public void partiesAreNotCompleted() {
+        ArrivalProfile profile = ArrivalProfile.constant(2, 10000).setPartySizes(0, 1, 1, 0, 1);
+        ArrivalGenerator generator = new ArrivalGenerator(profile, 3, true, 5);
+        long clients = 0;
+        while (generator.next()) {
+            int size = generator.getPartySize();
+            assertTrue(size == 2 || size == 3 || size == 5);
+            assertTrue(generator.getTime() < profile.getDuration());
+            clients += size;
+        }
+        assertEquals(clients, generator.getClients());
+    }
+
+    @Test
+    public void equalSeedsGiveEqualArrivals() {
+        ArrivalProfile profile = ArrivalProfile.fridayNight(3, 10000);
+        assertEquals(arrivals(new ArrivalGenerator(profile, 7, false, 4)), arrivals(new ArrivalGenerator(profile, 7, false, 4)));
+        assertNotEquals(arrivals(new ArrivalGenerator(profile, 7, false, 4)), arrivals(new ArrivalGenerator(profile, 8, false, 4)));
+    }
+
+    @Test
+    public void nobodyArrivesInAStepWithoutRate() {
+        ArrivalProfile profile = new ArrivalProfile(new double[]{5, 0, 5}, 10000);
+        ArrivalGenerator generator = new ArrivalGenerator(profile, 1, true, 5);
+        int arrivals = 0;
+        while (generator.next()) {
+            assertTrue(generator.getTime() < 10000 || generator.getTime() >= 20000);
+            arrivals++;
+        }
+        /** 100 arrivals are expected, a Poisson count is within 5 standard deviations of that. */
+        assertTrue(Math.abs(arrivals - profile.getExpectedArrivals()) < 5 * Math.sqrt(profile.getExpectedArrivals()));
+    }
+}
@@ -0,0 +1,74 @@
+package utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ClientRegistryTest {
+    /** Both ends of a word and of a segment, and an Id far away. */
+    private static final int[] IDS = {0, 1, 63, 64, 65535, 65536, 1 << 30};
+
+    @Test
+    public void addsAndRemovesIds() {
+        ClientRegistry registry = new ClientRegistry();
+        for (int id : IDS) {
+            assertFalse(registry.contains(id));
+            assertTrue(registry.add(id));
+            assertFalse(registry.add(id));
+        }
+        for (int id : IDS) {
+            assertTrue(registry.contains(id));
+            assertTrue(registry.remove(id));
+            assertFalse(registry.contains(id));
+            assertFalse(registry.remove(id));
+        }
+    }
+
+    @Test
+    public void neighbouringIdsDontAffectEachOther() {
+        ClientRegistry registry = new ClientRegistry();
+        registry.add(64);
+        registry.add(66);
+        assertFalse(registry.contains(65));
+        assertFalse(registry.remove(65));
+        registry.remove(64);
+        assertTrue(registry.contains(66));
+    }
+
+    @Test
+    public void idsInAnEmptySegmentAreNotContained() {
+        ClientRegistry registry = new ClientRegistry();
+        assertFalse(registry.contains(1 << 20));
+        assertFalse(registry.remove(1 << 20));
+    }
+
+    @Test
+    public void threadsSharingWordsDontLoseIds() throws InterruptedException {
+        final ClientRegistry registry = new ClientRegistry();
+        final int numThreads = 4;
+        final int numIds = 100000;
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            final int first = t;
+            threads[t] = new Thread(() -> {
+                for (int id = first; id < numIds; id += numThreads) {
+                    registry.add(id);
+                }
+                for (int id = first; id < numIds; id += 2 * numThreads) {
+                    registry.remove(id);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int id = 0; id < numIds; id++) {
+            boolean removed = id % (2 * numThreads) < numThreads;
+            assertEquals("Client " + id, !removed, registry.contains(id));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GroupSchedulerTest {
+    /** @return Ids of the Groups in the order they get BowlingAlleys */
+    private static List<Integer> drain(GroupScheduler scheduler) {
+        List<Integer> order = new ArrayList<>();
+        for (Group group = scheduler.peek(); group != null; group = scheduler.peek()) {
+            order.add(group.getId());
+            scheduler.remove(group);
+        }
+        assertTrue(scheduler.isEmpty());
+        return order;
+    }
+
+    @Test
+    public void fifoKeepsTheOrderOfArrival() {
+        GroupScheduler scheduler = SchedulingPolicy.FIFO.newScheduler();
+        assertTrue(scheduler instanceof FifoGroupScheduler);
+        Group first = new Group(1, 5);
+        scheduler.add(first, 0);
+        scheduler.add(new Group(2, 2), 10);
+        scheduler.add(first, 20);
+        scheduler.add(new Group(3, 3), 30);
+
+        assertEquals(Arrays.asList(1, 2, 3), drain(scheduler));
+    }
+
+    @Test
+    public void shortestGameFirstPrefersSmallGroupsEqualOnesInOrderOfArrival() {
+        GroupScheduler scheduler = SchedulingPolicy.SHORTEST_GAME_FIRST.newScheduler();
+        scheduler.add(new Group(1, 5), 0);
+        scheduler.add(new Group(2, 2), 10);
+        scheduler.add(new Group(3, 3), 20);
+        scheduler.add(new Group(4, 2), 30);
+
+        assertEquals(Arrays.asList(2, 4, 3, 1), drain(scheduler));
+    }
+
+    @Test
+    public void priorityPutsVipGroupsFirst() {
+        GroupScheduler scheduler = SchedulingPolicy.PRIORITY.newScheduler();
+        int vip = Group.VIP_INTERVAL;
+        scheduler.add(new Group(1), 0);
+        scheduler.add(new Group(2), 10);
+        scheduler.add(new Group(vip), 20);
+        scheduler.add(new Group(2 * vip), 30);
+
+        assertEquals(Arrays.asList(vip, 2 * vip, 1, 2), drain(scheduler));
+    }
+
+    @Test
+    public void agingPrefersSmallGroupsOnlyWithinTheirHeadStart() {
+        GroupScheduler scheduler = SchedulingPolicy.AGING.newScheduler();
+        long player = SchedulingPolicy.PLAYER_HEAD_START;
+        /** 5 players rank 4 head starts behind 1 player: a single player arriving within that time goes first, a later one doesn't. */
+        scheduler.add(new Group(1, 5), 0);
+        scheduler.add(new Group(2, 1), 4 * player - 1);
+        scheduler.add(new Group(3, 1), 4 * player + 1);
+
+        assertEquals(Arrays.asList(2, 1, 3), drain(scheduler));
+    }
+
+    @Test
+    public void agingGivesVipGroupsTheirHeadStart() {
+        GroupScheduler scheduler = SchedulingPolicy.AGING.newScheduler();
+        long vipHeadStart = SchedulingPolicy.VIP_HEAD_START;
+        scheduler.add(new Group(1, 1), 0);
+        scheduler.add(new Group(Group.VIP_INTERVAL, 1), vipHeadStart - 1);
+        scheduler.add(new Group(2 * Group.VIP_INTERVAL, 1), vipHeadStart + 1);
+
+        assertEquals(Arrays.asList(Group.VIP_INTERVAL, 1, 2 * Group.VIP_INTERVAL), drain(scheduler));
+    }
+
+    @Test
+    public void groupsRemovedFromTheMiddleAreSkipped() {
+        for (SchedulingPolicy policy : SchedulingPolicy.values()) {
+            GroupScheduler scheduler = policy.newScheduler();
+            Group removed = new Group(2, 3);
+            scheduler.add(new Group(1, 3), 0);
+            scheduler.add(removed, 10);
+            scheduler.add(new Group(3, 3), 20);
+
+            scheduler.remove(removed);
+            assertFalse(scheduler.contains(removed));
+            scheduler.remove(removed);
+            assertEquals(policy.name(), Arrays.asList(1, 3), drain(scheduler));
+            assertNull(scheduler.peek());
+        }
+    }
+}
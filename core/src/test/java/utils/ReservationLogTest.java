@@ -0,0 +1,121 @@
+package utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReservationLogTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path csv(String content) throws IOException {
+        Path path = folder.newFile("season.csv").toPath();
+        Files.write(path, content.getBytes(StandardCharsets.US_ASCII));
+        return path;
+    }
+
+    /** @return "time:partyId:partySize:shoe sizes:gameTime" of every arrival */
+    private static List<String> arrivals(Path path, int maxGroupSize) throws IOException {
+        List<String> arrivals = new ArrayList<>();
+        try (ReservationLog log = new ReservationLog(path, maxGroupSize)) {
+            while (log.next()) {
+                StringBuilder shoeSizes = new StringBuilder();
+                for (int i = 0; i < log.getPartySize(); i++) {
+                    shoeSizes.append(i > 0 ? ";" : "").append(log.getRecordedShoeSize(i));
+                }
+                arrivals.add(log.getTime() + ":" + log.getPartyId() + ":" + log.getPartySize() + ":" + shoeSizes + ":" + log.getGameTime());
+            }
+        }
+        return arrivals;
+    }
+
+    @Test
+    public void parsesCsvRecords() throws IOException {
+        Path path = csv("timestamp,party,size,shoes,game\n"
+                + "1000,4711,3,2;4;4,3600000\n"
+                + "# a comment\n"
+                + "\n"
+                + "1500,4712,2\r\n"
+                + "2500,4713,1,,\n"
+                + "2500,4714,2,1;0");
+
+        List<String> expected = new ArrayList<>();
+        expected.add("0:4711:3:2;4;4:3600000");
+        expected.add("500:4712:2:-1;-1:0");
+        expected.add("1500:4713:1:-1:0");
+        expected.add("1500:4714:2:1;0:0");
+        assertEquals(expected, arrivals(path, 5));
+    }
+
+    @Test
+    public void splitsLargePartiesIntoGroupsArrivingTogether() throws IOException {
+        Path path = csv("0,1,7,0;1;2;3;4;5;6,\n10,2,5\n");
+        try (ReservationLog log = new ReservationLog(path, 5)) {
+            assertTrue(log.next());
+            assertEquals(5, log.getPartySize());
+            assertEquals(4, log.getRecordedShoeSize(4));
+            assertTrue(log.next());
+            assertEquals(0, log.getTime());
+            assertEquals(2, log.getPartySize());
+            assertEquals(6, log.getRecordedShoeSize(1));
+            assertTrue(log.next());
+            assertEquals(10, log.getTime());
+            assertEquals(5, log.getPartySize());
+            assertFalse(log.next());
+            assertEquals(2, log.getRecords());
+            assertEquals(3, log.getArrivals());
+        }
+    }
+
+    @Test
+    public void binaryLogHoldsTheSameArrivals() throws IOException {
+        Path csv = csv("100,1,3,1;2;3,5000\n200,2,8\n200,3,1,0,\n");
+        Path binary = folder.getRoot().toPath().resolve("season.bin");
+        assertEquals(3, ReservationLogWriter.convert(csv, binary));
+        assertEquals(arrivals(csv, 5), arrivals(binary, 5));
+    }
+
+    @Test
+    public void partiesLargerThanABinaryRecordAreWrittenAsSeveralRecords() throws IOException {
+        /** {@link ReservationLog#MAX_PARTY_SIZE} is 8. */
+        Path csv = csv("100,1,10\n");
+        Path binary = folder.getRoot().toPath().resolve("season.bin");
+        assertEquals(2, ReservationLogWriter.convert(csv, binary));
+
+        List<String> expected = new ArrayList<>();
+        expected.add("0:1:8:-1;-1;-1;-1;-1;-1;-1;-1:0");
+        expected.add("0:1:2:-1;-1:0");
+        assertEquals(expected, arrivals(binary, 10));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsDecreasingTimestamps() throws IOException {
+        arrivals(csv("200,1,2\n100,2,2\n"), 5);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsMissingShoeSizes() throws IOException {
+        arrivals(csv("0,1,3,1;2\n"), 5);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsEmptyParties() throws IOException {
+        arrivals(csv("0,1,0\n"), 5);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsTrailingCharacters() throws IOException {
+        arrivals(csv("0,1,2,,3000x\n"), 5);
+    }
+}
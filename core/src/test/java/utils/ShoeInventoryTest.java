@@ -0,0 +1,100 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ShoeInventoryTest {
+    @Test
+    public void borrowsAllSizesInOrder() {
+        ShoeInventory shoes = new ShoeInventory(40, 3);
+        List<ShoePair> borrowed = shoes.tryBorrowAll(new int[]{2, 0, 1, 0});
+
+        assertNotNull(borrowed);
+        assertEquals(4, borrowed.size());
+        int[] sizes = {2, 0, 1, 0};
+        for (int i = 0; i < sizes.length; i++) {
+            assertEquals(sizes[i], borrowed.get(i).getSize());
+        }
+        assertEquals(shoes.getNumShoes() - 4, shoes.getAvailable());
+    }
+
+    @Test
+    public void borrowsNothingIfOneSizeIsOutOfStock() {
+        ShoeInventory shoes = new ShoeInventory(40, 3);
+        int stock = shoes.getStock(0);
+        /** A ShoePair of size 1 and 2 each, then every ShoePair of size 0 and one more. */
+        int[] sizes = new int[2 + stock + 1];
+        sizes[0] = 1;
+        sizes[1] = 2;
+
+        assertNull(shoes.tryBorrowAll(sizes));
+        assertEquals(shoes.getNumShoes(), shoes.getAvailable());
+        assertEquals(1, shoes.getStockOuts());
+        assertTrue(shoes.isAvailable(0));
+    }
+
+    @Test
+    public void givenBackShoesCanBeBorrowedAgain() {
+        ShoeInventory shoes = new ShoeInventory(5, 1);
+        List<ShoePair> all = shoes.tryBorrowAll(new int[]{0, 0, 0, 0, 0});
+        assertNotNull(all);
+        assertEquals(0, shoes.getAvailable());
+        assertNull(shoes.tryBorrow(0));
+
+        shoes.giveBack(all.get(3));
+        assertEquals(1, shoes.getAvailable());
+        assertEquals(all.get(3), shoes.tryBorrow(0));
+        assertEquals(1, shoes.getStockOuts());
+    }
+
+    @Test
+    public void everySizeIsStockedForAWholeGroup() {
+        ShoeInventory shoes = new ShoeInventory(30, 5);
+        int total = 0;
+        for (int size = 0; size < shoes.getNumSizes(); size++) {
+            assertTrue(shoes.getStock(size) >= Group.MAX_SIZE);
+            total += shoes.getStock(size);
+        }
+        assertEquals(total, shoes.getNumShoes());
+        assertEquals(total, shoes.getAvailable());
+    }
+
+    @Test
+    public void concurrentBorrowersNeverTakeMoreThanTheStock() throws InterruptedException {
+        final ShoeInventory shoes = new ShoeInventory(10, 2);
+        final int[] group = {0, 1, 0, 1};
+        Thread[] threads = new Thread[4];
+        final AtomicInteger overdrawn = new AtomicInteger();
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    List<ShoePair> borrowed = shoes.tryBorrowAll(group);
+                    if (borrowed == null) {
+                        continue;
+                    }
+                    for (ShoePair shoePair : borrowed) {
+                        if (shoePair == null) {
+                            overdrawn.incrementAndGet();
+                            continue;
+                        }
+                        shoes.giveBack(shoePair);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, overdrawn.get());
+        assertEquals(shoes.getNumShoes(), shoes.getAvailable());
+    }
+}